@@ -0,0 +1,58 @@
+package com.esaulpaugh.headlong.abi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ABIRegistryBenchmark {
+
+    @Param({ "100", "50000" })
+    int size;
+
+    private ABIRegistry registry;
+    private byte[][] calldata;
+    private byte[][] topic0s;
+    private int i;
+
+    @Setup
+    public void setUp() throws ParseException {
+        registry = new ABIRegistry();
+        calldata = new byte[size][];
+        topic0s = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            final Function f = new Function("f" + i + "(uint32)");
+            final Event e = new Event("E" + i, "(uint32)", new boolean[] { true });
+            registry.add(f);
+            registry.add(e);
+            calldata[i] = f.encodeCall(new Tuple((long) i)).array();
+            topic0s[i] = e.topics0();
+        }
+    }
+
+    @Benchmark
+    public Function getFunction() {
+        return registry.getFunction(calldata[i++ % size]);
+    }
+
+    @Benchmark
+    public Event getEvent() {
+        return registry.getEvent(topic0s[i++ % size]);
+    }
+}
@@ -0,0 +1,78 @@
+package com.esaulpaugh.headlong.abi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FunctionBenchmark {
+
+    @Param({ "STATIC", "DYNAMIC" })
+    PayloadShape shape;
+
+    @Param({ "1", "16", "256" })
+    int arraySize;
+
+    @Param({ "1", "3" })
+    int depth;
+
+    private String signature;
+    private Function function;
+    private Tuple args;
+    private byte[] call;
+    private byte[] returnVals;
+
+    @Setup
+    public void setUp() throws ParseException {
+        final String typeString = Payloads.typeString(shape, arraySize, depth);
+        signature = "bench" + typeString;
+        function = new Function(signature, typeString);
+        args = Payloads.values(shape, arraySize, depth);
+        call = function.encodeCall(args).array();
+        returnVals = function.getOutputTypes().encode(args).array();
+    }
+
+    /* parses through the shared TypeCache after the first invocation */
+    @Benchmark
+    public Function newFunction() throws ParseException {
+        return new Function(signature);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeCall() {
+        return function.encodeCall(args);
+    }
+
+    @Benchmark
+    public Tuple decodeCall() {
+        return function.decodeCall(call);
+    }
+
+    @Benchmark
+    public Tuple decodeReturn() {
+        return function.decodeReturn(returnVals);
+    }
+
+    /* decodes only the first element, leaving the (possibly large) remainder untouched */
+    @Benchmark
+    public Object decodeReturnLazyFirst() {
+        return function.decodeReturnLazy(returnVals).get(0);
+    }
+}
@@ -0,0 +1,62 @@
+package com.esaulpaugh.headlong.abi;
+
+import com.joemelsha.crypto.hash.Keccak;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code keccak256(abi.encodePacked(...))} of a merkle-airdrop leaf and of a leaf carrying a string and an array,
+ * fused versus encoding to a buffer first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HashPackedBenchmark {
+
+    @Param({ "(uint256,uint160,uint256)", "(uint160,string,uint64[],bool)" })
+    String signature;
+
+    private TupleType tupleType;
+    private Tuple values;
+    private final byte[] out = new byte[32];
+    private final Keccak keccak = new Keccak(256);
+
+    @Setup
+    public void setUp() throws ParseException {
+        tupleType = TupleType.parse(signature);
+        final Random r = new Random(signature.length());
+        values = signature.contains("string")
+                ? new Tuple(new BigInteger(160, r), "merkle-airdrop", new long[] { 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L }, true)
+                : new Tuple(BigInteger.valueOf(12345), new BigInteger(160, r), new BigInteger(96, r));
+        tupleType.validate(values);
+    }
+
+    @Benchmark
+    public byte[] encodeThenHash() {
+        keccak.update(tupleType.encodePacked(values).array());
+        return keccak.digest();
+    }
+
+    @Benchmark
+    public byte[] hashPacked() {
+        tupleType.hashPacked(values, out, 0);
+        return out;
+    }
+}
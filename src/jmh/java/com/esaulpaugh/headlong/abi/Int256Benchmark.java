@@ -0,0 +1,77 @@
+package com.esaulpaugh.headlong.abi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link BigInteger} against {@link UInt256} values for a log-like {@code (address,address,uint256)} payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class Int256Benchmark {
+
+    private TupleType tupleType;
+    private Tuple bigInts;
+    private Tuple words;
+    private ByteBuffer dest;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws ParseException {
+        final Random r = new Random(0x1ee7L);
+        final BigInteger from = new BigInteger(160, r);
+        final BigInteger to = new BigInteger(160, r);
+        final BigInteger amount = new BigInteger(256, r);
+        tupleType = TupleType.parse("(address,address,uint256)");
+        bigInts = new Tuple(from, to, amount);
+        words = new Tuple(UInt256.valueOf(from), UInt256.valueOf(to), UInt256.valueOf(amount));
+        dest = ByteBuffer.allocate(tupleType.encodedLen(bigInts));
+        encoded = tupleType.encode(bigInts).array();
+    }
+
+    @Benchmark
+    public ByteBuffer encodeBigInteger() {
+        dest.clear();
+        tupleType.encode(bigInts, dest, false);
+        return dest;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeUInt256() {
+        dest.clear();
+        tupleType.encode(words, dest, false);
+        return dest;
+    }
+
+    @Benchmark
+    public Tuple decodeBigInteger() {
+        return tupleType.decode(encoded);
+    }
+
+    @Benchmark
+    public void decodeUInt256(Blackhole bh) {
+        final PrimitiveTuple decoded = tupleType.decodePrimitive(encoded);
+        bh.consume(decoded.getUInt256(0));
+        bh.consume(decoded.getUInt256(1));
+        bh.consume(decoded.getUInt256(2));
+    }
+}
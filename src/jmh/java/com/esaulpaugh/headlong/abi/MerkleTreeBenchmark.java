@@ -0,0 +1,68 @@
+package com.esaulpaugh.headlong.abi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MerkleTreeBenchmark {
+
+    @Param({ "65536" })
+    int leafCount;
+
+    private TupleType leafType;
+    private Tuple[] entries;
+    private byte[] leaves;
+    private MerkleTree tree;
+    private byte[][] proofs;
+
+    @Setup
+    public void setUp() throws ParseException {
+        leafType = TupleType.parse("(uint256,uint160,uint256)");
+        final Random r = new Random(leafCount);
+        entries = new Tuple[leafCount];
+        for (int i = 0; i < leafCount; i++) {
+            entries[i] = new Tuple(BigInteger.valueOf(i), new BigInteger(160, r), new BigInteger(96, r));
+        }
+        tree = MerkleTree.ofPacked(leafType, entries);
+        leaves = new byte[leafCount * MerkleTree.NODE_LEN];
+        proofs = new byte[leafCount][];
+        for (int i = 0; i < leafCount; i++) {
+            System.arraycopy(tree.leaf(i), 0, leaves, i * MerkleTree.NODE_LEN, MerkleTree.NODE_LEN);
+            proofs[i] = tree.proof(i);
+        }
+    }
+
+    @Benchmark
+    public MerkleTree ofPacked() {
+        return MerkleTree.ofPacked(leafType, entries);
+    }
+
+    @Benchmark
+    public MerkleTree ofLeaves() {
+        return MerkleTree.of(leaves);
+    }
+
+    @Benchmark
+    public int verifyAll() {
+        return MerkleTree.verifyAll(tree.root(), leaves, proofs);
+    }
+}
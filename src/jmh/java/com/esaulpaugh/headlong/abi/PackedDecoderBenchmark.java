@@ -0,0 +1,59 @@
+package com.esaulpaugh.headlong.abi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PackedDecoder} supports neither nested tuples nor more than one dynamic element, so payloads here vary only by
+ * shape and array size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PackedDecoderBenchmark {
+
+    @Param({ "STATIC", "DYNAMIC" })
+    PayloadShape shape;
+
+    @Param({ "1", "16", "256" })
+    int arraySize;
+
+    private TupleType tupleType;
+    private byte[] packed;
+
+    @Setup
+    public void setUp() throws ParseException {
+        tupleType = TupleType.parse(shape == PayloadShape.STATIC
+                ? "(uint256,int64,bool,bytes32,uint64[" + arraySize + "])"
+                : "(uint256,int64,bool,bytes32,uint64[])");
+        Random r = new Random(arraySize);
+        long[] longs = new long[arraySize];
+        for (int i = 0; i < arraySize; i++) {
+            longs[i] = r.nextLong() >>> 1;
+        }
+        Tuple values = new Tuple(new BigInteger(255, r), r.nextLong() >>> 1, r.nextBoolean(), Payloads.randomBytes(32, r), longs);
+        packed = tupleType.encodePacked(values).array();
+    }
+
+    @Benchmark
+    public Tuple decode() {
+        return PackedDecoder.decode(tupleType, packed);
+    }
+}
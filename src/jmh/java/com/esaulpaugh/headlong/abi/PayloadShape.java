@@ -0,0 +1,11 @@
+package com.esaulpaugh.headlong.abi;
+
+/**
+ * The shape of a benchmark payload. See {@link Payloads}.
+ */
+public enum PayloadShape {
+    /** {@code (uint256,int64,bool,address,bytes32,int64[N])} */
+    STATIC,
+    /** {@code (uint256,string,bytes,int64[],bytes[])}, each array of length N */
+    DYNAMIC
+}
@@ -0,0 +1,83 @@
+package com.esaulpaugh.headlong.abi;
+
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Builds deterministic ABI payloads of a given shape for the benchmarks. A payload of depth {@code n > 1} wraps the
+ * payload of depth {@code n - 1} as the second element of an {@code (int32,...)} tuple. {@code uint256} values are kept
+ * below 2^255 so that {@link BigInteger#toByteArray()} never needs a sign byte.
+ */
+final class Payloads {
+
+    private static final long SEED = 0x1ee7L;
+
+    private Payloads() {}
+
+    static String typeString(PayloadShape shape, int arraySize, int depth) {
+        if(depth > 1) {
+            return "(int32," + typeString(shape, arraySize, depth - 1) + ")";
+        }
+        switch (shape) {
+        case STATIC: return "(uint256,int64,bool,address,bytes32,int64[" + arraySize + "])";
+        case DYNAMIC: return "(uint256,string,bytes,int64[],bytes[])";
+        default: throw new AssertionError();
+        }
+    }
+
+    static TupleType tupleType(PayloadShape shape, int arraySize, int depth) throws ParseException {
+        return TupleType.parse(typeString(shape, arraySize, depth));
+    }
+
+    static Tuple values(PayloadShape shape, int arraySize, int depth) {
+        return values(shape, arraySize, depth, new Random(SEED));
+    }
+
+    private static Tuple values(PayloadShape shape, int arraySize, int depth, Random r) {
+        if(depth > 1) {
+            return new Tuple(r.nextInt(), values(shape, arraySize, depth - 1, r));
+        }
+        switch (shape) {
+        case STATIC:
+            return new Tuple(
+                    new BigInteger(255, r),
+                    r.nextLong(),
+                    r.nextBoolean(),
+                    new BigInteger(160, r),
+                    randomBytes(32, r),
+                    randomLongs(arraySize, r)
+            );
+        case DYNAMIC:
+            final byte[][] byteStrings = new byte[arraySize][];
+            for (int i = 0; i < arraySize; i++) {
+                byteStrings[i] = randomBytes(32, r);
+            }
+            final char[] chars = new char[arraySize];
+            Arrays.fill(chars, 'w');
+            return new Tuple(
+                    new BigInteger(255, r),
+                    new String(chars),
+                    randomBytes(arraySize, r),
+                    randomLongs(arraySize, r),
+                    byteStrings
+            );
+        default: throw new AssertionError();
+        }
+    }
+
+    static byte[] randomBytes(int len, Random r) {
+        byte[] bytes = new byte[len];
+        r.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static long[] randomLongs(int len, Random r) {
+        long[] longs = new long[len];
+        for (int i = 0; i < len; i++) {
+            longs[i] = r.nextLong();
+        }
+        return longs;
+    }
+}
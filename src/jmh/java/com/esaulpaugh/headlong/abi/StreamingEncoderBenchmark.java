@@ -0,0 +1,73 @@
+package com.esaulpaugh.headlong.abi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes a {@code bytes[]} batch either into a freshly allocated buffer or through a {@link StreamingEncoder} into a
+ * sink that discards its input. Run with {@code -prof gc} to compare allocation per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StreamingEncoderBenchmark {
+
+    @Param({"1024", "1048576"})
+    public int payloadLen;
+
+    private Function function;
+    private Tuple args;
+    private StreamingEncoder streamingEncoder;
+
+    @Setup
+    public void setUp(Blackhole bh) throws ParseException {
+        final Random r = new Random(0x57eL);
+        final byte[][] payloads = new byte[4][payloadLen];
+        for (byte[] p : payloads) {
+            r.nextBytes(p);
+        }
+        function = new Function("submitBatch(bytes[],uint32)");
+        args = new Tuple(payloads, 1L);
+        streamingEncoder = new StreamingEncoder(new OutputStream() {
+            @Override
+            public void write(int b) {
+                bh.consume(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bh.consume(b);
+            }
+        });
+    }
+
+    @Benchmark
+    public ByteBuffer encodeCall() {
+        return function.encodeCall(args);
+    }
+
+    @Benchmark
+    public int encodeCallStreaming() throws IOException {
+        return streamingEncoder.encodeCall(function, args);
+    }
+}
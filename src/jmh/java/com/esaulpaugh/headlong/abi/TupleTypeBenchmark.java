@@ -0,0 +1,82 @@
+package com.esaulpaugh.headlong.abi;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TupleTypeBenchmark {
+
+    @Param({ "STATIC", "DYNAMIC" })
+    PayloadShape shape;
+
+    @Param({ "1", "16", "256" })
+    int arraySize;
+
+    @Param({ "1", "3" })
+    int depth;
+
+    private TupleType tupleType;
+    private Tuple values;
+    private byte[] encoded;
+    private ByteBuffer dest;
+    private final EncoderContext encoderContext = new EncoderContext();
+    private final DecoderContext decoderContext = new DecoderContext();
+
+    @Setup
+    public void setUp() throws ParseException {
+        tupleType = Payloads.tupleType(shape, arraySize, depth);
+        values = Payloads.values(shape, arraySize, depth);
+        encoded = tupleType.encode(values).array();
+        dest = ByteBuffer.allocate(encoded.length);
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        return tupleType.encode(values);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeContext() {
+        dest.clear();
+        tupleType.encode(values, dest, encoderContext);
+        return dest;
+    }
+
+    @Benchmark
+    public Tuple decode() {
+        return tupleType.decode(encoded);
+    }
+
+    @Benchmark
+    public Tuple decodeContext() {
+        return tupleType.decode(encoded, decoderContext);
+    }
+
+    @Benchmark
+    public PrimitiveTuple decodePrimitive() {
+        return tupleType.decodePrimitive(encoded);
+    }
+
+    @Benchmark
+    public ByteBuffer encodePacked() {
+        return tupleType.encodePacked(values);
+    }
+}
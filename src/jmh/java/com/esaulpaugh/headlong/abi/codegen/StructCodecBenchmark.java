@@ -0,0 +1,99 @@
+package com.esaulpaugh.headlong.abi.codegen;
+
+import com.esaulpaugh.headlong.abi.Tuple;
+import com.esaulpaugh.headlong.abi.TupleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes an {@link Order} through its generated {@link OrderABICodec} and, for comparison, by hand through
+ * a {@link Tuple} and {@link TupleType}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class StructCodecBenchmark {
+
+    private static final OrderABICodec CODEC = OrderABICodec.INSTANCE;
+    private static final TupleType TUPLE_TYPE = CODEC.getTupleType();
+
+    private Order order;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        order = new Order(
+                BigInteger.valueOf(1_000_001L),
+                new BigInteger("a0b86991c6218b36c1d19d4a2e9eb0ce3606eb48", 16),
+                true,
+                -887272,
+                1_700_000_000L,
+                "limit",
+                new byte[68],
+                new int[] { 1, 2, 3 },
+                new BigDecimal("1.000000000000000001"),
+                new byte[] { 0x12, 0x34, 0x56, 0x78 },
+                new Order.Leg(3, "ETH"),
+                new Order.Leg[] { new Order.Leg(1, "USDC"), new Order.Leg(2, "DAI") },
+                new BigInteger[] { BigInteger.ZERO, BigInteger.TEN }
+        );
+        encoded = CODEC.encode(order).array();
+    }
+
+    private static Tuple toTuple(Order.Leg leg) {
+        return new Tuple(leg.venue, leg.symbol);
+    }
+
+    private static Order.Leg toLeg(Tuple t) {
+        return new Order.Leg((Integer) t.get(0), (String) t.get(1));
+    }
+
+    @Benchmark
+    public ByteBuffer encodeCodec() {
+        return CODEC.encode(order);
+    }
+
+    @Benchmark
+    public ByteBuffer encodeTuple() {
+        final Order o = order;
+        final Tuple[] legs = new Tuple[o.legs.length];
+        for (int i = 0; i < legs.length; i++) {
+            legs[i] = toTuple(o.legs[i]);
+        }
+        return TUPLE_TYPE.encode(new Tuple(o.id, o.maker, o.buy, o.tick, o.expiry, o.memo, o.payload, o.flags, o.price, o.selector, toTuple(o.main), legs, o.bounds));
+    }
+
+    @Benchmark
+    public Order decodeCodec() {
+        return CODEC.decode(encoded);
+    }
+
+    @Benchmark
+    public Order decodeTuple() {
+        final Tuple t = TUPLE_TYPE.decode(encoded);
+        final Tuple[] legTuples = (Tuple[]) t.get(11);
+        final Order.Leg[] legs = new Order.Leg[legTuples.length];
+        for (int i = 0; i < legs.length; i++) {
+            legs[i] = toLeg(legTuples[i]);
+        }
+        return new Order((BigInteger) t.get(0), (BigInteger) t.get(1), (Boolean) t.get(2), (Integer) t.get(3), (Long) t.get(4),
+                (String) t.get(5), (byte[]) t.get(6), (int[]) t.get(7), (BigDecimal) t.get(8), (byte[]) t.get(9),
+                toLeg((Tuple) t.get(10)), legs, (BigInteger[]) t.get(12));
+    }
+}
@@ -0,0 +1,134 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+/**
+ * Payloads are lists of {@code width} byte strings of length {@code itemLen}. At depth {@code n > 1} the last element
+ * of the list is itself the payload of depth {@code n - 1}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RLPBenchmark {
+
+    @Param({ "1", "16", "256" })
+    int width;
+
+    @Param({ "1", "3" })
+    int depth;
+
+    @Param({ "1", "32", "100" })
+    int itemLen;
+
+    private Object[] elements;
+    private byte[] rlp;
+    private final RLPValidator validator = new RLPValidator(RLP_STRICT);
+    private final RLPCursor cursor = new RLPCursor(RLP_STRICT);
+    private final RLPWriter writer = new RLPWriter();
+    private ByteBuffer direct;
+    private RLPPath lastPath;
+    private RLPList list;
+
+    @Setup
+    public void setUp() {
+        elements = buildElements(width, depth, itemLen, new Random(width * 31L + depth));
+        rlp = RLPEncoder.encodeAsList(elements);
+        direct = ByteBuffer.allocateDirect(rlp.length);
+        lastPath = RLPPath.of(width - 1);
+        try {
+            list = RLP_STRICT.wrapList(rlp);
+        } catch (DecodeException de) {
+            throw new RuntimeException(de);
+        }
+    }
+
+    private static Object[] buildElements(int width, int depth, int itemLen, Random r) {
+        final Object[] elements = new Object[depth > 1 ? width + 1 : width];
+        for (int i = 0; i < width; i++) {
+            byte[] item = new byte[itemLen];
+            r.nextBytes(item);
+            elements[i] = item;
+        }
+        if(depth > 1) {
+            elements[width] = buildElements(width, depth - 1, itemLen, r);
+        }
+        return elements;
+    }
+
+    @Benchmark
+    public byte[] encodeAsList() {
+        return RLPEncoder.encodeAsList(elements);
+    }
+
+    @Benchmark
+    public byte[] writerEncode() {
+        return writer.encode(elements);
+    }
+
+    @Benchmark
+    public int writerEncodeDirect() {
+        direct.clear();
+        return writer.encode(elements, direct);
+    }
+
+    @Benchmark
+    public RLPItem wrap() throws DecodeException {
+        return RLP_STRICT.wrap(rlp);
+    }
+
+    @Benchmark
+    public List<RLPItem> wrapListElements() throws DecodeException {
+        return RLP_STRICT.wrapList(rlp).elements(RLP_STRICT);
+    }
+
+    @Benchmark
+    public int cursorElements() throws DecodeException {
+        final RLPCursor cursor = this.cursor.reset(rlp).next().enterList();
+        int n = 0;
+        while (cursor.hasNext()) {
+            n += cursor.next().dataLength();
+        }
+        return n;
+    }
+
+    @Benchmark
+    public RLPItem elementsLast() throws DecodeException {
+        return RLP_STRICT.wrapList(rlp).elements(RLP_STRICT).get(width - 1);
+    }
+
+    @Benchmark
+    public int pathLast() throws DecodeException {
+        return lastPath.seek(cursor.reset(rlp).next()).dataIndex();
+    }
+
+    @Benchmark
+    public RLPItem indexedLast() throws DecodeException {
+        return list.elementAt(RLP_STRICT, width - 1);
+    }
+
+    @Benchmark
+    public int validate() throws DecodeException {
+        return validator.validate(rlp, 0);
+    }
+}
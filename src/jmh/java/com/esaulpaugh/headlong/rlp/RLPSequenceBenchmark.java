@@ -0,0 +1,84 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+/**
+ * Decodes every element of a sequence of 4096 lists of 16 byte strings, one list at a time or split across the common
+ * fork-join pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RLPSequenceBenchmark {
+
+    private static final int NUM_LISTS = 4096;
+    private static final int WIDTH = 16;
+
+    private byte[] sequence;
+
+    @Setup
+    public void setUp() {
+        final Random r = new Random(NUM_LISTS);
+        final Object[] lists = new Object[NUM_LISTS];
+        for (int i = 0; i < lists.length; i++) {
+            final Object[] list = new Object[WIDTH];
+            for (int j = 0; j < list.length; j++) {
+                byte[] item = new byte[r.nextInt(64)];
+                r.nextBytes(item);
+                list[j] = item;
+            }
+            lists[i] = list;
+        }
+        sequence = RLPEncoder.encodeSequentially(lists);
+    }
+
+    private static long decode(RLPItem item) {
+        try {
+            long n = 0;
+            for (RLPItem e : ((RLPList) item).elements(RLP_STRICT)) {
+                n += e.dataLength;
+            }
+            return n;
+        } catch (DecodeException de) {
+            throw new RuntimeException(de);
+        }
+    }
+
+    @Benchmark
+    public long iterator() throws DecodeException {
+        final RLPIterator iter = RLP_STRICT.sequenceIterator(sequence);
+        long n = 0;
+        while (iter.hasNext()) {
+            n += decode(iter.next());
+        }
+        return n;
+    }
+
+    @Benchmark
+    public long stream() throws DecodeException {
+        return RLP_STRICT.sequenceStream(sequence, false).mapToLong(RLPSequenceBenchmark::decode).sum();
+    }
+
+    @Benchmark
+    public long parallelStream() throws DecodeException {
+        return RLP_STRICT.sequenceStream(sequence, true).mapToLong(RLPSequenceBenchmark::decode).sum();
+    }
+}
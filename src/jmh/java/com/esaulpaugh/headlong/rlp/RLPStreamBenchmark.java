@@ -0,0 +1,96 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+import com.esaulpaugh.headlong.rlp.exception.UnrecoverableDecodeException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+/**
+ * Iterates over a 4 MiB sequence of block-sized RLP lists streamed through an {@link InputStream} whose
+ * {@code available()} reports nothing, as with sockets and decompressing streams, and alternatively read from a
+ * memory-mapped file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RLPStreamBenchmark {
+
+    private static final int SEQUENCE_LEN = 4 << 20;
+
+    @Param({ "512", "65536" })
+    int itemLen;
+
+    private byte[] sequence;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Random r = new Random(itemLen);
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(SEQUENCE_LEN + itemLen);
+        final byte[] data = new byte[itemLen / 2];
+        while (baos.size() < SEQUENCE_LEN) {
+            r.nextBytes(data);
+            baos.write(RLPEncoder.encodeAsList(data, data));
+        }
+        sequence = baos.toByteArray();
+        file = Files.createTempFile("rlp-stream-benchmark", ".rlp");
+        Files.write(file, sequence);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int iterateBlocking() throws IOException, UnrecoverableDecodeException {
+        final InputStream in = new ByteArrayInputStream(sequence) {
+            @Override
+            public synchronized int available() {
+                return 0;
+            }
+        };
+        final RLPStreamIterator iter = RLP_STRICT.sequenceStreamIterator(in, true);
+        int n = 0;
+        while (iter.hasNext()) {
+            n += iter.next().dataLength;
+        }
+        return n;
+    }
+
+    @Benchmark
+    public int iterateMapped() throws IOException, DecodeException {
+        try (MappedRLPReader reader = MappedRLPReader.open(file, RLP_STRICT)) {
+            final MappedRLPReader.SequenceIterator iter = reader.sequenceIterator();
+            int n = 0;
+            while (iter.hasNext()) {
+                n += iter.next().dataLength;
+            }
+            return n;
+        }
+    }
+}
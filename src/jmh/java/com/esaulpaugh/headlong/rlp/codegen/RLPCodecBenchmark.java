@@ -0,0 +1,104 @@
+package com.esaulpaugh.headlong.rlp.codegen;
+
+import com.esaulpaugh.headlong.rlp.RLPEncoder;
+import com.esaulpaugh.headlong.rlp.RLPItem;
+import com.esaulpaugh.headlong.rlp.RLPList;
+import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+import com.esaulpaugh.headlong.rlp.util.Integers;
+import com.esaulpaugh.headlong.util.Strings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+/**
+ * Encodes and decodes a {@link Transaction} through its generated adapter and, for comparison, by hand through an
+ * {@code Object[]} and {@link RLPList#elements(com.esaulpaugh.headlong.rlp.RLPDecoder)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RLPCodecBenchmark {
+
+    private static final TransactionRLPAdapter ADAPTER = new TransactionRLPAdapter();
+
+    private Transaction tx;
+    private byte[] rlp;
+
+    @Setup
+    public void setUp() {
+        final Random r = new Random(18L);
+        final byte[] to = new byte[20];
+        r.nextBytes(to);
+        final byte[] bloom = new byte[256];
+        r.nextBytes(bloom);
+        tx = new Transaction(77L, BigInteger.valueOf(20_000_000_000L), 21_000, to, new BigInteger("1000000000000000000"),
+                "transfer", (short) 2, (byte) 27, 'x', new Receipt(true, 21_000L, bloom));
+        rlp = ADAPTER.encode(tx);
+    }
+
+    @Benchmark
+    public byte[] encodeGenerated() {
+        return ADAPTER.encode(tx);
+    }
+
+    @Benchmark
+    public byte[] encodeObjectArray() {
+        final Transaction t = tx;
+        return RLPEncoder.encodeAsList(
+                Integers.toBytes(t.nonce),
+                t.gasPrice.toByteArray(),
+                Integers.toBytes(t.gasLimit),
+                t.to,
+                t.value.toByteArray(),
+                Strings.decode(t.memo, Strings.UTF_8),
+                Integers.toBytes(t.kind),
+                Integers.toBytes(t.v),
+                Integers.toBytes((long) t.marker),
+                new Object[] {
+                        Integers.toBytes(t.receipt.success ? 1L : 0L),
+                        Integers.toBytes(t.receipt.gasUsed),
+                        t.receipt.bloom
+                }
+        );
+    }
+
+    @Benchmark
+    public Transaction decodeGenerated() throws DecodeException {
+        return ADAPTER.decode(rlp, 0);
+    }
+
+    @Benchmark
+    public Transaction decodeItems() throws DecodeException {
+        final List<RLPItem> e = RLP_STRICT.wrapList(rlp).elements(RLP_STRICT);
+        final List<RLPItem> receipt = ((RLPList) e.get(9)).elements(RLP_STRICT);
+        return new Transaction(
+                e.get(0).asLong(),
+                e.get(1).asBigInt(),
+                e.get(2).asInt(),
+                e.get(3).data(),
+                e.get(4).asBigInt(),
+                e.get(5).asString(Strings.UTF_8),
+                e.get(6).asShort(),
+                e.get(7).asByte(),
+                (char) e.get(8).asShort(),
+                new Receipt(receipt.get(0).asBoolean(), receipt.get(1).asLong(), receipt.get(2).data())
+        );
+    }
+}
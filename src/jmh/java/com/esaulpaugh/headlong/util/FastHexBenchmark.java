@@ -0,0 +1,60 @@
+package com.esaulpaugh.headlong.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FastHexBenchmark {
+
+    @Param({ "32", "1024", "65536" })
+    int len;
+
+    private byte[] bytes;
+    private String hex;
+    private byte[] hexBytes;
+
+    @Setup
+    public void setUp() {
+        bytes = new byte[len];
+        new Random(len).nextBytes(bytes);
+        hex = FastHex.encodeToString(bytes);
+        hexBytes = FastHex.encodeToBytes(bytes, 0, len);
+    }
+
+    @Benchmark
+    public String encodeToString() {
+        return FastHex.encodeToString(bytes);
+    }
+
+    @Benchmark
+    public byte[] encodeToBytes() {
+        return FastHex.encodeToBytes(bytes, 0, len);
+    }
+
+    @Benchmark
+    public byte[] decodeString() {
+        return FastHex.decode(hex);
+    }
+
+    @Benchmark
+    public byte[] decodeBytes() {
+        return FastHex.decode(hexBytes, 0, hexBytes.length);
+    }
+}
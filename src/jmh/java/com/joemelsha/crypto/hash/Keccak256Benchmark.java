@@ -0,0 +1,65 @@
+package com.joemelsha.crypto.hash;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongycastle.crypto.digests.KeccakDigest;
+
+import java.security.DigestException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The static fast path against {@link Keccak} and spongycastle's {@link KeccakDigest}, for a selector signature, a
+ * 64-byte topic preimage, a block-aligned message and a typical transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class Keccak256Benchmark {
+
+    @Param({ "24", "64", "136", "512" })
+    int len;
+
+    private byte[] message;
+    private final byte[] out = new byte[32];
+    private final Keccak keccak = new Keccak(256);
+    private final KeccakDigest spongy = new KeccakDigest(256);
+
+    @Setup
+    public void setUp() {
+        message = new byte[len];
+        new Random(len).nextBytes(message);
+    }
+
+    @Benchmark
+    public byte[] keccak256() {
+        Keccak256.hash(message, 0, message.length, out, 0);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] keccak() throws DigestException {
+        keccak.update(message);
+        keccak.digest(out, 0, 32);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] spongy() {
+        spongy.update(message, 0, message.length);
+        spongy.doFinal(out, 0);
+        return out;
+    }
+}
@@ -0,0 +1,88 @@
+package com.joemelsha.crypto.hash;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.DigestException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message lengths straddle the Keccak-256 rate of 136 bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class KeccakBenchmark {
+
+    @Param({ "4", "32", "135", "136", "1024", "65536" })
+    int len;
+
+    private byte[] message;
+    private Keccak keccak;
+
+    private static final int BATCH = 1024;
+    private byte[][] batch;
+    private byte[] out;
+
+    @Setup
+    public void setUp() {
+        message = new byte[len];
+        new Random(len).nextBytes(message);
+        keccak = new Keccak(256);
+        batch = new byte[BATCH][];
+        for (int i = 0; i < BATCH; i++) {
+            batch[i] = message.clone();
+        }
+        out = new byte[BATCH * 32];
+    }
+
+    @Benchmark
+    public byte[] digestReused() {
+        keccak.update(message);
+        return keccak.digest();
+    }
+
+    @Benchmark
+    public byte[] digestNew() {
+        return new Keccak(256).digest(message);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public byte[] digestEach() throws DigestException {
+        final byte[] out = this.out;
+        for (int i = 0; i < BATCH; i++) {
+            keccak.update(batch[i]);
+            keccak.digest(out, i << 5, 32);
+        }
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public byte[] hashAll() {
+        keccak.hashAll(batch, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public byte[] hashAllParallel() {
+        keccak.hashAllParallel(batch, out);
+        return out;
+    }
+}
@@ -0,0 +1,71 @@
+package com.joemelsha.crypto.hash;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.DigestException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CREATE2-style hashing of {@code prefix ++ salt ++ initCodeHash}, restarting each candidate from scratch or from the
+ * state after the prefix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MidstateBenchmark {
+
+    @Param({ "21", "200" })
+    int prefixLen;
+
+    private byte[] prefix;
+    private final byte[] salt = new byte[32];
+    private final byte[] initCodeHash = new byte[32];
+    private final byte[] out = new byte[32];
+    private final Keccak keccak = new Keccak(256);
+    private final long[] midstate = new long[Keccak.SNAPSHOT_LENGTH];
+
+    @Setup
+    public void setUp() {
+        Random r = new Random(prefixLen);
+        prefix = new byte[prefixLen];
+        r.nextBytes(prefix);
+        r.nextBytes(initCodeHash);
+        keccak.update(prefix);
+        keccak.snapshot(midstate);
+        keccak.reset();
+    }
+
+    @Benchmark
+    public byte[] fromScratch() throws DigestException {
+        salt[31]++;
+        keccak.update(prefix);
+        keccak.update(salt);
+        keccak.update(initCodeHash);
+        keccak.digest(out, 0, 32);
+        return out;
+    }
+
+    @Benchmark
+    public byte[] fromMidstate() throws DigestException {
+        salt[31]++;
+        keccak.restore(midstate);
+        keccak.update(salt);
+        keccak.update(initCodeHash);
+        keccak.digest(out, 0, 32);
+        return out;
+    }
+}
@@ -0,0 +1,310 @@
+package com.esaulpaugh.headlong.abi;
+
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+
+/**
+ * Maps 4-byte function selectors and 32-byte event topic0 hashes to the {@link Function}s and {@link Event}s they
+ * identify, so that raw calldata and logs can be dispatched to their decoders in constant time. Both indices are
+ * open-addressing hash tables over primitive keys; lookups neither box nor allocate.
+ *
+ * <p>Only functions of type {@link Function.Type#FUNCTION} and non-anonymous events are indexed. Events are keyed by
+ * topic0 and topic count, so that e.g. ERC-20's and ERC-721's {@code Transfer}, which share a signature but differ in
+ * which params are indexed, can coexist. When two registered objects share a selector, or a topic0 and topic count,
+ * the first one registered is kept.
+ *
+ * <p>Not safe for concurrent modification. Once populated and safely published, may be read by any number of threads.
+ */
+public final class ABIRegistry {
+
+    private static final int INITIAL_CAPACITY = 64; // power of two
+
+    private static final int TOPIC_LONGS = UNIT_LENGTH_BYTES / Long.BYTES;
+
+    private int[] selectorKeys;
+    private Function[] functions;
+    private int functionCount;
+
+    /* TOPIC_LONGS longs per slot */
+    private long[] topicKeys;
+    private int[] topicCounts;
+    private Event[] events;
+    private int eventCount;
+
+    public ABIRegistry() {
+        this.selectorKeys = new int[INITIAL_CAPACITY];
+        this.functions = new Function[INITIAL_CAPACITY];
+        this.topicKeys = new long[INITIAL_CAPACITY * TOPIC_LONGS];
+        this.topicCounts = new int[INITIAL_CAPACITY];
+        this.events = new Event[INITIAL_CAPACITY];
+    }
+
+    public ABIRegistry(Iterable<? extends ABIObject> objects) {
+        this();
+        addAll(objects);
+    }
+
+    /**
+     * Registers each {@link Function} and {@link Event}, as returned by e.g.
+     * {@link ContractJSONParser#parseObjects(String)}.
+     *
+     * @param objects   the functions and events
+     * @return  the number of objects newly indexed
+     */
+    public int addAll(Iterable<? extends ABIObject> objects) {
+        int count = 0;
+        for (ABIObject obj : objects) {
+            switch (obj.objectType()) {
+            case ABIObject.FUNCTION: if(add((Function) obj)) count++; break;
+            case ABIObject.EVENT: if(add((Event) obj)) count++; break;
+            default: throw new IllegalArgumentException("unexpected object type: " + obj.objectType());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param function  the function to index by selector
+     * @return  true if indexed; false if not of type {@link Function.Type#FUNCTION} or if its selector is already taken
+     */
+    public boolean add(Function function) {
+        if(function.getType() != Function.Type.FUNCTION) {
+            return false;
+        }
+        final int key = selectorKey(function.selector, 0);
+        final int mask = functions.length - 1;
+        int slot = mix(key) & mask;
+        while (functions[slot] != null) {
+            if(selectorKeys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        selectorKeys[slot] = key;
+        functions[slot] = function;
+        if(++functionCount << 1 > functions.length) {
+            growFunctions();
+        }
+        return true;
+    }
+
+    /**
+     * @param event the event to index by topic0 and topic count
+     * @return  true if indexed; false if anonymous or if an event with the same topic0 and topic count is already
+     * registered
+     */
+    public boolean add(Event event) {
+        if(event.isAnonymous()) {
+            return false;
+        }
+        final byte[] topic0 = event.topic0;
+        final long k0 = UnitType.getLong(topic0, 0);
+        final long k1 = UnitType.getLong(topic0, 8);
+        final long k2 = UnitType.getLong(topic0, 16);
+        final long k3 = UnitType.getLong(topic0, 24);
+        final int topicCount = event.topicCount();
+        final int mask = events.length - 1;
+        int slot = mix((int) k0) & mask;
+        while (events[slot] != null) {
+            if(topicCounts[slot] == topicCount && topicEquals(slot, k0, k1, k2, k3)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        putTopic(slot, k0, k1, k2, k3, topicCount, event);
+        if(++eventCount << 1 > events.length) {
+            growEvents();
+        }
+        return true;
+    }
+
+    public int functionCount() {
+        return functionCount;
+    }
+
+    public int eventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @param selector  the big-endian 4-byte selector as an {@code int}
+     * @return  the registered function, or null
+     */
+    public Function getFunction(int selector) {
+        final Function[] functions = this.functions;
+        final int[] selectorKeys = this.selectorKeys;
+        final int mask = functions.length - 1;
+        int slot = mix(selector) & mask;
+        Function f;
+        while ((f = functions[slot]) != null) {
+            if(selectorKeys[slot] == selector) {
+                return f;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * @param calldata  buffer beginning with a 4-byte selector
+     * @return  the registered function, or null
+     * @throws IllegalArgumentException if the buffer is shorter than a selector
+     */
+    public Function getFunction(byte[] calldata) {
+        if(calldata.length < Function.SELECTOR_LEN) {
+            throw new IllegalArgumentException("calldata too short for selector: " + calldata.length);
+        }
+        return getFunction(selectorKey(calldata, 0));
+    }
+
+    /**
+     * @param topic0    buffer holding a 32-byte event signature hash
+     * @param offset    the index of the hash
+     * @return  the first registered event with the given topic0, whatever its topic count, or null
+     */
+    public Event getEvent(byte[] topic0, int offset) {
+        return getEvent(topic0, offset, -1);
+    }
+
+    /**
+     * @param topic0    buffer holding a 32-byte event signature hash
+     * @param offset    the index of the hash
+     * @param topicCount    the number of topics in the log, including topic0
+     * @return  the registered event with the given topic0 and topic count, or null
+     */
+    public Event getEvent(byte[] topic0, int offset, int topicCount) {
+        final long k0 = UnitType.getLong(topic0, offset);
+        final long k1 = UnitType.getLong(topic0, offset + 8);
+        final long k2 = UnitType.getLong(topic0, offset + 16);
+        final long k3 = UnitType.getLong(topic0, offset + 24);
+        final Event[] events = this.events;
+        final int[] topicCounts = this.topicCounts;
+        final int mask = events.length - 1;
+        int slot = mix((int) k0) & mask;
+        Event e;
+        while ((e = events[slot]) != null) {
+            if((topicCount < 0 || topicCounts[slot] == topicCount) && topicEquals(slot, k0, k1, k2, k3)) {
+                return e;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    public Event getEvent(byte[] topic0) {
+        if(topic0.length != UNIT_LENGTH_BYTES) {
+            throw new IllegalArgumentException("topic length != " + UNIT_LENGTH_BYTES + ": " + topic0.length);
+        }
+        return getEvent(topic0, 0);
+    }
+
+    /**
+     * Decodes calldata with the function matching its selector.
+     *
+     * @param calldata  the selector followed by the encoded arguments
+     * @return  the decoded arguments
+     * @throws IllegalArgumentException if no function with the given selector is registered or if decoding fails
+     */
+    public Tuple decodeCall(byte[] calldata) {
+        final Function function = getFunction(calldata);
+        if(function == null) {
+            throw new IllegalArgumentException("unknown selector: " + String.format("%08x", selectorKey(calldata, 0)));
+        }
+        return function.decodeCall(calldata);
+    }
+
+    /**
+     * Decodes a log with the event matching its first topic and its number of topics.
+     *
+     * @param topics    the log's topics, the first being the event's topic0
+     * @param data  the log's data
+     * @return  the event's arguments in declaration order
+     * @throws IllegalArgumentException if no event with the given topic0 and topic count is registered or if decoding
+     * fails
+     */
+    public Tuple decodeLog(byte[][] topics, byte[] data) {
+        if(topics.length == 0) {
+            throw new IllegalArgumentException("no topics");
+        }
+        final byte[] topic0 = topics[0];
+        if(topic0.length != UNIT_LENGTH_BYTES) {
+            throw new IllegalArgumentException("topic length != " + UNIT_LENGTH_BYTES + ": " + topic0.length);
+        }
+        final Event event = getEvent(topic0, 0, topics.length);
+        if(event == null) {
+            throw new IllegalArgumentException(getEvent(topic0, 0) == null
+                    ? "unknown topic0"
+                    : "no event for topic0 with " + topics.length + " topics");
+        }
+        return event.decodeArgs(topics, data);
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    private static int selectorKey(byte[] buffer, int i) {
+        return buffer[i] << 24 | (buffer[i+1] & 0xFF) << 16 | (buffer[i+2] & 0xFF) << 8 | (buffer[i+3] & 0xFF);
+    }
+
+    /* selectors and topics are hash output already, but callers may pass arbitrary ints and bytes */
+    private static int mix(int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private boolean topicEquals(int slot, long k0, long k1, long k2, long k3) {
+        final long[] topicKeys = this.topicKeys;
+        final int idx = slot * TOPIC_LONGS;
+        return topicKeys[idx] == k0 && topicKeys[idx + 1] == k1 && topicKeys[idx + 2] == k2 && topicKeys[idx + 3] == k3;
+    }
+
+    private void putTopic(int slot, long k0, long k1, long k2, long k3, int topicCount, Event event) {
+        final int idx = slot * TOPIC_LONGS;
+        topicKeys[idx] = k0;
+        topicKeys[idx + 1] = k1;
+        topicKeys[idx + 2] = k2;
+        topicKeys[idx + 3] = k3;
+        topicCounts[slot] = topicCount;
+        events[slot] = event;
+    }
+
+    private void growFunctions() {
+        final int[] oldKeys = selectorKeys;
+        final Function[] oldFunctions = functions;
+        final int newCapacity = oldFunctions.length << 1;
+        selectorKeys = new int[newCapacity];
+        functions = new Function[newCapacity];
+        final int mask = newCapacity - 1;
+        for (int i = 0; i < oldFunctions.length; i++) {
+            final Function f = oldFunctions[i];
+            if(f != null) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (functions[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                selectorKeys[slot] = oldKeys[i];
+                functions[slot] = f;
+            }
+        }
+    }
+
+    private void growEvents() {
+        final long[] oldKeys = topicKeys;
+        final int[] oldCounts = topicCounts;
+        final Event[] oldEvents = events;
+        final int newCapacity = oldEvents.length << 1;
+        topicKeys = new long[newCapacity * TOPIC_LONGS];
+        topicCounts = new int[newCapacity];
+        events = new Event[newCapacity];
+        final int mask = newCapacity - 1;
+        for (int i = 0; i < oldEvents.length; i++) {
+            final Event e = oldEvents[i];
+            if(e != null) {
+                final int idx = i * TOPIC_LONGS;
+                int slot = mix((int) oldKeys[idx]) & mask;
+                while (events[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                putTopic(slot, oldKeys[idx], oldKeys[idx + 1], oldKeys[idx + 2], oldKeys[idx + 3], oldCounts[i], e);
+            }
+        }
+    }
+}
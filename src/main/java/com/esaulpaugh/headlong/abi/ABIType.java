@@ -90,6 +90,14 @@ public abstract class ABIType<J> implements Serializable {
         }
     }
 
+    /**
+     * Decodes using the context's scratch state. Types which would otherwise allocate scratch state per call override
+     * this.
+     */
+    J decode(ByteBuffer bb, DecoderContext ctx) {
+        return decode(bb, ctx.unitBuffer);
+    }
+
     static byte[] newUnitBuffer() {
         return new byte[UNIT_LENGTH_BYTES];
     }
@@ -1,6 +1,7 @@
 package com.esaulpaugh.headlong.abi;
 
 import com.esaulpaugh.headlong.abi.util.ClassNames;
+import com.esaulpaugh.headlong.util.Strings;
 
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
@@ -77,7 +78,7 @@ public class ArrayType<T extends ABIType<?>, J> extends ABIType<J> {
         case TYPE_CODE_BOOLEAN: staticLen = ((boolean[]) value).length << LOG_2_UNIT_LENGTH_BYTES; break;
         case TYPE_CODE_BYTE: staticLen =
                 roundLengthUp(
-                        (isString ? ((String) value).getBytes(CHARSET_UTF_8) : (byte[]) value).length
+                        isString ? Strings.utf8Length((String) value) : ((byte[]) value).length
                 );
                 break;
         case TYPE_CODE_INT: staticLen = ((int[]) value).length << LOG_2_UNIT_LENGTH_BYTES; break;
@@ -96,7 +97,7 @@ public class ArrayType<T extends ABIType<?>, J> extends ABIType<J> {
                 // 32 bytes per offset, 32 for array length
                 return (len << LOG_2_UNIT_LENGTH_BYTES) + ARRAY_LENGTH_BYTE_LEN + staticLen;
             }
-            return staticLen;
+            break;
         default: throw new IllegalArgumentException("unrecognized type: " + elementType.toString());
         }
 
@@ -109,7 +110,7 @@ public class ArrayType<T extends ABIType<?>, J> extends ABIType<J> {
         final ABIType<?> elementType = this.elementType;
         switch (elementType.typeCode()) {
         case TYPE_CODE_BOOLEAN: return ((boolean[]) value).length; // * 1
-        case TYPE_CODE_BYTE: return (isString ? ((String) value).getBytes(CHARSET_UTF_8) : (byte[]) value).length; // * 1
+        case TYPE_CODE_BYTE: return isString ? Strings.utf8Length((String) value) : ((byte[]) value).length; // * 1
         case TYPE_CODE_INT: return ((int[]) value).length * elementType.byteLengthPacked(null);
         case TYPE_CODE_LONG: return ((long[]) value).length * elementType.byteLengthPacked(null);
         case TYPE_CODE_BIG_INTEGER:
@@ -140,8 +141,7 @@ public class ArrayType<T extends ABIType<?>, J> extends ABIType<J> {
         switch (elementType.typeCode()) {
         case TYPE_CODE_BOOLEAN: staticLen = checkLength(((boolean[]) value).length, value) << LOG_2_UNIT_LENGTH_BYTES; break;
         case TYPE_CODE_BYTE:
-            byte[] bytes = isString ? ((String) value).getBytes(CHARSET_UTF_8) : (byte[]) value;
-            staticLen = roundLengthUp(checkLength(bytes.length, value));
+            staticLen = roundLengthUp(checkLength(isString ? Strings.utf8Length((String) value) : ((byte[]) value).length, value));
             break;
         case TYPE_CODE_INT: staticLen = validateIntArray((int[]) value); break;
         case TYPE_CODE_LONG: staticLen = validateLongArray((long[]) value); break;
@@ -240,7 +240,7 @@ public class ArrayType<T extends ABIType<?>, J> extends ABIType<J> {
         return byteLength;
     }
 
-    private int checkLength(final int valueLength, Object value) {
+    int checkLength(final int valueLength, Object value) {
         final int expected = this.length;
         if(expected != DYNAMIC_LENGTH) { // -1
             if (valueLength != expected) {
@@ -257,19 +257,7 @@ public class ArrayType<T extends ABIType<?>, J> extends ABIType<J> {
     @Override
     @SuppressWarnings("unchecked")
     J decode(ByteBuffer bb, byte[] elementBuffer) {
-        final int arrayLen;
-        if(dynamic) {
-            arrayLen = ARRAY_LENGTH_TYPE.decode(bb, elementBuffer);
-            final int expectedLen = this.length;
-            if(expectedLen != DYNAMIC_LENGTH && arrayLen != expectedLen) {
-                throw new IllegalArgumentException("array length mismatch @ "
-                        + (bb.position() - ARRAY_LENGTH_BYTE_LEN)
-                        + ": actual != expected: " + arrayLen + " != " + expectedLen);
-            }
-        } else {
-            arrayLen = length;
-        }
-
+        final int arrayLen = decodeLength(bb, elementBuffer);
         switch (elementType.typeCode()) {
         case TYPE_CODE_BOOLEAN: return (J) decodeBooleanArray(bb, arrayLen, elementBuffer);
         case TYPE_CODE_BYTE: return (J) decodeByteArray(bb, arrayLen);
@@ -283,6 +271,53 @@ public class ArrayType<T extends ABIType<?>, J> extends ABIType<J> {
         }
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    J decode(ByteBuffer bb, DecoderContext ctx) {
+        final int code = elementType.typeCode();
+        if(code != TYPE_CODE_ARRAY && code != TYPE_CODE_TUPLE) {
+            return decode(bb, ctx.unitBuffer);
+        }
+        final int arrayLen = decodeLength(bb, ctx.unitBuffer);
+        final Object[] dest = newObjectArray(arrayLen, code == TYPE_CODE_TUPLE);
+        final ABIType<?> elementType = this.elementType;
+        if(!elementType.dynamic) {
+            for (int i = 0; i < arrayLen; i++) {
+                dest[i] = elementType.decode(bb, ctx);
+            }
+            return (J) dest;
+        }
+        final int base = ctx.push(arrayLen);
+        try {
+            for (int i = 0; i < arrayLen; i++) {
+                ctx.offsets[base + i] = CallEncoder.OFFSET_TYPE.decode(bb, ctx.unitBuffer);
+            }
+            for (int i = 0; i < arrayLen; i++) {
+                if (ctx.offsets[base + i] <= 0) {
+                    throw new IllegalArgumentException("offset not found");
+                }
+                dest[i] = elementType.decode(bb, ctx);
+            }
+        } finally {
+            ctx.pop(base);
+        }
+        return (J) dest;
+    }
+
+    int decodeLength(ByteBuffer bb, byte[] elementBuffer) {
+        if(dynamic) {
+            final int arrayLen = ARRAY_LENGTH_TYPE.decode(bb, elementBuffer);
+            final int expectedLen = this.length;
+            if(expectedLen != DYNAMIC_LENGTH && arrayLen != expectedLen) {
+                throw new IllegalArgumentException("array length mismatch @ "
+                        + (bb.position() - ARRAY_LENGTH_BYTE_LEN)
+                        + ": actual != expected: " + arrayLen + " != " + expectedLen);
+            }
+            return arrayLen;
+        }
+        return length;
+    }
+
     private static boolean[] decodeBooleanArray(ByteBuffer bb, int arrayLen, byte[] elementBuffer) {
         boolean[] booleans = new boolean[arrayLen]; // elements are false by default
         final int booleanOffset = UNIT_LENGTH_BYTES - 1; // Byte.BYTES
@@ -305,6 +340,11 @@ public class ArrayType<T extends ABIType<?>, J> extends ABIType<J> {
 
     private Object decodeByteArray(ByteBuffer bb, int arrayLen) {
         final int mark = bb.position();
+        if(isString && bb.hasArray() && arrayLen >= 0 && arrayLen <= bb.remaining()) { // decode in place
+            final String str = new String(bb.array(), bb.arrayOffset() + mark, arrayLen, CHARSET_UTF_8);
+            bb.position(mark + roundLengthUp(arrayLen));
+            return str;
+        }
         byte[] out = new byte[arrayLen];
         bb.get(out);
         bb.position(mark + roundLengthUp(arrayLen));
@@ -349,21 +389,17 @@ public class ArrayType<T extends ABIType<?>, J> extends ABIType<J> {
 
     private static int getIntElement(UnitType<?> type, ByteBuffer bb, byte[] elementBuffer) {
         bb.get(elementBuffer, 0, UNIT_LENGTH_BYTES);
-        BigInteger bi = new BigInteger(elementBuffer);
-        type.validateBigIntElement(bi);
-        return bi.intValue();
+        return (int) type.decodeLong(elementBuffer, true);
     }
 
     private static long getLongElement(UnitType<?> type, ByteBuffer bb, byte[] elementBuffer) {
         bb.get(elementBuffer, 0, UNIT_LENGTH_BYTES);
-        BigInteger bi = new BigInteger(elementBuffer);
-        type.validateBigIntElement(bi);
-        return bi.longValue();
+        return type.decodeLong(elementBuffer, true);
     }
 
     private static BigInteger getBigIntElement(UnitType<?> type, ByteBuffer bb, byte[] elementBuffer) {
         bb.get(elementBuffer, 0, UNIT_LENGTH_BYTES);
-        BigInteger bigInt = new BigInteger(elementBuffer);
+        BigInteger bigInt = type.toBigInteger(elementBuffer);
         type.validateBigIntElement(bigInt);
         return bigInt;
     }
@@ -373,23 +409,24 @@ public class ArrayType<T extends ABIType<?>, J> extends ABIType<J> {
 //        final int index = bb.position(); // TODO must pass index to decodeObjectArrayTails if you want to support lenient mode
 
         final ABIType<?> elementType = this.elementType;
-        Object[] dest;
-        if(tupleArray) {
-            dest = new Tuple[arrayLen];
-        } else {
-            dest = (Object[]) Array.newInstance(elementType.clazz, arrayLen); // reflection ftw
-        }
+        final Object[] dest = newObjectArray(arrayLen, tupleArray);
 
         int[] offsets = new int[arrayLen];
 
         decodeObjectArrayHeads(elementType, bb, offsets, elementBuffer, dest);
 
-        if(this.dynamic) {
+        if(elementType.dynamic) {
             decodeObjectArrayTails(elementType, bb, offsets, elementBuffer, dest);
         }
         return dest;
     }
 
+    private Object[] newObjectArray(int arrayLen, boolean tupleArray) {
+        return tupleArray
+                ? new Tuple[arrayLen]
+                : (Object[]) Array.newInstance(elementType.clazz, arrayLen); // reflection ftw
+    }
+
     private static void decodeObjectArrayHeads(ABIType<?> elementType, ByteBuffer bb, final int[] offsets, byte[] elementBuffer, final Object[] dest) {
         final int len = offsets.length;
         if(elementType.dynamic) {
@@ -407,14 +444,15 @@ public class ArrayType<T extends ABIType<?>, J> extends ABIType<J> {
         final int len = offsets.length;
         for (int i = 0; i < len; i++) {
             int offset = offsets[i];
-            if (offset > 0) {
-                /* OPERATES IN STRICT MODE see https://github.com/ethereum/solidity/commit/3d1ca07e9b4b42355aa9be5db5c00048607986d1 */
-//                if(bb.position() != index + offset) {
-//                    System.err.println(ArrayType.class.getName() + " setting " + bb.position() + " to " + (index + offset) + ", offset=" + offset);
-//                    bb.position(index + offset);
-//                }
-                dest[i] = elementType.decode(bb, elementBuffer);
+            if (offset <= 0) {
+                throw new IllegalArgumentException("offset not found");
             }
+            /* OPERATES IN STRICT MODE see https://github.com/ethereum/solidity/commit/3d1ca07e9b4b42355aa9be5db5c00048607986d1 */
+//            if(bb.position() != index + offset) {
+//                System.err.println(ArrayType.class.getName() + " setting " + bb.position() + " to " + (index + offset) + ", offset=" + offset);
+//                bb.position(index + offset);
+//            }
+            dest[i] = elementType.decode(bb, elementBuffer);
         }
     }
 
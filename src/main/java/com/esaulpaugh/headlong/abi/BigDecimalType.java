@@ -42,6 +42,10 @@ class BigDecimalType extends UnitType<BigDecimal> {
 
     @Override
     public int validate(Object value) {
+        if(isWord256(value)) { // unscaled value
+            validateWord256(value);
+            return UNIT_LENGTH_BYTES;
+        }
         validateClass(value);
         BigDecimal dec = (BigDecimal) value;
         validateBigIntBitLen(dec.unscaledValue());
@@ -54,7 +58,7 @@ class BigDecimalType extends UnitType<BigDecimal> {
     @Override
     BigDecimal decode(ByteBuffer bb, byte[] unitBuffer) {
         bb.get(unitBuffer, 0, UNIT_LENGTH_BYTES);
-        BigInteger bi = new BigInteger(unitBuffer);
+        BigInteger bi = toBigInteger(unitBuffer);
         BigDecimal dec = new BigDecimal(bi, scale);
         validateBigIntBitLen(bi);
         return dec;
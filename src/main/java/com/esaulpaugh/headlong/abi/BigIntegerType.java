@@ -38,15 +38,19 @@ class BigIntegerType extends UnitType<BigInteger> {
 
     @Override
     public int validate(Object value) {
-        validateClass(value);
-        validateBigIntBitLen((BigInteger) value);
+        if(isWord256(value)) {
+            validateWord256(value);
+        } else {
+            validateClass(value);
+            validateBigIntBitLen((BigInteger) value);
+        }
         return UNIT_LENGTH_BYTES;
     }
 
     @Override
     BigInteger decode(ByteBuffer bb, byte[] unitBuffer) {
         bb.get(unitBuffer, 0, UNIT_LENGTH_BYTES);
-        BigInteger bi = new BigInteger(unitBuffer);
+        BigInteger bi = toBigInteger(unitBuffer);
         validateBigIntBitLen(bi);
         return bi;
     }
@@ -8,7 +8,6 @@ import java.security.MessageDigest;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Supplier;
 
 import static com.esaulpaugh.headlong.abi.util.JsonUtils.*;
 
@@ -45,8 +44,6 @@ public class ContractJSONParser {
                                                              final boolean events,
                                                              final Class<T> classOfT) throws ParseException {
 
-        final Supplier<MessageDigest> defaultDigest = functions ? Function::newDefaultDigest : null;
-
         final List<T> list = new ArrayList<>();
         for(JsonElement e : parseArray(json)) {
             if(e.isJsonObject()) {
@@ -57,7 +54,7 @@ public class ContractJSONParser {
                 case CONSTRUCTOR:
                 case FUNCTION:
                     if(functions) {
-                        list.add(classOfT.cast(parseFunction(object, defaultDigest.get())));
+                        list.add(classOfT.cast(parseFunction(object, Function.defaultDigest())));
                     }
                     break;
                 case EVENT:
@@ -73,11 +70,11 @@ public class ContractJSONParser {
     }
 
     public static Function parseFunction(String json) throws ParseException {
-        return parseFunction(parseObject(json), Function.newDefaultDigest());
+        return parseFunction(parseObject(json), Function.defaultDigest());
     }
 
     public static Function parseFunction(JsonObject function) throws ParseException {
-        return parseFunction(function, Function.newDefaultDigest());
+        return parseFunction(function, Function.defaultDigest());
     }
 
     public static Function parseFunction(JsonObject function, MessageDigest messageDigest) throws ParseException {
@@ -0,0 +1,39 @@
+package com.esaulpaugh.headlong.abi;
+
+import java.util.Arrays;
+
+/**
+ * Reusable scratch state for decoding: the 32-byte unit buffer and a stack of tail offsets shared by all tuples and
+ * arrays being decoded. Passing one context to successive calls such as
+ * {@link TupleType#decode(java.nio.ByteBuffer, DecoderContext)} leaves the decoded values as the only allocations.
+ * Not thread-safe; keep one per thread, e.g. in a {@link ThreadLocal}.
+ */
+public final class DecoderContext {
+
+    private static final int INITIAL_STACK_LEN = 16;
+
+    final byte[] unitBuffer = ABIType.newUnitBuffer();
+
+    /* may be replaced by push; do not hold a reference across a nested decode */
+    int[] offsets = new int[INITIAL_STACK_LEN];
+    private int top;
+
+    /**
+     * Reserves {@code len} slots on the offset stack.
+     *
+     * @return  the index of the first reserved slot, to be passed to {@link #pop(int)}
+     */
+    int push(int len) {
+        final int base = top;
+        final int newTop = base + len;
+        if(newTop > offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(newTop, offsets.length << 1));
+        }
+        top = newTop;
+        return base;
+    }
+
+    void pop(int base) {
+        top = base;
+    }
+}
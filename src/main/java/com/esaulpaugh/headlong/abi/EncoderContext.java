@@ -0,0 +1,45 @@
+package com.esaulpaugh.headlong.abi;
+
+import static com.esaulpaugh.headlong.util.Strings.CHARSET_UTF_8;
+
+/**
+ * Reusable state for encoding, currently a small cache of the UTF-8 encodings of recently encoded {@code String}s keyed
+ * by identity. Passing one context to successive calls such as
+ * {@link TupleType#encode(Tuple, java.nio.ByteBuffer, EncoderContext)} encodes each distinct {@code String} instance
+ * once. Only strings of up to {@value #MAX_CACHED_LENGTH} chars are cached, so a context retains at most a few tens of
+ * kilobytes of callers' data between calls; {@link #clear()} releases it. Not thread-safe; keep one per thread, e.g.
+ * in a {@link ThreadLocal}.
+ */
+public final class EncoderContext {
+
+    private static final int UTF_8_CACHE_SIZE = 64; // power of two
+
+    static final int MAX_CACHED_LENGTH = 256;
+
+    private final String[] strings = new String[UTF_8_CACHE_SIZE];
+    private final byte[][] utf8 = new byte[UTF_8_CACHE_SIZE][];
+
+    byte[] utf8(String str) {
+        if(str.length() > MAX_CACHED_LENGTH) {
+            return str.getBytes(CHARSET_UTF_8);
+        }
+        final int slot = System.identityHashCode(str) & (UTF_8_CACHE_SIZE - 1);
+        if(strings[slot] == str) {
+            return utf8[slot];
+        }
+        final byte[] bytes = str.getBytes(CHARSET_UTF_8);
+        strings[slot] = str;
+        utf8[slot] = bytes;
+        return bytes;
+    }
+
+    /**
+     * Releases the cached strings and their encodings.
+     */
+    public void clear() {
+        for (int i = 0; i < UTF_8_CACHE_SIZE; i++) {
+            strings[i] = null;
+            utf8[i] = null;
+        }
+    }
+}
@@ -0,0 +1,545 @@
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.util.Strings;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+import static com.esaulpaugh.headlong.abi.ABIType.*;
+import static com.esaulpaugh.headlong.abi.CallEncoder.OFFSET_LENGTH_BYTES;
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+import static com.esaulpaugh.headlong.util.Strings.CHARSET_UTF_8;
+
+/**
+ * The precompiled encoding of a {@link TupleType}: one specialized {@link Writer} per element, the indices of the
+ * dynamic elements, and the layout of the head, which depends only on the types. Built once per {@link TupleType} so
+ * that encoding dispatches on {@link ABIType#typeCode()} at plan construction only, never per call. The same writers
+ * also stream encodings to a {@link Sink}, as {@link StreamingEncoder} does.
+ */
+final class EncodingPlan {
+
+    private final ABIType<?>[] types;
+    private final Writer[] writers;
+    private final int[] dynamicIndices;
+    /* index of each element's head relative to the start of the tuple */
+    final int[] headOffsets;
+    final int headLength;
+
+    private EncodingPlan(ABIType<?>[] types, Writer[] writers, int[] dynamicIndices, int[] headOffsets, int headLength) {
+        this.types = types;
+        this.writers = writers;
+        this.dynamicIndices = dynamicIndices;
+        this.headOffsets = headOffsets;
+        this.headLength = headLength;
+    }
+
+    static EncodingPlan create(TupleType tupleType) {
+        final ABIType<?>[] types = tupleType.elementTypes;
+        final int len = types.length;
+        final Writer[] writers = new Writer[len];
+        final int[] headOffsets = new int[len];
+        int numDynamic = 0;
+        int headLength = 0;
+        for (int i = 0; i < len; i++) {
+            final ABIType<?> type = types[i];
+            writers[i] = writerFor(type);
+            headOffsets[i] = headLength;
+            if(type.dynamic) {
+                numDynamic++;
+                headLength += OFFSET_LENGTH_BYTES;
+            } else {
+                headLength += staticByteLength(type);
+            }
+        }
+        final int[] dynamicIndices = new int[numDynamic];
+        for (int i = 0, d = 0; d < numDynamic; i++) {
+            if(types[i].dynamic) {
+                dynamicIndices[d++] = i;
+            }
+        }
+        return new EncodingPlan(types, writers, dynamicIndices, headOffsets, headLength);
+    }
+
+    /**
+     * @param type  a type for which {@link ABIType#isDynamic()} is false
+     * @return  the length of any encoding of the given type
+     */
+    static int staticByteLength(ABIType<?> type) {
+        switch (type.typeCode()) {
+        case TYPE_CODE_ARRAY:
+            final ArrayType<?, ?> arrayType = (ArrayType<?, ?>) type;
+            final ABIType<?> elementType = arrayType.elementType;
+            return elementType.typeCode() == TYPE_CODE_BYTE
+                    ? ArrayType.roundLengthUp(arrayType.length)
+                    : arrayType.length * staticByteLength(elementType);
+        case TYPE_CODE_TUPLE:
+            int len = 0;
+            for (ABIType<?> e : ((TupleType) type).elementTypes) {
+                len += staticByteLength(e);
+            }
+            return len;
+        default: return UNIT_LENGTH_BYTES;
+        }
+    }
+
+    /**
+     * @param ctx   the reusable encoding state, or null
+     */
+    void encode(Object[] values, ByteBuffer dest, EncoderContext ctx) {
+        final Writer[] writers = this.writers;
+        final int len = writers.length;
+        final int[] dynamicIndices = this.dynamicIndices;
+        if(dynamicIndices.length == 0) {
+            for (int i = 0; i < len; i++) {
+                writers[i].write(values[i], dest, ctx);
+            }
+            return;
+        }
+        final ABIType<?>[] types = this.types;
+        int offset = headLength;
+        for (int i = 0; i < len; i++) {
+            final ABIType<?> type = types[i];
+            if(type.dynamic) {
+                CallEncoder.insertInt(offset, dest);
+                offset += type.byteLength(values[i]);
+            } else {
+                writers[i].write(values[i], dest, ctx);
+            }
+        }
+        for (int d : dynamicIndices) {
+            writers[d].write(values[d], dest, ctx);
+        }
+    }
+
+    /**
+     * Streams the same bytes that {@link #encode(Object[], ByteBuffer, EncoderContext)} writes.
+     */
+    void stream(Object[] values, Sink sink) throws IOException {
+        final Writer[] writers = this.writers;
+        final int len = writers.length;
+        final int[] dynamicIndices = this.dynamicIndices;
+        if(dynamicIndices.length == 0) {
+            for (int i = 0; i < len; i++) {
+                writers[i].stream(values[i], sink);
+            }
+            return;
+        }
+        final ABIType<?>[] types = this.types;
+        int offset = headLength;
+        for (int i = 0; i < len; i++) {
+            final ABIType<?> type = types[i];
+            if(type.dynamic) {
+                CallEncoder.insertInt(offset, sink.unit());
+                offset += type.byteLength(values[i]);
+            } else {
+                writers[i].stream(values[i], sink);
+            }
+        }
+        for (int d : dynamicIndices) {
+            writers[d].stream(values[d], sink);
+        }
+    }
+
+    /**
+     * Writes the full encoding of a single element: its head if static, its tail if dynamic.
+     */
+    void write(int i, Object value, ByteBuffer dest) {
+        writers[i].write(value, dest, null);
+    }
+
+    private static Writer writerFor(ABIType<?> type) {
+        switch (type.typeCode()) {
+        case TYPE_CODE_BOOLEAN: return BOOLEAN_WRITER;
+        case TYPE_CODE_BYTE:
+        case TYPE_CODE_INT:
+        case TYPE_CODE_LONG: return NUMBER_WRITER;
+        case TYPE_CODE_BIG_INTEGER: return ((UnitType<?>) type).unsigned ? UNSIGNED_BIG_INTEGER_WRITER : SIGNED_BIG_INTEGER_WRITER;
+        case TYPE_CODE_BIG_DECIMAL: return ((UnitType<?>) type).unsigned ? UNSIGNED_BIG_DECIMAL_WRITER : SIGNED_BIG_DECIMAL_WRITER;
+        case TYPE_CODE_ARRAY: return arrayWriterFor((ArrayType<?, ?>) type);
+        case TYPE_CODE_TUPLE: return new TupleWriter(((TupleType) type).encodingPlan());
+        default: throw new IllegalArgumentException("unexpected type: " + type.toString());
+        }
+    }
+
+    private static Writer arrayWriterFor(ArrayType<?, ?> arrayType) {
+        final ABIType<?> elementType = arrayType.elementType;
+        final boolean dynamic = arrayType.dynamic;
+        switch (elementType.typeCode()) {
+        case TYPE_CODE_BOOLEAN: return new BooleanArrayWriter(dynamic);
+        case TYPE_CODE_BYTE: return arrayType.isString ? STRING_WRITER : new ByteArrayWriter(dynamic);
+        case TYPE_CODE_INT: return new IntArrayWriter(dynamic);
+        case TYPE_CODE_LONG: return new LongArrayWriter(dynamic);
+        case TYPE_CODE_BIG_INTEGER: return new BigIntegerArrayWriter(dynamic, ((UnitType<?>) elementType).unsigned);
+        case TYPE_CODE_BIG_DECIMAL: return new BigDecimalArrayWriter(dynamic, ((UnitType<?>) elementType).unsigned);
+        case TYPE_CODE_ARRAY:  // type for String[] has TYPE_CODE_ARRAY
+        case TYPE_CODE_TUPLE: return new ObjectArrayWriter(dynamic, elementType, writerFor(elementType));
+        default: throw new IllegalArgumentException("unexpected array element type: " + elementType.toString());
+        }
+    }
+
+    // -----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * A destination for streamed encodings, which accepts words one at a time and byte payloads of any length.
+     */
+    abstract static class Sink {
+
+        /**
+         * @return  a buffer with room for at least one word
+         */
+        abstract ByteBuffer unit() throws IOException;
+
+        /**
+         * Writes the bytes followed by their padding.
+         */
+        abstract void bytes(byte[] bytes) throws IOException;
+
+        /**
+         * Writes the UTF-8 encoding of the string followed by its padding, without materializing the encoding.
+         *
+         * @param utf8Len   the length of the encoding, as given by {@link Strings#utf8Length(String)}
+         */
+        abstract void utf8(String str, int utf8Len) throws IOException;
+    }
+
+    /**
+     * Writes the full encoding of a value: the head for static types, the tail for dynamic types.
+     */
+    abstract static class Writer {
+        abstract void write(Object value, ByteBuffer dest, EncoderContext ctx);
+
+        /**
+         * Streams the bytes that {@link #write(Object, ByteBuffer, EncoderContext)} writes. By default, for writers
+         * of a single word.
+         */
+        void stream(Object value, Sink sink) throws IOException {
+            write(value, sink.unit(), null);
+        }
+    }
+
+    private static final Writer BOOLEAN_WRITER = new Writer() {
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            CallEncoder.insertBool((boolean) value, dest);
+        }
+    };
+
+    private static final Writer NUMBER_WRITER = new Writer() {
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            CallEncoder.insertInt(((Number) value).longValue(), dest);
+        }
+    };
+
+    private static final class BigIntegerWriter extends Writer {
+
+        private final boolean unsigned;
+
+        BigIntegerWriter(boolean unsigned) {
+            this.unsigned = unsigned;
+        }
+
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            if(value instanceof BigInteger) {
+                CallEncoder.insertInt((BigInteger) value, unsigned, dest);
+            } else {
+                CallEncoder.insertWord256(value, dest);
+            }
+        }
+    }
+
+    private static final class BigDecimalWriter extends Writer {
+
+        private final boolean unsigned;
+
+        BigDecimalWriter(boolean unsigned) {
+            this.unsigned = unsigned;
+        }
+
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            if(value instanceof BigDecimal) {
+                CallEncoder.insertInt(((BigDecimal) value).unscaledValue(), unsigned, dest);
+            } else {
+                CallEncoder.insertWord256(value, dest);
+            }
+        }
+    }
+
+    private static final Writer SIGNED_BIG_INTEGER_WRITER = new BigIntegerWriter(false);
+    private static final Writer UNSIGNED_BIG_INTEGER_WRITER = new BigIntegerWriter(true);
+    private static final Writer SIGNED_BIG_DECIMAL_WRITER = new BigDecimalWriter(false);
+    private static final Writer UNSIGNED_BIG_DECIMAL_WRITER = new BigDecimalWriter(true);
+
+    private static final Writer STRING_WRITER = new Writer() {
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            final String str = (String) value;
+            final byte[] bytes = ctx != null ? ctx.utf8(str) : str.getBytes(CHARSET_UTF_8);
+            CallEncoder.insertInt(bytes.length, dest); // insertLength
+            CallEncoder.insertBytes(bytes, dest);
+        }
+
+        @Override
+        void stream(Object value, Sink sink) throws IOException {
+            final String str = (String) value;
+            final int len = Strings.utf8Length(str);
+            CallEncoder.insertInt(len, sink.unit());
+            sink.utf8(str, len);
+        }
+    };
+
+    private static final class TupleWriter extends Writer {
+
+        private final EncodingPlan plan;
+
+        TupleWriter(EncodingPlan plan) {
+            this.plan = plan;
+        }
+
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            plan.encode(((Tuple) value).elements, dest, ctx);
+        }
+
+        @Override
+        void stream(Object value, Sink sink) throws IOException {
+            plan.stream(((Tuple) value).elements, sink);
+        }
+    }
+
+    private static final class BooleanArrayWriter extends Writer {
+
+        private final boolean dynamic;
+
+        BooleanArrayWriter(boolean dynamic) {
+            this.dynamic = dynamic;
+        }
+
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            boolean[] booleans = (boolean[]) value;
+            if(dynamic) {
+                CallEncoder.insertInt(booleans.length, dest);
+            }
+            CallEncoder.insertBooleans(booleans, dest);
+        }
+
+        @Override
+        void stream(Object value, Sink sink) throws IOException {
+            boolean[] booleans = (boolean[]) value;
+            if(dynamic) {
+                CallEncoder.insertInt(booleans.length, sink.unit());
+            }
+            for (boolean e : booleans) {
+                CallEncoder.insertBool(e, sink.unit());
+            }
+        }
+    }
+
+    private static final class ByteArrayWriter extends Writer {
+
+        private final boolean dynamic;
+
+        ByteArrayWriter(boolean dynamic) {
+            this.dynamic = dynamic;
+        }
+
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            byte[] bytes = (byte[]) value;
+            if(dynamic) {
+                CallEncoder.insertInt(bytes.length, dest);
+            }
+            CallEncoder.insertBytes(bytes, dest);
+        }
+
+        @Override
+        void stream(Object value, Sink sink) throws IOException {
+            byte[] bytes = (byte[]) value;
+            if(dynamic) {
+                CallEncoder.insertInt(bytes.length, sink.unit());
+            }
+            sink.bytes(bytes);
+        }
+    }
+
+    private static final class IntArrayWriter extends Writer {
+
+        private final boolean dynamic;
+
+        IntArrayWriter(boolean dynamic) {
+            this.dynamic = dynamic;
+        }
+
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            int[] ints = (int[]) value;
+            if(dynamic) {
+                CallEncoder.insertInt(ints.length, dest);
+            }
+            CallEncoder.insertInts(ints, dest);
+        }
+
+        @Override
+        void stream(Object value, Sink sink) throws IOException {
+            int[] ints = (int[]) value;
+            if(dynamic) {
+                CallEncoder.insertInt(ints.length, sink.unit());
+            }
+            for (int e : ints) {
+                CallEncoder.insertInt(e, sink.unit());
+            }
+        }
+    }
+
+    private static final class LongArrayWriter extends Writer {
+
+        private final boolean dynamic;
+
+        LongArrayWriter(boolean dynamic) {
+            this.dynamic = dynamic;
+        }
+
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            long[] longs = (long[]) value;
+            if(dynamic) {
+                CallEncoder.insertInt(longs.length, dest);
+            }
+            CallEncoder.insertLongs(longs, dest);
+        }
+
+        @Override
+        void stream(Object value, Sink sink) throws IOException {
+            long[] longs = (long[]) value;
+            if(dynamic) {
+                CallEncoder.insertInt(longs.length, sink.unit());
+            }
+            for (long e : longs) {
+                CallEncoder.insertInt(e, sink.unit());
+            }
+        }
+    }
+
+    private static final class BigIntegerArrayWriter extends Writer {
+
+        private final boolean dynamic;
+        private final boolean unsigned;
+
+        BigIntegerArrayWriter(boolean dynamic, boolean unsigned) {
+            this.dynamic = dynamic;
+            this.unsigned = unsigned;
+        }
+
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            BigInteger[] bigInts = (BigInteger[]) value;
+            if(dynamic) {
+                CallEncoder.insertInt(bigInts.length, dest);
+            }
+            CallEncoder.insertBigIntegers(bigInts, unsigned, dest);
+        }
+
+        @Override
+        void stream(Object value, Sink sink) throws IOException {
+            BigInteger[] bigInts = (BigInteger[]) value;
+            if(dynamic) {
+                CallEncoder.insertInt(bigInts.length, sink.unit());
+            }
+            for (BigInteger e : bigInts) {
+                CallEncoder.insertInt(e, unsigned, sink.unit());
+            }
+        }
+    }
+
+    private static final class BigDecimalArrayWriter extends Writer {
+
+        private final boolean dynamic;
+        private final boolean unsigned;
+
+        BigDecimalArrayWriter(boolean dynamic, boolean unsigned) {
+            this.dynamic = dynamic;
+            this.unsigned = unsigned;
+        }
+
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            BigDecimal[] bigDecs = (BigDecimal[]) value;
+            if(dynamic) {
+                CallEncoder.insertInt(bigDecs.length, dest);
+            }
+            CallEncoder.insertBigDecimals(bigDecs, unsigned, dest);
+        }
+
+        @Override
+        void stream(Object value, Sink sink) throws IOException {
+            BigDecimal[] bigDecs = (BigDecimal[]) value;
+            if(dynamic) {
+                CallEncoder.insertInt(bigDecs.length, sink.unit());
+            }
+            for (BigDecimal e : bigDecs) {
+                CallEncoder.insertInt(e.unscaledValue(), unsigned, sink.unit());
+            }
+        }
+    }
+
+    /**
+     * For arrays of arrays (including {@code String[]}) and arrays of tuples.
+     */
+    private static final class ObjectArrayWriter extends Writer {
+
+        private final boolean dynamic;
+        private final ABIType<?> elementType;
+        private final Writer elementWriter;
+
+        ObjectArrayWriter(boolean dynamic, ABIType<?> elementType, Writer elementWriter) {
+            this.dynamic = dynamic;
+            this.elementType = elementType;
+            this.elementWriter = elementWriter;
+        }
+
+        @Override
+        void write(Object value, ByteBuffer dest, EncoderContext ctx) {
+            final Object[] objects = (Object[]) value;
+            final int len = objects.length;
+            if(dynamic) {
+                CallEncoder.insertInt(len, dest); // insertLength
+                if (elementType.dynamic) { // if elements are dynamic
+                    int offset = len << 5; // mul 32 (0x20)
+                    for (int i = 0; i < len; i++) {
+                        CallEncoder.insertInt(offset, dest);
+                        offset += elementType.byteLength(objects[i]);
+                    }
+                }
+            }
+            final Writer elementWriter = this.elementWriter;
+            for (int i = 0; i < len; i++) {
+                elementWriter.write(objects[i], dest, ctx);
+            }
+        }
+
+        @Override
+        void stream(Object value, Sink sink) throws IOException {
+            final Object[] objects = (Object[]) value;
+            final int len = objects.length;
+            if(dynamic) {
+                CallEncoder.insertInt(len, sink.unit()); // insertLength
+                if (elementType.dynamic) { // if elements are dynamic
+                    int offset = len << 5; // mul 32 (0x20)
+                    for (int i = 0; i < len; i++) {
+                        CallEncoder.insertInt(offset, sink.unit());
+                        offset += elementType.byteLength(objects[i]);
+                    }
+                }
+            }
+            final Writer elementWriter = this.elementWriter;
+            for (int i = 0; i < len; i++) {
+                elementWriter.stream(objects[i], sink);
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.esaulpaugh.headlong.abi;
 import com.esaulpaugh.headlong.util.Strings;
 import com.google.gson.JsonObject;
 
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.text.ParseException;
 import java.util.Arrays;
@@ -20,6 +21,13 @@ public class Event implements ABIObject {
 
     private final boolean anonymous;
 
+    private final TupleType nonIndexedParams;
+
+    private final int indexedCount;
+
+    /* the hash of the signature, or null if anonymous */
+    final byte[] topic0;
+
     public Event(String name, String paramsString, boolean[] indexed) throws ParseException {
         this(name, paramsString, indexed, false);
     }
@@ -36,6 +44,9 @@ public class Event implements ABIObject {
         }
         this.indexManifest = Arrays.copyOf(indexed, indexed.length);
         this.anonymous = anonymous;
+        this.nonIndexedParams = inputs.subTupleType(indexManifest, true);
+        this.indexedCount = inputs.elementTypes.length - nonIndexedParams.elementTypes.length;
+        this.topic0 = anonymous ? null : hashSignature(Function.defaultDigest());
     }
 
     public String signature() {
@@ -63,15 +74,127 @@ public class Event implements ABIObject {
     }
 
     public TupleType getNonIndexedParams() {
-        return inputs.subTupleType(indexManifest, true);
+        return nonIndexedParams;
+    }
+
+    /* the number of topics in a log emitted by this event */
+    int topicCount() {
+        return (anonymous ? 0 : 1) + indexedCount;
     }
 
     public byte[] topics0() {
-        return anonymous ? null : Function.newDefaultDigest().digest(Strings.decode(signature(), UTF_8));
+        return anonymous ? null : Arrays.copyOf(topic0, topic0.length);
     }
 
     public byte[] topics0(MessageDigest md) {
-        return anonymous ? null : md.digest(Strings.decode(signature(), UTF_8));
+        return anonymous ? null : hashSignature(md);
+    }
+
+    private byte[] hashSignature(MessageDigest md) {
+        md.reset();
+        return md.digest(Strings.decode(signature(), UTF_8));
+    }
+
+    public Tuple decodeArgs(byte[][] topics, byte[] data) {
+        return decodeArgs(topics, ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Decodes a log emitted by this event. Indexed params are read from the topics, the rest from the data, and all are
+     * returned in declaration order. Indexed params logged as their hash (dynamic types, arrays and tuples) are returned
+     * as the 32-byte topic. The first topic of a non-anonymous event is assumed to be this event's topic0 and is not
+     * checked.
+     *
+     * @param topics    the log's topics
+     * @param data  the log's data, from its position
+     * @return  the event's arguments
+     * @throws IllegalArgumentException if the number of topics is wrong or if decoding fails
+     */
+    public Tuple decodeArgs(byte[][] topics, ByteBuffer data) {
+        return decodeArgs(topics, data, ABIType.newUnitBuffer(), new int[indexManifest.length]);
+    }
+
+    /**
+     * Decodes a batch of logs emitted by this event, sharing scratch buffers among them.
+     *
+     * @param topics    the topics of each log
+     * @param data  the data of each log
+     * @return  the arguments of each log
+     * @see #decodeArgs(byte[][], ByteBuffer)
+     */
+    public Tuple[] decodeArgs(byte[][][] topics, byte[][] data) {
+        final int len = topics.length;
+        if(data.length != len) {
+            throw new IllegalArgumentException("topics.length != data.length: " + len + " != " + data.length);
+        }
+        final byte[] unitBuffer = ABIType.newUnitBuffer();
+        final int[] offsets = new int[indexManifest.length];
+        final Tuple[] out = new Tuple[len];
+        for (int i = 0; i < len; i++) {
+            out[i] = decodeArgs(topics[i], ByteBuffer.wrap(data[i]), unitBuffer, offsets);
+        }
+        return out;
+    }
+
+    private Tuple decodeArgs(byte[][] topics, ByteBuffer data, byte[] unitBuffer, int[] offsets) {
+        final int topicsStart = anonymous ? 0 : 1;
+        if(topics.length != topicsStart + indexedCount) {
+            throw new IllegalArgumentException("expected " + (topicsStart + indexedCount) + " topics, found " + topics.length);
+        }
+        final ABIType<?>[] types = inputs.elementTypes;
+        final boolean[] indexManifest = this.indexManifest;
+        final int len = types.length;
+        final Object[] args = new Object[len];
+        // data: heads, then tails in order, as in TupleType.decode
+        for (int i = 0; i < len; i++) {
+            if(!indexManifest[i]) {
+                final ABIType<?> type = types[i];
+                if(type.dynamic) {
+                    offsets[i] = CallEncoder.OFFSET_TYPE.decode(data, unitBuffer);
+                } else {
+                    args[i] = type.decode(data, unitBuffer);
+                }
+            }
+        }
+        if(nonIndexedParams.dynamic) {
+            for (int i = 0; i < len; i++) {
+                if(!indexManifest[i] && types[i].dynamic) {
+                    if(offsets[i] <= 0) {
+                        throw new IllegalArgumentException("offset not found");
+                    }
+                    args[i] = types[i].decode(data, unitBuffer);
+                }
+            }
+        }
+        // topics
+        for (int i = 0, t = topicsStart; i < len; i++) {
+            if(indexManifest[i]) {
+                final byte[] topic = topics[t++];
+                if(topic.length != UnitType.UNIT_LENGTH_BYTES) {
+                    throw new IllegalArgumentException("illegal topic length @ " + (t - 1) + ": " + topic.length);
+                }
+                final ABIType<?> type = types[i];
+                args[i] = isTopicValue(type)
+                        ? type.decode(ByteBuffer.wrap(topic), unitBuffer)
+                        : topic; // only the hash of the value is logged
+            }
+        }
+        return new Tuple(args);
+    }
+
+    /**
+     * @return  true if an indexed param of the given type is logged as its value; false if it is logged as its hash
+     */
+    static boolean isTopicValue(ABIType<?> type) {
+        if(type instanceof UnitType) {
+            return true;
+        }
+        if(type.dynamic || type.typeCode() != ABIType.TYPE_CODE_ARRAY) {
+            return false;
+        }
+        final ArrayType<?, ?> arrayType = (ArrayType<?, ?>) type;
+        return arrayType.elementType.typeCode() == ABIType.TYPE_CODE_BYTE
+                && (type.canonicalType.startsWith("bytes") || type.canonicalType.equals("function")); // not uint8[N]
     }
 
     @Override
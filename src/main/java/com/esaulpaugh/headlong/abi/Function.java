@@ -58,7 +58,7 @@ public class Function implements ABIObject, Serializable {
     private final TupleType inputTypes;
     private final TupleType outputTypes;
 
-    private final byte[] selector;
+    final byte[] selector;
     private final String hashAlgorithm;
 
     private final String stateMutability;
@@ -82,7 +82,7 @@ public class Function implements ABIObject, Serializable {
     }
 
     public Function(String signature, String outputs) throws ParseException {
-        this(Type.FUNCTION, signature, outputs, newDefaultDigest());
+        this(Type.FUNCTION, signature, outputs, defaultDigest());
     }
 
     public Function(String signature, String outputs, MessageDigest messageDigest) throws ParseException {
@@ -174,6 +174,12 @@ public class Function implements ABIObject, Serializable {
         return this;
     }
 
+    public Function encodeCall(Tuple args, ByteBuffer dest, EncoderContext ctx) {
+        inputTypes.validate(args);
+        CallEncoder.encodeCall(this, args, dest, ctx);
+        return this;
+    }
+
     public Tuple decodeReturn(byte[] returnVals) {
         return outputTypes.decode(returnVals);
     }
@@ -182,6 +188,30 @@ public class Function implements ABIObject, Serializable {
         return outputTypes.decode(returnVals);
     }
 
+    public Tuple decodeReturn(byte[] returnVals, DecoderContext ctx) {
+        return outputTypes.decode(ByteBuffer.wrap(returnVals), ctx);
+    }
+
+    public Tuple decodeReturn(ByteBuffer returnVals, DecoderContext ctx) {
+        return outputTypes.decode(returnVals, ctx);
+    }
+
+    public LazyTuple decodeReturnLazy(byte[] returnVals) {
+        return outputTypes.decodeLazy(returnVals);
+    }
+
+    public LazyTuple decodeReturnLazy(ByteBuffer returnVals) {
+        return outputTypes.decodeLazy(returnVals);
+    }
+
+    public PrimitiveTuple decodeReturnPrimitive(byte[] returnVals) {
+        return outputTypes.decodePrimitive(returnVals);
+    }
+
+    public PrimitiveTuple decodeReturnPrimitive(ByteBuffer returnVals) {
+        return outputTypes.decodePrimitive(returnVals);
+    }
+
     public int callLength(Tuple args) {
         return CallEncoder.calcEncodingLength(this, args, true);
     }
@@ -196,6 +226,20 @@ public class Function implements ABIObject, Serializable {
 
     public Tuple decodeCall(ByteBuffer abiBuffer) {
         byte[] unitBuffer = ABIType.newUnitBuffer();
+        checkSelector(abiBuffer, unitBuffer);
+        return inputTypes.decode(abiBuffer, unitBuffer);
+    }
+
+    public Tuple decodeCall(byte[] array, DecoderContext ctx) {
+        return decodeCall(ByteBuffer.wrap(array), ctx);
+    }
+
+    public Tuple decodeCall(ByteBuffer abiBuffer, DecoderContext ctx) {
+        checkSelector(abiBuffer, ctx.unitBuffer);
+        return inputTypes.decode(abiBuffer, ctx);
+    }
+
+    private void checkSelector(ByteBuffer abiBuffer, byte[] unitBuffer) {
         abiBuffer.get(unitBuffer, 0, SELECTOR_LEN);
         final byte[] selector = this.selector;
         for(int i = 0; i < SELECTOR_LEN; i++) {
@@ -204,13 +248,22 @@ public class Function implements ABIObject, Serializable {
                         + ", found: " + encode(unitBuffer, 0, SELECTOR_LEN, HEX));
             }
         }
-        return inputTypes.decode(abiBuffer, unitBuffer);
     }
 
     public static MessageDigest newDefaultDigest() {
         return new Keccak(256);
     }
 
+    private static final ThreadLocal<MessageDigest> DEFAULT_DIGEST = ThreadLocal.withInitial(Function::newDefaultDigest);
+
+    /**
+     * Returns this thread's reusable instance of the default digest, for hashing signatures without allocating a
+     * digest each time. The caller must reset it before use and must not let it escape.
+     */
+    static MessageDigest defaultDigest() {
+        return DEFAULT_DIGEST.get();
+    }
+
     @Override
     public int hashCode() {
         int result = Objects.hash(type, name, inputTypes, outputTypes, hashAlgorithm, stateMutability);
@@ -0,0 +1,175 @@
+package com.esaulpaugh.headlong.abi;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+
+/**
+ * An immutable two's complement 256-bit integer held in four {@code long}s, for use in place of {@link BigInteger} as
+ * the value of {@code int256} and other signed integer and {@code fixed} types. Reads and writes its big-endian encoding
+ * without intermediate arrays.
+ *
+ * @see UInt256
+ */
+public final class Int256 implements Comparable<Int256>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int BIT_LENGTH = 256;
+
+    public static final Int256 ZERO = new Int256(0L, 0L, 0L, 0L);
+    public static final Int256 MIN_VALUE = new Int256(Long.MIN_VALUE, 0L, 0L, 0L);
+    public static final Int256 MAX_VALUE = new Int256(Long.MAX_VALUE, -1L, -1L, -1L);
+
+    /* most significant first */
+    final long w0, w1, w2, w3;
+
+    public Int256(long w0, long w1, long w2, long w3) {
+        this.w0 = w0;
+        this.w1 = w1;
+        this.w2 = w2;
+        this.w3 = w3;
+    }
+
+    public static Int256 valueOf(long val) {
+        final long ext = val >> 63; // sign extension
+        return new Int256(ext, ext, ext, val);
+    }
+
+    public static Int256 valueOf(BigInteger val) {
+        if(val.bitLength() > BIT_LENGTH - 1) {
+            throw new IllegalArgumentException("exceeds bit limit: " + val.bitLength() + " > " + (BIT_LENGTH - 1));
+        }
+        return new Int256(
+                val.shiftRight(192).longValue(),
+                val.shiftRight(128).longValue(),
+                val.shiftRight(64).longValue(),
+                val.longValue()
+        );
+    }
+
+    public static Int256 read(byte[] buffer, int i) {
+        return new Int256(
+                UnitType.getLong(buffer, i),
+                UnitType.getLong(buffer, i + 8),
+                UnitType.getLong(buffer, i + 16),
+                UnitType.getLong(buffer, i + 24)
+        );
+    }
+
+    public static Int256 read(ByteBuffer bb) {
+        return new Int256(bb.getLong(), bb.getLong(), bb.getLong(), bb.getLong());
+    }
+
+    /**
+     * Writes the 32-byte big-endian encoding at the given index.
+     *
+     * @param buffer    the destination
+     * @param i the index at which to write
+     * @return  the index after the last byte written
+     */
+    public int write(byte[] buffer, int i) {
+        UnitType.putLong(w0, buffer, i);
+        UnitType.putLong(w1, buffer, i + 8);
+        UnitType.putLong(w2, buffer, i + 16);
+        UnitType.putLong(w3, buffer, i + 24);
+        return i + UNIT_LENGTH_BYTES;
+    }
+
+    public void write(ByteBuffer bb) {
+        bb.putLong(w0).putLong(w1).putLong(w2).putLong(w3);
+    }
+
+    public int signum() {
+        return w0 < 0 ? -1 : (w0 | w1 | w2 | w3) == 0 ? 0 : 1;
+    }
+
+    /**
+     * @return  the bit length excluding the sign bit, as by {@link BigInteger#bitLength()}
+     */
+    public int bitLength() {
+        return bitLength(w0, w1, w2, w3, w0 >> 63);
+    }
+
+    /**
+     * @return  the low 64 bits
+     */
+    public long longValue() {
+        return w3;
+    }
+
+    public long longValueExact() {
+        if(bitLength() >= Long.SIZE) {
+            throw new ArithmeticException("Int256 out of long range");
+        }
+        return w3;
+    }
+
+    public BigInteger toBigInteger() {
+        byte[] bytes = new byte[UNIT_LENGTH_BYTES];
+        write(bytes, 0);
+        return new BigInteger(bytes);
+    }
+
+    @Override
+    public int compareTo(Int256 o) {
+        int c = Long.compare(w0, o.w0);
+        if(c != 0) return c;
+        c = Long.compareUnsigned(w1, o.w1);
+        if(c != 0) return c;
+        c = Long.compareUnsigned(w2, o.w2);
+        if(c != 0) return c;
+        return Long.compareUnsigned(w3, o.w3);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode(w0, w1, w2, w3);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Int256 other = (Int256) o;
+        return w0 == other.w0 && w1 == other.w1 && w2 == other.w2 && w3 == other.w3;
+    }
+
+    @Override
+    public String toString() {
+        return toBigInteger().toString();
+    }
+
+    /**
+     * @param fill  0 to measure as unsigned, or the sign extension (0 or -1) to measure as signed
+     */
+    static int bitLength(long w0, long w1, long w2, long w3, long fill) {
+        if((w0 ^ fill) != 0) return 256 - Long.numberOfLeadingZeros(w0 ^ fill);
+        if((w1 ^ fill) != 0) return 192 - Long.numberOfLeadingZeros(w1 ^ fill);
+        if((w2 ^ fill) != 0) return 128 - Long.numberOfLeadingZeros(w2 ^ fill);
+        return 64 - Long.numberOfLeadingZeros(w3 ^ fill);
+    }
+
+    static int hashCode(long w0, long w1, long w2, long w3) {
+        int result = Long.hashCode(w0);
+        result = 31 * result + Long.hashCode(w1);
+        result = 31 * result + Long.hashCode(w2);
+        return 31 * result + Long.hashCode(w3);
+    }
+
+    /**
+     * @return  byte {@code j} of the 32-byte big-endian encoding
+     */
+    static byte byteAt(long w0, long w1, long w2, long w3, int j) {
+        final long word;
+        switch (j >>> 3) {
+        case 0: word = w0; break;
+        case 1: word = w1; break;
+        case 2: word = w2; break;
+        default: word = w3;
+        }
+        return (byte) (word >>> ((7 - (j & 7)) << 3));
+    }
+}
@@ -2,7 +2,6 @@ package com.esaulpaugh.headlong.abi;
 
 import com.esaulpaugh.headlong.abi.util.ClassNames;
 
-import java.math.BigInteger;
 import java.nio.ByteBuffer;
 
 class IntType extends UnitType<Integer> {
@@ -47,8 +46,6 @@ class IntType extends UnitType<Integer> {
     @Override
     Integer decode(ByteBuffer bb, byte[] unitBuffer) {
         bb.get(unitBuffer, 0, UNIT_LENGTH_BYTES);
-        BigInteger bi = new BigInteger(unitBuffer);
-        validateBigIntBitLen(bi);
-        return bi.intValue();
+        return (int) decodeLong(unitBuffer, false);
     }
 }
@@ -0,0 +1,131 @@
+package com.esaulpaugh.headlong.abi;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.esaulpaugh.headlong.abi.CallEncoder.OFFSET_LENGTH_BYTES;
+
+/**
+ * A read-only view of an ABI-encoded tuple which decodes each element from the backing buffer on first access. The
+ * head and the tail offsets are validated when the view is created; element contents are not. Unlike
+ * {@link TupleType#decode(ByteBuffer)}, which reads tails sequentially, the view locates each tail by its offset, so
+ * offsets must be canonical: the first equal to the head length, the rest increasing. Decoded elements are
+ * cached and safely published, so the view may be shared among threads; racing threads may each decode an element,
+ * but all of them return the first result cached. The backing buffer must not be modified while the view is in use.
+ * <p>
+ * The view is not a {@link java.util.List}. It equals only another {@link LazyTuple} with deeply equal elements; to
+ * compare against a {@link Tuple}, use {@link #toTuple()}.
+ *
+ * @see TupleType#decodeLazy(ByteBuffer)
+ */
+public final class LazyTuple {
+
+    private final TupleType tupleType;
+    private final ByteBuffer buffer;
+    /* absolute index into buffer of each element's encoding (its head if static, its tail if dynamic) */
+    private final int[] positions;
+    private final AtomicReferenceArray<Object> decoded;
+
+    LazyTuple(TupleType tupleType, ByteBuffer bb) {
+        final ABIType<?>[] elementTypes = tupleType.elementTypes;
+        final EncodingPlan plan = tupleType.encodingPlan();
+        final int start = bb.position();
+        final int available = bb.limit() - start;
+        if(plan.headLength > available) {
+            throw new IllegalArgumentException("tuple head exceeds buffer: " + plan.headLength + " > " + available);
+        }
+        final int len = elementTypes.length;
+        final int[] positions = new int[len];
+        final ByteBuffer head = bb.duplicate();
+        final byte[] unitBuffer = ABIType.newUnitBuffer();
+        int prevOffset = -1;
+        for (int i = 0; i < len; i++) {
+            final int headOffset = plan.headOffsets[i];
+            if(elementTypes[i].dynamic) {
+                head.position(start + headOffset);
+                final int offset = CallEncoder.OFFSET_TYPE.decode(head, unitBuffer);
+                checkOffset(i, offset, prevOffset, plan.headLength, available);
+                positions[i] = start + offset;
+                prevOffset = offset;
+            } else {
+                positions[i] = start + headOffset;
+            }
+        }
+        this.tupleType = tupleType;
+        this.buffer = bb.duplicate();
+        this.positions = positions;
+        this.decoded = new AtomicReferenceArray<>(len);
+    }
+
+    /* OPERATES IN STRICT MODE: tails must be in order, the first starting immediately after the head */
+    private static void checkOffset(int i, int offset, int prevOffset, int headLength, int available) {
+        if(prevOffset < 0) {
+            if(offset != headLength) {
+                throw new IllegalArgumentException("illegal offset @ " + i + ": expected " + headLength + ", found " + offset);
+            }
+        } else if(offset < prevOffset + OFFSET_LENGTH_BYTES) {
+            throw new IllegalArgumentException("illegal offset @ " + i + ": " + offset + " < " + (prevOffset + OFFSET_LENGTH_BYTES));
+        }
+        if(offset > available - OFFSET_LENGTH_BYTES) {
+            throw new IllegalArgumentException("offset @ " + i + " exceeds buffer: " + offset + " > " + (available - OFFSET_LENGTH_BYTES));
+        }
+    }
+
+    public TupleType getType() {
+        return tupleType;
+    }
+
+    /**
+     * Decodes the element at the given index if it has not been decoded already.
+     *
+     * @param index the element index
+     * @return  the decoded element
+     * @throws IllegalArgumentException if the element's encoding is malformed
+     */
+    public Object get(int index) {
+        final Object element = decoded.get(index);
+        if(element != null) {
+            return element;
+        }
+        final ByteBuffer bb = buffer.duplicate();
+        bb.position(positions[index]);
+        final Object fresh = tupleType.elementTypes[index].decode(bb, ABIType.newUnitBuffer());
+        return decoded.compareAndSet(index, null, fresh) ? fresh : decoded.get(index);
+    }
+
+    public int size() {
+        return positions.length;
+    }
+
+    /**
+     * Decodes all remaining elements.
+     *
+     * @return  an equivalent, fully materialized {@link Tuple}
+     */
+    public Tuple toTuple() {
+        final int len = positions.length;
+        final Object[] elements = new Object[len];
+        for (int i = 0; i < len; i++) {
+            elements[i] = get(i);
+        }
+        return new Tuple(elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return toTuple().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return toTuple().equals(((LazyTuple) o).toTuple());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.deepToString(toTuple().elements);
+    }
+}
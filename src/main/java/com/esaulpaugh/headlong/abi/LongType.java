@@ -2,7 +2,6 @@ package com.esaulpaugh.headlong.abi;
 
 import com.esaulpaugh.headlong.abi.util.ClassNames;
 
-import java.math.BigInteger;
 import java.nio.ByteBuffer;
 
 class LongType extends UnitType<Long> {
@@ -47,8 +46,6 @@ class LongType extends UnitType<Long> {
     @Override
     Long decode(ByteBuffer bb, byte[] unitBuffer) {
         bb.get(unitBuffer, 0, UNIT_LENGTH_BYTES);
-        BigInteger bi = new BigInteger(unitBuffer);
-        validateBigIntBitLen(bi);
-        return bi.longValue();
+        return decodeLong(unitBuffer, false);
     }
 }
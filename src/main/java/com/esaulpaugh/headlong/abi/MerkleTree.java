@@ -0,0 +1,271 @@
+package com.esaulpaugh.headlong.abi;
+
+import com.joemelsha.crypto.hash.Keccak256;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A sorted-pair Keccak-256 Merkle tree, as verified by OpenZeppelin's {@code MerkleProof}: each parent is the hash of
+ * its two children in ascending byte order, and a node without a sibling is carried up to the next level unchanged.
+ * All nodes are stored in one contiguous array of 32-byte words, the leaves first and the root last. Each level is
+ * hashed in parallel on a fork-join pool.
+ */
+public final class MerkleTree {
+
+    public static final int NODE_LEN = 32;
+
+    /* the number of node hashes below which a range is not split further */
+    private static final int PARALLEL_THRESHOLD = 2048;
+
+    private final byte[] nodes;
+    private final int[] levelStarts; // node index of the first node of each level; the last entry is the node count
+
+    private MerkleTree(byte[] nodes, int[] levelStarts) {
+        this.nodes = nodes;
+        this.levelStarts = levelStarts;
+    }
+
+    /**
+     * Hashes each entry's packed encoding, i.e. {@code keccak256(abi.encodePacked(...))}, and builds a tree of the
+     * resulting leaves.
+     */
+    public static MerkleTree ofPacked(TupleType leafType, Tuple[] entries) {
+        return ofPacked(leafType, entries, ForkJoinPool.commonPool());
+    }
+
+    public static MerkleTree ofPacked(TupleType leafType, Tuple[] entries, ForkJoinPool pool) {
+        final int[] levelStarts = levelStarts(entries.length);
+        final byte[] nodes = new byte[levelStarts[levelStarts.length - 1] * NODE_LEN];
+        run(pool, entries.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                leafType.hashPacked(entries[i], nodes, i * NODE_LEN);
+            }
+        });
+        return build(nodes, levelStarts, pool);
+    }
+
+    /**
+     * @param leaves    the leaf hashes, concatenated
+     * @return  the tree
+     */
+    public static MerkleTree of(byte[] leaves) {
+        return of(leaves, ForkJoinPool.commonPool());
+    }
+
+    public static MerkleTree of(byte[] leaves, ForkJoinPool pool) {
+        if(leaves.length % NODE_LEN != 0) {
+            throw new IllegalArgumentException("leaves length not a multiple of " + NODE_LEN + ": " + leaves.length);
+        }
+        final int[] levelStarts = levelStarts(leaves.length / NODE_LEN);
+        final byte[] nodes = new byte[levelStarts[levelStarts.length - 1] * NODE_LEN];
+        System.arraycopy(leaves, 0, nodes, 0, leaves.length);
+        return build(nodes, levelStarts, pool);
+    }
+
+    private static int[] levelStarts(int leafCount) {
+        if(leafCount <= 0) {
+            throw new IllegalArgumentException("no leaves");
+        }
+        int depth = 0;
+        for (int n = leafCount; n > 1; n = (n + 1) >>> 1) {
+            depth++;
+        }
+        final int[] levelStarts = new int[depth + 2];
+        long start = 0;
+        int n = leafCount;
+        for (int level = 0; level <= depth; level++) {
+            levelStarts[level] = (int) start;
+            start += n;
+            n = (n + 1) >>> 1;
+        }
+        if(start * NODE_LEN > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many leaves: " + leafCount);
+        }
+        levelStarts[depth + 1] = (int) start;
+        return levelStarts;
+    }
+
+    private static MerkleTree build(byte[] nodes, int[] levelStarts, ForkJoinPool pool) {
+        final int depth = levelStarts.length - 2;
+        for (int level = 0; level < depth; level++) {
+            final int in = levelStarts[level];
+            final int size = levelStarts[level + 1] - in;
+            final int out = levelStarts[level + 1];
+            final int pairs = size >>> 1;
+            run(pool, pairs, (from, to) -> {
+                final byte[] scratch = new byte[NODE_LEN * 2];
+                for (int p = from; p < to; p++) {
+                    final int left = (in + (p << 1)) * NODE_LEN;
+                    hashPair(nodes, left, nodes, left + NODE_LEN, scratch, nodes, (out + p) * NODE_LEN);
+                }
+            });
+            if((size & 1) != 0) { // carry the unpaired node up
+                System.arraycopy(nodes, (in + size - 1) * NODE_LEN, nodes, (out + pairs) * NODE_LEN, NODE_LEN);
+            }
+        }
+        return new MerkleTree(nodes, levelStarts);
+    }
+
+    public int leafCount() {
+        return levelStarts[1];
+    }
+
+    public int depth() {
+        return levelStarts.length - 2;
+    }
+
+    public byte[] root() {
+        return Arrays.copyOfRange(nodes, nodes.length - NODE_LEN, nodes.length);
+    }
+
+    public byte[] leaf(int index) {
+        checkIndex(index);
+        return Arrays.copyOfRange(nodes, index * NODE_LEN, (index + 1) * NODE_LEN);
+    }
+
+    /**
+     * Returns the siblings on the path from a leaf to the root, concatenated. Levels at which the path has no sibling
+     * contribute nothing, so the proof is exactly as long as {@link #verify(byte[], byte[], byte[])} needs.
+     *
+     * @param index the index of the leaf
+     * @return  the proof
+     */
+    public byte[] proof(int index) {
+        checkIndex(index);
+        final int depth = depth();
+        int len = 0;
+        for (int level = 0, i = index; level < depth; level++, i >>>= 1) {
+            if((i ^ 1) < levelStarts[level + 1] - levelStarts[level]) {
+                len += NODE_LEN;
+            }
+        }
+        final byte[] proof = new byte[len];
+        int pos = 0;
+        for (int level = 0, i = index; level < depth; level++, i >>>= 1) {
+            final int sibling = i ^ 1;
+            if(sibling < levelStarts[level + 1] - levelStarts[level]) {
+                System.arraycopy(nodes, (levelStarts[level] + sibling) * NODE_LEN, proof, pos, NODE_LEN);
+                pos += NODE_LEN;
+            }
+        }
+        return proof;
+    }
+
+    private void checkIndex(int index) {
+        if(index < 0 || index >= levelStarts[1]) {
+            throw new IllegalArgumentException("leaf index out of bounds: " + index);
+        }
+    }
+
+    /**
+     * @param root  the expected root
+     * @param leaf  the 32-byte leaf hash
+     * @param proof the concatenated siblings, as returned by {@link #proof(int)}
+     * @return  true if the proof leads from the leaf to the root
+     */
+    public static boolean verify(byte[] root, byte[] leaf, byte[] proof) {
+        if(leaf.length != NODE_LEN) {
+            throw new IllegalArgumentException("leaf length != " + NODE_LEN + ": " + leaf.length);
+        }
+        return verify(root, leaf, 0, proof, new byte[NODE_LEN * 2], new byte[NODE_LEN]);
+    }
+
+    /**
+     * Verifies many proofs against one root, reusing scratch space among them.
+     *
+     * @param root  the expected root
+     * @param leaves    the 32-byte leaf hashes, concatenated
+     * @param proofs    the proof of each leaf
+     * @return  the index of the first proof that fails, or -1 if all succeed
+     */
+    public static int verifyAll(byte[] root, byte[] leaves, byte[][] proofs) {
+        if(leaves.length != proofs.length * NODE_LEN) {
+            throw new IllegalArgumentException("leaves length != " + NODE_LEN + " * proofs.length: " + leaves.length + " != " + NODE_LEN * proofs.length);
+        }
+        final byte[] scratch = new byte[NODE_LEN * 2];
+        final byte[] computed = new byte[NODE_LEN];
+        for (int i = 0; i < proofs.length; i++) {
+            if(!verify(root, leaves, i * NODE_LEN, proofs[i], scratch, computed)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean verify(byte[] root, byte[] leaf, int leafOffset, byte[] proof, byte[] scratch, byte[] computed) {
+        if(root.length != NODE_LEN) {
+            throw new IllegalArgumentException("root length != " + NODE_LEN + ": " + root.length);
+        }
+        if(proof.length % NODE_LEN != 0) {
+            throw new IllegalArgumentException("proof length not a multiple of " + NODE_LEN + ": " + proof.length);
+        }
+        System.arraycopy(leaf, leafOffset, computed, 0, NODE_LEN);
+        for (int pos = 0; pos < proof.length; pos += NODE_LEN) {
+            hashPair(computed, 0, proof, pos, scratch, computed, 0);
+        }
+        return Arrays.equals(root, computed);
+    }
+
+    /* hashes the two nodes in ascending order; dest may overlap either input */
+    private static void hashPair(byte[] a, int aOff, byte[] b, int bOff, byte[] scratch, byte[] dest, int destOff) {
+        if(compare(a, aOff, b, bOff) <= 0) {
+            System.arraycopy(a, aOff, scratch, 0, NODE_LEN);
+            System.arraycopy(b, bOff, scratch, NODE_LEN, NODE_LEN);
+        } else {
+            System.arraycopy(b, bOff, scratch, 0, NODE_LEN);
+            System.arraycopy(a, aOff, scratch, NODE_LEN, NODE_LEN);
+        }
+        Keccak256.hash(scratch, 0, NODE_LEN * 2, dest, destOff);
+    }
+
+    private static int compare(byte[] a, int aOff, byte[] b, int bOff) {
+        for (int i = 0; i < NODE_LEN; i++) {
+            final int x = a[aOff + i] & 0xFF;
+            final int y = b[bOff + i] & 0xFF;
+            if(x != y) {
+                return x - y;
+            }
+        }
+        return 0;
+    }
+
+    // ------------------------ fork-join
+
+    private interface RangeOp {
+        void apply(int from, int to);
+    }
+
+    private static void run(ForkJoinPool pool, int n, RangeOp op) {
+        if(n <= PARALLEL_THRESHOLD) {
+            op.apply(0, n);
+        } else {
+            pool.invoke(new RangeTask(op, 0, n));
+        }
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 3380291841764394510L;
+
+        private final transient RangeOp op;
+        private final int from, to;
+
+        RangeTask(RangeOp op, int from, int to) {
+            this.op = op;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from <= PARALLEL_THRESHOLD) {
+                op.apply(from, to);
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(op, from, mid), new RangeTask(op, mid, to));
+        }
+    }
+}
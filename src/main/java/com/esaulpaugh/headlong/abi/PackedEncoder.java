@@ -7,6 +7,7 @@ import com.esaulpaugh.headlong.util.Strings;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 
 import static com.esaulpaugh.headlong.abi.ABIType.*;
 
@@ -31,8 +32,20 @@ class PackedEncoder {
         case TYPE_CODE_BYTE:
         case TYPE_CODE_INT:
         case TYPE_CODE_LONG: insertInt(((Number) value).longValue(), type.byteLengthPacked(value), dest); break;
-        case TYPE_CODE_BIG_INTEGER: insertInt(((BigInteger) value), type.byteLengthPacked(value), dest); break;
-        case TYPE_CODE_BIG_DECIMAL: insertInt(((BigDecimal) value).unscaledValue(), type.byteLengthPacked(value), dest); break;
+        case TYPE_CODE_BIG_INTEGER:
+            if(value instanceof BigInteger) {
+                insertInt(((BigInteger) value), ((UnitType<?>) type).unsigned, type.byteLengthPacked(value), dest);
+            } else {
+                insertWord256(value, type.byteLengthPacked(value), dest);
+            }
+            break;
+        case TYPE_CODE_BIG_DECIMAL:
+            if(value instanceof BigDecimal) {
+                insertInt(((BigDecimal) value).unscaledValue(), ((UnitType<?>) type).unsigned, type.byteLengthPacked(value), dest);
+            } else {
+                insertWord256(value, type.byteLengthPacked(value), dest);
+            }
+            break;
         case TYPE_CODE_ARRAY:
             encodeArray((ArrayType<ABIType<?>, ?>) type, value, dest); break;
         case TYPE_CODE_TUPLE:
@@ -51,8 +64,8 @@ class PackedEncoder {
             insertBytes(arr, dest); break;
         case TYPE_CODE_INT: insertInts((int[]) value, elementType.byteLengthPacked(value), dest); break;
         case TYPE_CODE_LONG: insertLongs((long[]) value, elementType.byteLengthPacked(value), dest); break;
-        case TYPE_CODE_BIG_INTEGER: insertBigIntegers((BigInteger[]) value, elementType.byteLengthPacked(value), dest); break;
-        case TYPE_CODE_BIG_DECIMAL: insertBigDecimals((BigDecimal[]) value, elementType.byteLengthPacked(value), dest); break;
+        case TYPE_CODE_BIG_INTEGER: insertBigIntegers((BigInteger[]) value, ((UnitType<?>) elementType).unsigned, elementType.byteLengthPacked(value), dest); break;
+        case TYPE_CODE_BIG_DECIMAL: insertBigDecimals((BigDecimal[]) value, ((UnitType<?>) elementType).unsigned, elementType.byteLengthPacked(value), dest); break;
         case TYPE_CODE_ARRAY:
         case TYPE_CODE_TUPLE:
             for(Object e : (Object[]) value) {
@@ -66,10 +79,8 @@ class PackedEncoder {
     // ------------------------
 
     private static void insertBooleans(boolean[] bools, ByteBuffer dest) {
-        final int idx = dest.position();
-        final int len = bools.length;
-        for (int i = idx; i < len; i++) {
-            dest.put(bools[i] ? (byte) 1 : (byte) 0);
+        for (boolean b : bools) {
+            dest.put(b ? (byte) 1 : (byte) 0);
         }
     }
 
@@ -89,15 +100,15 @@ class PackedEncoder {
         }
     }
 
-    private static void insertBigIntegers(BigInteger[] bigInts, int byteLen, ByteBuffer dest) {
+    private static void insertBigIntegers(BigInteger[] bigInts, boolean unsigned, int byteLen, ByteBuffer dest) {
         for (BigInteger e : bigInts) {
-            insertInt(e, byteLen, dest);
+            insertInt(e, unsigned, byteLen, dest);
         }
     }
 
-    private static void insertBigDecimals(BigDecimal[] bigDecs, int byteLen, ByteBuffer dest) {
+    private static void insertBigDecimals(BigDecimal[] bigDecs, boolean unsigned, int byteLen, ByteBuffer dest) {
         for (BigDecimal e : bigDecs) {
-            insertInt(e.unscaledValue(), byteLen, dest);
+            insertInt(e.unscaledValue(), unsigned, byteLen, dest);
         }
     }
 
@@ -109,7 +120,10 @@ class PackedEncoder {
 
     private static void insertInt(long value, int byteLen, ByteBuffer dest) {
         if(value >= 0) {
-            dest.position(dest.position() + (byteLen - Integers.len(value)));
+            final int paddingBytes = byteLen - Integers.len(value);
+            for (int i = 0; i < paddingBytes; i++) {
+                dest.put((byte) 0);
+            }
             Integers.putLong(value, dest);
         } else {
             final int paddingBytes = byteLen - BizarroIntegers.len(value);
@@ -120,9 +134,16 @@ class PackedEncoder {
         }
     }
 
-    private static void insertInt(BigInteger bigGuy, int byteLen, ByteBuffer dest) {
+    private static void insertInt(BigInteger bigGuy, boolean unsigned, int byteLen, ByteBuffer dest) {
         byte[] arr = bigGuy.toByteArray();
         final int paddingBytes = byteLen - arr.length;
+        if(paddingBytes < 0) {
+            if(!unsigned || paddingBytes < -1) {
+                throw new IllegalArgumentException("exceeds bit limit: " + bigGuy.bitLength() + " > " + (unsigned ? byteLen * Byte.SIZE : byteLen * Byte.SIZE - 1));
+            }
+            dest.put(arr, 1, byteLen); // full-width unsigned value; skip the sign byte
+            return;
+        }
         if(bigGuy.signum() == -1) {
             for (int i = 0; i < paddingBytes; i++) {
                 dest.put(CallEncoder.NEGATIVE_ONE_BYTE);
@@ -134,4 +155,126 @@ class PackedEncoder {
         }
         dest.put(arr);
     }
+
+    /* writes the low byteLen bytes of the 32-byte encoding */
+    private static void insertWord256(Object word, int byteLen, ByteBuffer dest) {
+        final long w0, w1, w2, w3;
+        if(word instanceof UInt256) {
+            final UInt256 u = (UInt256) word;
+            w0 = u.w0; w1 = u.w1; w2 = u.w2; w3 = u.w3;
+        } else {
+            final Int256 s = (Int256) word;
+            w0 = s.w0; w1 = s.w1; w2 = s.w2; w3 = s.w3;
+        }
+        for (int j = UnitType.UNIT_LENGTH_BYTES - byteLen; j < UnitType.UNIT_LENGTH_BYTES; j++) {
+            dest.put(Int256.byteAt(w0, w1, w2, w3, j));
+        }
+    }
+
+    // ------------------------ digest sink
+
+    /* large enough for any scalar; one Keccak-256 block */
+    private static final int SCRATCH_LEN = 136;
+
+    private static final ThreadLocal<ByteBuffer> SCRATCH = ThreadLocal.withInitial(() -> ByteBuffer.allocate(SCRATCH_LEN));
+
+    /**
+     * Feeds the packed encoding to a digest without materializing it. Scalars are encoded into a small per-thread
+     * scratch buffer which is flushed to the digest when full; byte arrays and strings go to the digest directly.
+     */
+    static void digestTuple(TupleType tupleType, Tuple tuple, MessageDigest md) {
+        final ByteBuffer scratch = SCRATCH.get();
+        scratch.clear();
+        digestTuple(tupleType, tuple, md, scratch);
+        flush(md, scratch);
+    }
+
+    private static void digestTuple(TupleType tupleType, Tuple tuple, MessageDigest md, ByteBuffer scratch) {
+        final ABIType<?>[] types = tupleType.elementTypes;
+        final Object[] values = tuple.elements;
+        final int len = types.length;
+        for (int i = 0; i < len; i++) {
+            digest(types[i], values[i], md, scratch);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void digest(ABIType<?> type, Object value, MessageDigest md, ByteBuffer scratch) {
+        switch (type.typeCode()) {
+        case TYPE_CODE_ARRAY: digestArray((ArrayType<ABIType<?>, ?>) type, value, md, scratch); break;
+        case TYPE_CODE_TUPLE: digestTuple((TupleType) type, (Tuple) value, md, scratch); break;
+        default:
+            reserveWord(md, scratch);
+            encode(type, value, scratch);
+        }
+    }
+
+    private static void digestArray(ArrayType<ABIType<?>, ?> arrayType, Object value, MessageDigest md, ByteBuffer scratch) {
+        final ABIType<?> elementType = arrayType.elementType;
+        switch (elementType.typeCode()) {
+        case TYPE_CODE_BOOLEAN:
+            for (boolean b : (boolean[]) value) {
+                reserveWord(md, scratch);
+                insertBool(b, scratch);
+            }
+            break;
+        case TYPE_CODE_BYTE:
+            flush(md, scratch);
+            md.update(arrayType.isString ? ((String) value).getBytes(Strings.CHARSET_UTF_8) : (byte[]) value);
+            break;
+        case TYPE_CODE_INT: {
+            final int byteLen = elementType.byteLengthPacked(value);
+            for (int e : (int[]) value) {
+                reserveWord(md, scratch);
+                insertInt(e, byteLen, scratch);
+            }
+            break;
+        }
+        case TYPE_CODE_LONG: {
+            final int byteLen = elementType.byteLengthPacked(value);
+            for (long e : (long[]) value) {
+                reserveWord(md, scratch);
+                insertInt(e, byteLen, scratch);
+            }
+            break;
+        }
+        case TYPE_CODE_BIG_INTEGER: {
+            final boolean unsigned = ((UnitType<?>) elementType).unsigned;
+            final int byteLen = elementType.byteLengthPacked(value);
+            for (BigInteger e : (BigInteger[]) value) {
+                reserveWord(md, scratch);
+                insertInt(e, unsigned, byteLen, scratch);
+            }
+            break;
+        }
+        case TYPE_CODE_BIG_DECIMAL: {
+            final boolean unsigned = ((UnitType<?>) elementType).unsigned;
+            final int byteLen = elementType.byteLengthPacked(value);
+            for (BigDecimal e : (BigDecimal[]) value) {
+                reserveWord(md, scratch);
+                insertInt(e.unscaledValue(), unsigned, byteLen, scratch);
+            }
+            break;
+        }
+        case TYPE_CODE_ARRAY:
+        case TYPE_CODE_TUPLE:
+            for(Object e : (Object[]) value) {
+                digest(elementType, e, md, scratch);
+            }
+            break;
+        default: throw new IllegalArgumentException("unexpected array type: " + arrayType.toString());
+        }
+    }
+
+    /* makes room in the scratch buffer for one scalar of up to 32 bytes */
+    private static void reserveWord(MessageDigest md, ByteBuffer scratch) {
+        if(scratch.remaining() < UnitType.UNIT_LENGTH_BYTES) {
+            flush(md, scratch);
+        }
+    }
+
+    private static void flush(MessageDigest md, ByteBuffer scratch) {
+        md.update(scratch.array(), 0, scratch.position());
+        scratch.clear();
+    }
 }
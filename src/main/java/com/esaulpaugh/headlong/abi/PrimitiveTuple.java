@@ -0,0 +1,250 @@
+package com.esaulpaugh.headlong.abi;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.esaulpaugh.headlong.abi.ABIType.*;
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+
+/**
+ * A decoded tuple which stores its fixed-width scalar elements unboxed: the values of {@code bool} and integer
+ * elements up to 64 bits in a {@code long[]}, and the raw 32-byte words of all unit elements (including {@code uint256},
+ * {@code address} and {@code fixed}) and of {@code bytes1} through {@code bytes32} in a single slab. All other elements
+ * are decoded eagerly as by {@link TupleType#decode(ByteBuffer)}. The typed accessors ({@link #getLong(int)},
+ * {@link #getBoolean(int)}, {@link #getBytes32(int, byte[], int)}, etc.) do not allocate; {@link #get(int)} boxes or
+ * materializes on each call.
+ * <p>
+ * The tuple is not a {@link java.util.List}. It equals only another {@link PrimitiveTuple} with deeply equal elements;
+ * to compare against a {@link Tuple}, use {@link #toTuple()}.
+ *
+ * @see TupleType#decodePrimitive(ByteBuffer)
+ */
+public final class PrimitiveTuple {
+
+    private final TupleType tupleType;
+    private final long[] longs;
+    /* the word of element i, if any, is at i * UNIT_LENGTH_BYTES */
+    private final byte[] words;
+    /* null for elements stored in longs and words */
+    private final Object[] objects;
+
+    private PrimitiveTuple(TupleType tupleType, long[] longs, byte[] words, Object[] objects) {
+        this.tupleType = tupleType;
+        this.longs = longs;
+        this.words = words;
+        this.objects = objects;
+    }
+
+    static PrimitiveTuple decode(TupleType tupleType, ByteBuffer bb) {
+        final ABIType<?>[] elementTypes = tupleType.elementTypes;
+        final int len = elementTypes.length;
+        final long[] longs = new long[len];
+        final byte[] words = new byte[len * UNIT_LENGTH_BYTES];
+        final Object[] objects = new Object[len];
+        final int[] offsets = new int[len];
+        final byte[] unitBuffer = ABIType.newUnitBuffer();
+        for (int i = 0; i < len; i++) {
+            final ABIType<?> type = elementTypes[i];
+            if(type.dynamic) {
+                offsets[i] = CallEncoder.OFFSET_TYPE.decode(bb, unitBuffer);
+            } else if(isWord(type)) {
+                final int idx = i * UNIT_LENGTH_BYTES;
+                bb.get(words, idx, UNIT_LENGTH_BYTES);
+                if(type instanceof UnitType) {
+                    longs[i] = ((UnitType<?>) type).decodeWord(words, idx);
+                }
+            } else {
+                objects[i] = type.decode(bb, unitBuffer);
+            }
+        }
+        if(tupleType.dynamic) {
+            TupleType.decodeTails(bb, elementTypes, offsets, unitBuffer, objects);
+        }
+        return new PrimitiveTuple(tupleType, longs, words, objects);
+    }
+
+    /* unit types and bytes1 through bytes32 */
+    private static boolean isWord(ABIType<?> type) {
+        if(type instanceof UnitType) {
+            return true;
+        }
+        if(type.typeCode() == TYPE_CODE_ARRAY) {
+            final ArrayType<?, ?> arrayType = (ArrayType<?, ?>) type;
+            return arrayType.elementType.typeCode() == TYPE_CODE_BYTE
+                    && !arrayType.isString
+                    && arrayType.length <= UNIT_LENGTH_BYTES;
+        }
+        return false;
+    }
+
+    public TupleType getType() {
+        return tupleType;
+    }
+
+    public boolean getBoolean(int index) {
+        checkTypeCode(index, TYPE_CODE_BOOLEAN);
+        return longs[index] != 0;
+    }
+
+    public int getInt(int index) {
+        final long val = getLong(index);
+        if((int) val != val) {
+            throw new ArithmeticException("value @ " + index + " does not fit in an int");
+        }
+        return (int) val;
+    }
+
+    /**
+     * Returns the value of an integer element. For elements wider than 64 bits, succeeds only if the value fits.
+     *
+     * @param index the element index
+     * @return  the value
+     * @throws ArithmeticException  if the value does not fit in a {@code long}
+     */
+    public long getLong(int index) {
+        final ABIType<?> type = tupleType.elementTypes[index];
+        switch (objects[index] == null ? type.typeCode() : TYPE_CODE_ARRAY) {
+        case TYPE_CODE_BYTE:
+        case TYPE_CODE_INT:
+        case TYPE_CODE_LONG: return longs[index];
+        case TYPE_CODE_BIG_INTEGER:
+            if(UnitType.wordBitLength(words, index * UNIT_LENGTH_BYTES, ((UnitType<?>) type).unsigned) >= Long.SIZE) {
+                throw new ArithmeticException("value @ " + index + " does not fit in a long");
+            }
+            return longs[index];
+        default: throw new IllegalArgumentException("not an integer element @ " + index + ": " + type.canonicalType);
+        }
+    }
+
+    /**
+     * Copies the raw 32-byte word of a unit or {@code bytes1} through {@code bytes32} element, such as an
+     * {@code address} or {@code uint256}, without allocating.
+     *
+     * @param index the element index
+     * @param dest  the destination array
+     * @param destIndex the index into the destination at which to copy
+     */
+    public void getBytes32(int index, byte[] dest, int destIndex) {
+        checkWord(index);
+        System.arraycopy(words, index * UNIT_LENGTH_BYTES, dest, destIndex, UNIT_LENGTH_BYTES);
+    }
+
+    public byte[] getBytes32(int index) {
+        checkWord(index);
+        final int idx = index * UNIT_LENGTH_BYTES;
+        return Arrays.copyOfRange(words, idx, idx + UNIT_LENGTH_BYTES);
+    }
+
+    public BigInteger getBigInteger(int index) {
+        final int idx = checkIntegerWord(index);
+        final byte[] word = Arrays.copyOfRange(words, idx, idx + UNIT_LENGTH_BYTES);
+        return ((UnitType<?>) tupleType.elementTypes[index]).unsigned ? new BigInteger(1, word) : new BigInteger(word);
+    }
+
+    /**
+     * Returns the value of an integer element as a {@link UInt256}, which, unlike {@link #getBigInteger(int)}, reads the
+     * word without intermediate arrays.
+     *
+     * @throws ArithmeticException  if the value is negative
+     */
+    public UInt256 getUInt256(int index) {
+        final int idx = checkIntegerWord(index);
+        if(!((UnitType<?>) tupleType.elementTypes[index]).unsigned && words[idx] < 0) {
+            throw new ArithmeticException("negative value @ " + index);
+        }
+        return UInt256.read(words, idx);
+    }
+
+    /**
+     * Returns the value of an integer element as an {@link Int256}.
+     *
+     * @throws ArithmeticException  if the value is 2^255 or greater
+     */
+    public Int256 getInt256(int index) {
+        final int idx = checkIntegerWord(index);
+        if(((UnitType<?>) tupleType.elementTypes[index]).unsigned && words[idx] < 0) {
+            throw new ArithmeticException("value @ " + index + " exceeds Int256 range");
+        }
+        return Int256.read(words, idx);
+    }
+
+    private int checkIntegerWord(int index) {
+        final ABIType<?> type = tupleType.elementTypes[index];
+        if(objects[index] != null || !(type instanceof UnitType) || type.typeCode() == TYPE_CODE_BOOLEAN) {
+            throw new IllegalArgumentException("not an integer element @ " + index + ": " + type.canonicalType);
+        }
+        return index * UNIT_LENGTH_BYTES;
+    }
+
+    private void checkTypeCode(int index, int typeCode) {
+        final ABIType<?> type = tupleType.elementTypes[index];
+        if(objects[index] != null || type.typeCode() != typeCode) {
+            throw new IllegalArgumentException("unexpected type @ " + index + ": " + type.canonicalType);
+        }
+    }
+
+    private void checkWord(int index) {
+        final ABIType<?> type = tupleType.elementTypes[index];
+        if(objects[index] != null || type.dynamic) {
+            throw new IllegalArgumentException("not a 32-byte element @ " + index + ": " + type.canonicalType);
+        }
+    }
+
+    /**
+     * Returns the element at the given index, boxing or materializing it if it is stored unboxed.
+     */
+    public Object get(int index) {
+        final Object obj = objects[index];
+        if(obj != null) {
+            return obj;
+        }
+        final ABIType<?> type = tupleType.elementTypes[index];
+        switch (type.typeCode()) {
+        case TYPE_CODE_BOOLEAN: return longs[index] != 0;
+        case TYPE_CODE_BYTE: return (byte) longs[index];
+        case TYPE_CODE_INT: return (int) longs[index];
+        case TYPE_CODE_LONG: return longs[index];
+        case TYPE_CODE_BIG_INTEGER: return getBigInteger(index);
+        case TYPE_CODE_BIG_DECIMAL: return new BigDecimal(getBigInteger(index), ((BigDecimalType) type).scale);
+        case TYPE_CODE_ARRAY: // bytes1 through bytes32
+            final int idx = index * UNIT_LENGTH_BYTES;
+            return Arrays.copyOfRange(words, idx, idx + ((ArrayType<?, ?>) type).length);
+        default: throw new IllegalArgumentException("unrecognized type: " + type.toString());
+        }
+    }
+
+    public int size() {
+        return objects.length;
+    }
+
+    /**
+     * @return  an equivalent {@link Tuple}, boxing and materializing all unboxed elements
+     */
+    public Tuple toTuple() {
+        final int len = objects.length;
+        final Object[] elements = new Object[len];
+        for (int i = 0; i < len; i++) {
+            elements[i] = get(i);
+        }
+        return new Tuple(elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return toTuple().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return toTuple().equals(((PrimitiveTuple) o).toTuple());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.deepToString(toTuple().elements);
+    }
+}
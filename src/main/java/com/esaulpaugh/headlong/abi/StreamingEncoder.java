@@ -0,0 +1,164 @@
+package com.esaulpaugh.headlong.abi;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Objects;
+
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+import static com.esaulpaugh.headlong.util.Strings.CHARSET_UTF_8;
+
+/**
+ * Writes standard ABI encodings to an {@link OutputStream} or {@link WritableByteChannel} without first building the
+ * whole encoding in memory. Values are written by each {@link TupleType}'s precompiled {@link EncodingPlan}. Words are
+ * staged in a small scratch buffer which is drained to the sink whenever it fills; {@code byte[]} payloads too large
+ * for the scratch buffer are written to the sink directly, and {@code String}s are encoded to UTF-8 in scratch-sized
+ * pieces. Peak memory is therefore independent of the size of the encoding.
+ *
+ * <p>Arguments are validated before anything is written. The scratch buffer is drained at the end of each call but
+ * the sink itself is not flushed or closed. Not thread-safe; reuse one instance per sink.
+ */
+public final class StreamingEncoder {
+
+    public static final int DEFAULT_SCRATCH_LENGTH = 1024;
+
+    private final OutputStream out;
+    private final WritableByteChannel channel;
+    private final ByteBuffer scratch;
+    private final CharsetEncoder utf8Encoder = CHARSET_UTF_8.newEncoder() // replaces as String.getBytes does
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final EncodingPlan.Sink sink = new EncodingPlan.Sink() {
+        @Override
+        ByteBuffer unit() throws IOException {
+            ensureUnit();
+            return scratch;
+        }
+
+        @Override
+        void bytes(byte[] bytes) throws IOException {
+            insertBytes(bytes);
+        }
+
+        @Override
+        void utf8(String str, int utf8Len) throws IOException {
+            insertUtf8(str, utf8Len);
+        }
+    };
+
+    public StreamingEncoder(OutputStream out) {
+        this(out, DEFAULT_SCRATCH_LENGTH);
+    }
+
+    public StreamingEncoder(OutputStream out, int scratchLength) {
+        this(Objects.requireNonNull(out), null, scratchLength);
+    }
+
+    public StreamingEncoder(WritableByteChannel channel) {
+        this(channel, DEFAULT_SCRATCH_LENGTH);
+    }
+
+    public StreamingEncoder(WritableByteChannel channel, int scratchLength) {
+        this(null, Objects.requireNonNull(channel), scratchLength);
+    }
+
+    private StreamingEncoder(OutputStream out, WritableByteChannel channel, int scratchLength) {
+        if(scratchLength < UNIT_LENGTH_BYTES) {
+            throw new IllegalArgumentException("scratch length must be at least " + UNIT_LENGTH_BYTES + ": " + scratchLength);
+        }
+        this.out = out;
+        this.channel = channel;
+        this.scratch = ByteBuffer.allocate(scratchLength);
+    }
+
+    /**
+     * @param tupleType the type of the values
+     * @param values    the values to encode
+     * @return  the number of bytes written
+     * @throws IOException  if the sink throws
+     */
+    public int encode(TupleType tupleType, Tuple values) throws IOException {
+        final int len = tupleType.validate(values);
+        scratch.clear();
+        tupleType.encodingPlan().stream(values.elements, sink);
+        drain();
+        return len;
+    }
+
+    /**
+     * @param function  the function to call
+     * @param args  the function's arguments
+     * @return  the number of bytes written, including the selector
+     * @throws IOException  if the sink throws
+     */
+    public int encodeCall(Function function, Tuple args) throws IOException {
+        final TupleType paramTypes = function.getParamTypes();
+        final int len = Function.SELECTOR_LEN + paramTypes.validate(args);
+        scratch.clear();
+        scratch.put(function.selector);
+        paramTypes.encodingPlan().stream(args.elements, sink);
+        drain();
+        return len;
+    }
+
+    private void insertBytes(byte[] bytes) throws IOException {
+        final int len = bytes.length;
+        if(len > scratch.remaining()) {
+            drain();
+            if(len > scratch.capacity()) {
+                write(ByteBuffer.wrap(bytes));
+                insertPadding(len);
+                return;
+            }
+        }
+        scratch.put(bytes);
+        insertPadding(len);
+    }
+
+    private void insertUtf8(String str, int utf8Len) throws IOException {
+        final CharBuffer chars = CharBuffer.wrap(str);
+        utf8Encoder.reset();
+        while (utf8Encoder.encode(chars, scratch, true).isOverflow()) {
+            drain();
+        }
+        while (utf8Encoder.flush(scratch).isOverflow()) {
+            drain();
+        }
+        insertPadding(utf8Len);
+    }
+
+    private void insertPadding(int len) throws IOException {
+        final int paddingLen = CallEncoder.paddingLength(len);
+        if(paddingLen != 0) {
+            ensureUnit();
+            scratch.put(CallEncoder.PADDING, 0, paddingLen);
+        }
+    }
+
+    private void ensureUnit() throws IOException {
+        if(scratch.remaining() < UNIT_LENGTH_BYTES) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        scratch.flip();
+        write(scratch);
+        scratch.clear();
+    }
+
+    private void write(ByteBuffer src) throws IOException {
+        if(channel != null) {
+            while (src.hasRemaining()) {
+                channel.write(src);
+            }
+        } else {
+            out.write(src.array(), src.arrayOffset() + src.position(), src.remaining());
+            src.position(src.limit());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.esaulpaugh.headlong.abi;
+
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.function.IntFunction;
+
+import static com.esaulpaugh.headlong.abi.UnitType.LOG_2_UNIT_LENGTH_BYTES;
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+
+/**
+ * Maps the fields of a class directly onto the elements of a {@link TupleType}, without a {@link Tuple} intermediate.
+ * Subclasses are generated by {@link com.esaulpaugh.headlong.abi.codegen.ABIStructProcessor}, one straight-line method
+ * per operation, from the protected primitives below: scalar fields are validated, written and read unboxed, and other
+ * fields go through the same {@link EncodingPlan} writers and {@link ABIType} decoders as {@link TupleType}. The
+ * encoding is identical to that of {@link TupleType#encode(Tuple)} for the equivalent tuple.
+ *
+ * @param <T>   the mapped class
+ */
+public abstract class StructCodec<T> {
+
+    private final TupleType tupleType;
+    private final ABIType<?>[] types;
+    private final EncodingPlan plan;
+
+    /* the length of the encoding's head, which depends only on the types */
+    protected final int headLength;
+
+    protected StructCodec(String signature) {
+        try {
+            this.tupleType = TupleType.parse(signature);
+        } catch (ParseException pe) {
+            throw new IllegalArgumentException(pe);
+        }
+        this.types = tupleType.elementTypes;
+        this.plan = tupleType.encodingPlan();
+        this.headLength = plan.headLength;
+    }
+
+    public final TupleType getTupleType() {
+        return tupleType;
+    }
+
+    public final boolean isDynamic() {
+        return tupleType.dynamic;
+    }
+
+    /**
+     * @param value the value to validate
+     * @return  the length of the value's encoding
+     * @throws IllegalArgumentException if a field is null or does not conform to its type
+     */
+    public abstract int validate(T value);
+
+    /**
+     * @param value a valid value
+     * @return  the length of the value's encoding
+     */
+    public abstract int byteLength(T value);
+
+    /**
+     * Writes the encoding of a value, which is not validated, at the buffer's position.
+     *
+     * @param value a valid value
+     * @param dest  the destination, with at least {@link #byteLength(Object)} bytes remaining
+     */
+    public abstract void write(T value, ByteBuffer dest);
+
+    /**
+     * Decodes the encoding at the buffer's position.
+     *
+     * @param bb    the buffer containing the encoding
+     * @param unitBuffer    a buffer of length {@link UnitType#UNIT_LENGTH_BYTES} in which to store intermediate values
+     * @return  the decoded value
+     */
+    public abstract T read(ByteBuffer bb, byte[] unitBuffer);
+
+    public final int encodedLen(T value) {
+        return validate(value);
+    }
+
+    public final ByteBuffer encode(T value) {
+        final ByteBuffer dest = ByteBuffer.allocate(validate(value));
+        write(value, dest);
+        return dest;
+    }
+
+    public final void encode(T value, ByteBuffer dest) {
+        validate(value);
+        write(value, dest);
+    }
+
+    public final T decode(byte[] array) {
+        return decode(ByteBuffer.wrap(array));
+    }
+
+    public final T decode(ByteBuffer bb) {
+        return read(bb, ABIType.newUnitBuffer());
+    }
+
+    public final T decode(ByteBuffer bb, DecoderContext ctx) {
+        return read(bb, ctx.unitBuffer);
+    }
+
+    // ----------------------------------------------- scalars ---------------------------------------------------------
+
+    protected final void validateLong(int i, long val) {
+        ((UnitType<?>) types[i]).validateLongBitLen(val);
+    }
+
+    protected static void insertInt(long val, ByteBuffer dest) {
+        CallEncoder.insertInt(val, dest);
+    }
+
+    protected static void insertBool(boolean val, ByteBuffer dest) {
+        CallEncoder.insertBool(val, dest);
+    }
+
+    protected final long decodeLong(int i, ByteBuffer bb, byte[] unitBuffer) {
+        bb.get(unitBuffer, 0, UNIT_LENGTH_BYTES);
+        return ((UnitType<?>) types[i]).decodeLong(unitBuffer, false);
+    }
+
+    protected final boolean decodeBool(int i, ByteBuffer bb, byte[] unitBuffer) {
+        return decodeLong(i, bb, unitBuffer) != 0L;
+    }
+
+    // ----------------------------------------------- other elements --------------------------------------------------
+
+    protected final int validateObject(int i, Object val) {
+        return types[i].validate(val);
+    }
+
+    protected final int byteLength(int i, Object val) {
+        return types[i].byteLength(val);
+    }
+
+    protected final void insertObject(int i, Object val, ByteBuffer dest) {
+        plan.write(i, val, dest);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected final <V> V decodeObject(int i, ByteBuffer bb, byte[] unitBuffer) {
+        return (V) types[i].decode(bb, unitBuffer);
+    }
+
+    /**
+     * Reads the head of a dynamic element. Tails are read in order, so the offset itself is not needed.
+     */
+    protected static void decodeOffset(ByteBuffer bb, byte[] unitBuffer) {
+        if(CallEncoder.OFFSET_TYPE.decode(bb, unitBuffer) <= 0) {
+            throw new IllegalArgumentException("offset not found");
+        }
+    }
+
+    // ----------------------------------------------- arrays of structs -----------------------------------------------
+
+    protected final <E> int validateArray(int i, E[] arr, StructCodec<E> codec) {
+        final ArrayType<?, ?> arrayType = (ArrayType<?, ?>) types[i];
+        final int len = arrayType.checkLength(arr.length, arr);
+        int byteLength = codec.isDynamic() ? len << LOG_2_UNIT_LENGTH_BYTES : 0; // 32 bytes per offset
+        int j = 0;
+        try {
+            for ( ; j < len; j++) {
+                byteLength += codec.validate(arr[j]);
+            }
+        } catch (IllegalArgumentException | NullPointerException re) {
+            throw new IllegalArgumentException("index " + j + ": " + re.getMessage(), re);
+        }
+        return arrayType.dynamic ? UNIT_LENGTH_BYTES + byteLength : byteLength;
+    }
+
+    protected final <E> int byteLengthArray(int i, E[] arr, StructCodec<E> codec) {
+        int byteLength = codec.isDynamic() ? arr.length << LOG_2_UNIT_LENGTH_BYTES : 0;
+        for (E e : arr) {
+            byteLength += codec.byteLength(e);
+        }
+        return types[i].dynamic ? UNIT_LENGTH_BYTES + byteLength : byteLength;
+    }
+
+    protected final <E> void insertArray(int i, E[] arr, StructCodec<E> codec, ByteBuffer dest) {
+        final int len = arr.length;
+        if(types[i].dynamic) {
+            CallEncoder.insertInt(len, dest); // insertLength
+            if(codec.isDynamic()) {
+                int offset = len << LOG_2_UNIT_LENGTH_BYTES;
+                for (E e : arr) {
+                    CallEncoder.insertInt(offset, dest);
+                    offset += codec.byteLength(e);
+                }
+            }
+        }
+        for (E e : arr) {
+            codec.write(e, dest);
+        }
+    }
+
+    protected final <E> E[] decodeArray(int i, ByteBuffer bb, byte[] unitBuffer, StructCodec<E> codec, IntFunction<E[]> newArray) {
+        final int len = ((ArrayType<?, ?>) types[i]).decodeLength(bb, unitBuffer);
+        final E[] dest = newArray.apply(len);
+        if(codec.isDynamic()) {
+            for (int j = 0; j < len; j++) {
+                decodeOffset(bb, unitBuffer);
+            }
+        }
+        for (int j = 0; j < len; j++) {
+            dest[j] = codec.read(bb, unitBuffer);
+        }
+        return dest;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + tupleType.canonicalType;
+    }
+}
@@ -3,6 +3,8 @@ package com.esaulpaugh.headlong.abi;
 import com.esaulpaugh.headlong.abi.util.ClassNames;
 
 import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
 import java.text.ParseException;
 import java.util.*;
 
@@ -19,6 +21,8 @@ public class TupleType extends ABIType<Tuple> implements Iterable<ABIType<?>> {
 
     final ABIType<?>[] elementTypes;
 
+    private transient EncodingPlan encodingPlan;
+
     private TupleType(String canonicalType, boolean dynamic, ABIType<?>[] elementTypes) {
         super(canonicalType, CLASS, dynamic);
         this.elementTypes = elementTypes;
@@ -54,6 +58,18 @@ public class TupleType extends ABIType<Tuple> implements Iterable<ABIType<?>> {
         return canonicalTupleType.replace(len - 1, len, ")").toString(); // replace trailing comma
     }
 
+    /**
+     * Returns this type's {@link EncodingPlan}, building it on first use. Racing threads may each build a plan, but
+     * plans are immutable and interchangeable.
+     */
+    EncodingPlan encodingPlan() {
+        EncodingPlan plan = encodingPlan;
+        if(plan == null) {
+            encodingPlan = plan = EncodingPlan.create(this);
+        }
+        return plan;
+    }
+
     public ABIType<?> get(int index) {
         return elementTypes[index];
     }
@@ -153,6 +169,83 @@ public class TupleType extends ABIType<Tuple> implements Iterable<ABIType<?>> {
         return decode(bb, newUnitBuffer());
     }
 
+    public Tuple decode(byte[] array, DecoderContext ctx) {
+        return decode(ByteBuffer.wrap(array), ctx);
+    }
+
+    /**
+     * Decodes like {@link #decode(ByteBuffer)} but takes its scratch state from the given context instead of
+     * allocating it.
+     *
+     * @param bb    the buffer containing the encoding
+     * @param ctx   the reusable context
+     * @return  the decoded tuple
+     */
+    @Override
+    public Tuple decode(ByteBuffer bb, DecoderContext ctx) {
+        final ABIType<?>[] elementTypes = this.elementTypes;
+        final int tupleLen = elementTypes.length;
+        final Object[] elements = new Object[tupleLen];
+        final byte[] unitBuffer = ctx.unitBuffer;
+        final int base = ctx.push(tupleLen);
+        try {
+            for (int i = 0; i < tupleLen; i++) {
+                final ABIType<?> type = elementTypes[i];
+                if (type.dynamic) {
+                    ctx.offsets[base + i] = CallEncoder.OFFSET_TYPE.decode(bb, unitBuffer);
+                } else {
+                    ctx.offsets[base + i] = 0;
+                    elements[i] = type.decode(bb, ctx);
+                }
+            }
+            if(dynamic) {
+                for (int i = 0; i < tupleLen; i++) {
+                    final ABIType<?> type = elementTypes[i];
+                    if(type.dynamic) {
+                        if(ctx.offsets[base + i] <= 0) {
+                            throw new IllegalArgumentException("offset not found");
+                        }
+                        elements[i] = type.decode(bb, ctx);
+                    }
+                }
+            }
+        } finally {
+            ctx.pop(base);
+        }
+        return new Tuple(elements);
+    }
+
+    public LazyTuple decodeLazy(byte[] array) {
+        return decodeLazy(ByteBuffer.wrap(array));
+    }
+
+    /**
+     * Validates the head of the encoding starting at the buffer's position and returns a view which decodes each
+     * element only when it is accessed. The buffer's position is not changed.
+     *
+     * @param bb    the buffer containing the encoding; must not be modified while the view is in use
+     * @return  a lazily-decoding view of the tuple
+     * @throws IllegalArgumentException if the head or an offset is malformed
+     */
+    public LazyTuple decodeLazy(ByteBuffer bb) {
+        return new LazyTuple(this, bb);
+    }
+
+    public PrimitiveTuple decodePrimitive(byte[] array) {
+        return decodePrimitive(ByteBuffer.wrap(array));
+    }
+
+    /**
+     * Decodes like {@link #decode(ByteBuffer)} but stores fixed-width scalar elements unboxed.
+     *
+     * @param bb    the buffer containing the encoding
+     * @return  the decoded tuple
+     * @see PrimitiveTuple
+     */
+    public PrimitiveTuple decodePrimitive(ByteBuffer bb) {
+        return PrimitiveTuple.decode(this, bb);
+    }
+
     @Override
     Tuple decode(ByteBuffer bb, byte[] unitBuffer) {
 
@@ -239,6 +332,20 @@ public class TupleType extends ABIType<Tuple> implements Iterable<ABIType<?>> {
         return this;
     }
 
+    /**
+     * Validates and encodes into the given buffer, taking reusable state from the given context.
+     *
+     * @param values    the values to encode
+     * @param dest  the destination buffer, with at least {@link #encodedLen(Tuple)} bytes remaining
+     * @param ctx   the reusable context
+     * @return  this
+     */
+    public TupleType encode(Tuple values, ByteBuffer dest, EncoderContext ctx) {
+        validate(values);
+        CallEncoder.insertTuple(this, values, dest, ctx);
+        return this;
+    }
+
     public int encodedLen(Tuple values) {
         return validate(values);
     }
@@ -257,6 +364,41 @@ public class TupleType extends ABIType<Tuple> implements Iterable<ABIType<?>> {
         PackedEncoder.insertTuple(this, values, dest);
     }
 
+    /**
+     * Computes Solidity's {@code keccak256(abi.encodePacked(...))} without materializing the packed encoding.
+     *
+     * @param values    the values to encode
+     * @return  the 32-byte Keccak-256 hash of {@link #encodePacked(Tuple)}
+     */
+    public byte[] hashPacked(Tuple values) {
+        return hashPacked(values, Function.defaultDigest());
+    }
+
+    /**
+     * Writes the 32-byte {@code keccak256(abi.encodePacked(...))} to {@code out} without allocating.
+     */
+    public void hashPacked(Tuple values, byte[] out, int offset) {
+        final MessageDigest md = Function.defaultDigest();
+        md.reset();
+        PackedEncoder.digestTuple(this, values, md);
+        try {
+            md.digest(out, offset, md.getDigestLength());
+        } catch (DigestException de) {
+            throw new IllegalArgumentException(de);
+        }
+    }
+
+    /**
+     * @param values    the values to encode
+     * @param md    the hash function, which is reset first
+     * @return  the hash of {@link #encodePacked(Tuple)}
+     */
+    public byte[] hashPacked(Tuple values, MessageDigest md) {
+        md.reset();
+        PackedEncoder.digestTuple(this, values, md);
+        return md.digest();
+    }
+
     @Override
     public Iterator<ABIType<?>> iterator() {
         return new Iterator<ABIType<?>>() {
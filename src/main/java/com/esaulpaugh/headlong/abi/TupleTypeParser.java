@@ -9,6 +9,14 @@ class TupleTypeParser {
     static final String EMPTY_PARAMETER = "empty parameter";
 
     static TupleType parseTupleType(final String rawTupleTypeString) throws ParseException {
+        final ABIType<?> cached = TypeCache.shared().get(rawTupleTypeString);
+        if(cached instanceof TupleType) { // the cache is shared with TypeFactory, which also holds non-tuple types
+            return (TupleType) cached;
+        }
+        return TypeCache.shared().share(rawTupleTypeString, parse(rawTupleTypeString));
+    }
+
+    private static TupleType parse(final String rawTupleTypeString) throws ParseException {
 
         if(rawTupleTypeString.charAt(0) != '(') {
             throw new ParseException("params start not found", 0);
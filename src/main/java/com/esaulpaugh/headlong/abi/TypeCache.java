@@ -0,0 +1,131 @@
+package com.esaulpaugh.headlong.abi;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache of {@link ABIType}s and {@link TupleType}s parsed from type strings, keyed by canonical
+ * type string. The {@link #shared()} instance backs all string parsing in this package so that repeated signatures
+ * skip parsing and reflection. Cached types are immutable apart from lazily-built internal state, and so are safe to
+ * share. Only types built entirely from a string are cached; types created with a name or from named components (e.g.
+ * from JSON) are not, since their names are per-instance. A type parsed from a non-canonical string (e.g.
+ * {@code "uint"}) is deduplicated against the cached canonical instance, which is then cached under both strings.
+ * <p>
+ * When full, an entry is evicted by the clock (second-chance) policy: a sweep over the entries clears each one's
+ * referenced bit, set by {@link #get(String)}, and evicts the first entry found without it.
+ */
+public final class TypeCache {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final TypeCache SHARED = new TypeCache(DEFAULT_CAPACITY);
+
+    private static final class Entry {
+
+        final ABIType<?> type;
+        volatile boolean referenced;
+
+        Entry(ABIType<?> type) {
+            this.type = type;
+        }
+    }
+
+    private final int capacity;
+    private final ConcurrentHashMap<String, Entry> map = new ConcurrentHashMap<>(256);
+
+    /* guarded by this */
+    private Iterator<Map.Entry<String, Entry>> hand;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    TypeCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public static TypeCache shared() {
+        return SHARED;
+    }
+
+    ABIType<?> get(String typeString) {
+        final Entry entry = map.get(typeString);
+        if(entry != null) {
+            entry.referenced = true;
+            hits.increment();
+            return entry.type;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches the given type under its canonical type string, and under the string it was parsed from if that differs,
+     * unless equal keys are already present.
+     *
+     * @param typeString    the string from which the type was parsed
+     * @param type  an unnamed type built from a type string
+     * @return  the cached instance, which may be an existing one
+     */
+    <T extends ABIType<?>> T share(String typeString, T type) {
+        final T cached = put(type.canonicalType, type);
+        if(!typeString.equals(cached.canonicalType)) {
+            put(typeString, cached);
+        }
+        return cached;
+    }
+
+    private <T extends ABIType<?>> T put(String key, T type) {
+        final Entry existing = map.putIfAbsent(key, new Entry(type));
+        if(existing != null) {
+            @SuppressWarnings("unchecked")
+            final T cached = (T) existing.type;
+            return cached;
+        }
+        if(map.size() > capacity) {
+            evict(key);
+        }
+        return type;
+    }
+
+    private synchronized void evict(String keep) {
+        int steps = 2 * map.size(); // a full sweep clears every bit, so a second finds a victim
+        while (map.size() > capacity && steps-- > 0) {
+            if(hand == null || !hand.hasNext()) {
+                hand = map.entrySet().iterator();
+                if(!hand.hasNext()) {
+                    return;
+                }
+            }
+            final Map.Entry<String, Entry> e = hand.next();
+            final Entry entry = e.getValue();
+            if(entry.referenced) {
+                entry.referenced = false;
+            } else if(!e.getKey().equals(keep)) {
+                hand.remove();
+            }
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public synchronized void clear() {
+        map.clear();
+        hand = null;
+    }
+}
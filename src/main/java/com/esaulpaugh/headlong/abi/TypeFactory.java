@@ -23,8 +23,19 @@ final class TypeFactory {
     }
 
     static ABIType<?> create(String type, TupleType baseTupleType, String name) throws ParseException {
+        final boolean shared = name == null && baseTupleType == null; // named types and their containers are not shared
+        if(shared) {
+            final ABIType<?> cached = TypeCache.shared().get(type);
+            if(cached != null) {
+                return cached;
+            }
+        }
         try {
-            return buildType(type, false, baseTupleType).setName(name);
+            final ABIType<?> built = buildType(type, false, baseTupleType);
+            if(shared) {
+                return TypeCache.shared().share(type, built);
+            }
+            return built.setName(name);
         } catch (ClassNotFoundException e) {
             throw new RuntimeException(e);
         }
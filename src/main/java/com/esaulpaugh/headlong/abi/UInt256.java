@@ -0,0 +1,139 @@
+package com.esaulpaugh.headlong.abi;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+import static com.esaulpaugh.headlong.abi.UnitType.UNIT_LENGTH_BYTES;
+
+/**
+ * An immutable unsigned 256-bit integer held in four {@code long}s, for use in place of {@link BigInteger} as the value
+ * of {@code uint256}, {@code address} and other unsigned integer and {@code ufixed} types. Reads and writes its
+ * big-endian encoding without intermediate arrays.
+ *
+ * @see Int256
+ */
+public final class UInt256 implements Comparable<UInt256>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final UInt256 ZERO = new UInt256(0L, 0L, 0L, 0L);
+    public static final UInt256 MAX_VALUE = new UInt256(-1L, -1L, -1L, -1L);
+
+    /* most significant first */
+    final long w0, w1, w2, w3;
+
+    public UInt256(long w0, long w1, long w2, long w3) {
+        this.w0 = w0;
+        this.w1 = w1;
+        this.w2 = w2;
+        this.w3 = w3;
+    }
+
+    public static UInt256 valueOf(long val) {
+        if(val < 0) {
+            throw new IllegalArgumentException("signed value given for unsigned type");
+        }
+        return new UInt256(0L, 0L, 0L, val);
+    }
+
+    public static UInt256 valueOf(BigInteger val) {
+        if(val.signum() == -1) {
+            throw new IllegalArgumentException("signed value given for unsigned type");
+        }
+        if(val.bitLength() > Int256.BIT_LENGTH) {
+            throw new IllegalArgumentException("exceeds bit limit: " + val.bitLength() + " > " + Int256.BIT_LENGTH);
+        }
+        return new UInt256(
+                val.shiftRight(192).longValue(),
+                val.shiftRight(128).longValue(),
+                val.shiftRight(64).longValue(),
+                val.longValue()
+        );
+    }
+
+    public static UInt256 read(byte[] buffer, int i) {
+        return new UInt256(
+                UnitType.getLong(buffer, i),
+                UnitType.getLong(buffer, i + 8),
+                UnitType.getLong(buffer, i + 16),
+                UnitType.getLong(buffer, i + 24)
+        );
+    }
+
+    public static UInt256 read(ByteBuffer bb) {
+        return new UInt256(bb.getLong(), bb.getLong(), bb.getLong(), bb.getLong());
+    }
+
+    /**
+     * Writes the 32-byte big-endian encoding at the given index.
+     *
+     * @param buffer    the destination
+     * @param i the index at which to write
+     * @return  the index after the last byte written
+     */
+    public int write(byte[] buffer, int i) {
+        UnitType.putLong(w0, buffer, i);
+        UnitType.putLong(w1, buffer, i + 8);
+        UnitType.putLong(w2, buffer, i + 16);
+        UnitType.putLong(w3, buffer, i + 24);
+        return i + UNIT_LENGTH_BYTES;
+    }
+
+    public void write(ByteBuffer bb) {
+        bb.putLong(w0).putLong(w1).putLong(w2).putLong(w3);
+    }
+
+    public int bitLength() {
+        return Int256.bitLength(w0, w1, w2, w3, 0L);
+    }
+
+    /**
+     * @return  the low 64 bits
+     */
+    public long longValue() {
+        return w3;
+    }
+
+    public long longValueExact() {
+        if(bitLength() >= Long.SIZE) {
+            throw new ArithmeticException("UInt256 out of long range");
+        }
+        return w3;
+    }
+
+    public BigInteger toBigInteger() {
+        byte[] bytes = new byte[UNIT_LENGTH_BYTES];
+        write(bytes, 0);
+        return new BigInteger(1, bytes);
+    }
+
+    @Override
+    public int compareTo(UInt256 o) {
+        int c = Long.compareUnsigned(w0, o.w0);
+        if(c != 0) return c;
+        c = Long.compareUnsigned(w1, o.w1);
+        if(c != 0) return c;
+        c = Long.compareUnsigned(w2, o.w2);
+        if(c != 0) return c;
+        return Long.compareUnsigned(w3, o.w3);
+    }
+
+    @Override
+    public int hashCode() {
+        return Int256.hashCode(w0, w1, w2, w3);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UInt256 other = (UInt256) o;
+        return w0 == other.w0 && w1 == other.w1 && w2 == other.w2 && w3 == other.w3;
+    }
+
+    @Override
+    public String toString() {
+        return toBigInteger().toString();
+    }
+}
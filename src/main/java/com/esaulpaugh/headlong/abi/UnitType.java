@@ -12,6 +12,7 @@ abstract class UnitType<V> extends ABIType<V> { // instance of V should be insta
 
     static final int UNIT_LENGTH_BYTES = 32;
     static final int LOG_2_UNIT_LENGTH_BYTES = 5;// Integer.SIZE - (Integer.numberOfLeadingZeros(UNIT_LENGTH_BYTES) + 1)
+    static final int UNIT_LENGTH_BITS = UNIT_LENGTH_BYTES * Byte.SIZE;
 
     final int bitLength;
     final boolean unsigned;
@@ -32,24 +33,37 @@ abstract class UnitType<V> extends ABIType<V> { // instance of V should be insta
         final int bitLen = longVal >= 0
                 ? Integers.bitLen(longVal) // gives correct bit length for non-negative integers only
                 : BizarroIntegers.bitLen(longVal); // gives correct bit length for negative integers only
-        if(bitLen > bitLength) {
-            throw new IllegalArgumentException("exceeds bit limit: " + bitLen + " > " + bitLength);
+        final int limit = bitLimit();
+        if(bitLen > limit) {
+            throw new IllegalArgumentException("exceeds bit limit: " + bitLen + " > " + limit);
         }
     }
 
     // don't do unsigned check for array element
     void validateBigIntElement(final BigInteger bigIntVal) {
-        if(bigIntVal.bitLength() > bitLength) {
-            throw new IllegalArgumentException("exceeds bit limit: " + bigIntVal.bitLength() + " > " + bitLength);
+        final int limit = bitLimit();
+        if(bigIntVal.bitLength() > limit) {
+            throw new IllegalArgumentException("exceeds bit limit: " + bigIntVal.bitLength() + " > " + limit);
         }
     }
 
+    /**
+     * A signed value must leave room for its sign bit, which {@link BigInteger#bitLength()} excludes. Only unsigned
+     * values may fill the type's width.
+     *
+     * @return  the greatest bit length, excluding any sign bit, of a value of this type
+     */
+    private int bitLimit() {
+        return unsigned ? bitLength : bitLength - 1;
+    }
+
     // --------------------------------
 
     void validateLongBitLen(long longVal) {
         final int bitLen = longVal >= 0 ? Integers.bitLen(longVal) : BizarroIntegers.bitLen(longVal);
-        if(bitLen > bitLength) {
-            throw new IllegalArgumentException("exceeds bit limit: " + bitLen + " > " + bitLength);
+        final int limit = bitLimit();
+        if(bitLen > limit) {
+            throw new IllegalArgumentException("exceeds bit limit: " + bitLen + " > " + limit);
         }
         if(unsigned && longVal < 0) {
             throw new IllegalArgumentException("signed value given for unsigned type");
@@ -57,11 +71,125 @@ abstract class UnitType<V> extends ABIType<V> { // instance of V should be insta
     }
 
     void validateBigIntBitLen(final BigInteger bigIntVal) {
-        if(bigIntVal.bitLength() > bitLength) {
-            throw new IllegalArgumentException("exceeds bit limit: " + bigIntVal.bitLength() + " > " + bitLength);
+        final int limit = bitLimit();
+        if(bigIntVal.bitLength() > limit) {
+            throw new IllegalArgumentException("exceeds bit limit: " + bigIntVal.bitLength() + " > " + limit);
         }
         if(unsigned && bigIntVal.signum() == -1) {
             throw new IllegalArgumentException("signed value given for unsigned type");
         }
     }
+
+    /**
+     * Equivalent to {@code new BigInteger(unitBuffer)} validated by {@link #validateBigIntBitLen(BigInteger)} (or, for
+     * array elements, {@link #validateBigIntElement(BigInteger)}) followed by {@code longValue()}, without allocating.
+     *
+     * @param unitBuffer    the 32-byte word
+     * @param element   true to skip the unsigned check as for array elements
+     * @return  the low 64 bits of the word
+     */
+    final long decodeLong(byte[] unitBuffer, boolean element) {
+        final int bitLen = wordBitLength(unitBuffer, 0, false);
+        final int limit = bitLimit();
+        if(bitLen > limit) {
+            throw new IllegalArgumentException("exceeds bit limit: " + bitLen + " > " + limit);
+        }
+        if(!element && unsigned && unitBuffer[0] < 0) {
+            throw new IllegalArgumentException("signed value given for unsigned type");
+        }
+        return getLong(unitBuffer, UNIT_LENGTH_BYTES - Long.BYTES);
+    }
+
+    static boolean isWord256(Object value) {
+        return value instanceof UInt256 || value instanceof Int256;
+    }
+
+    /**
+     * Validates a {@link UInt256} or {@link Int256} given in place of a {@link BigInteger}.
+     */
+    final void validateWord256(Object value) {
+        final int bitLen;
+        final boolean negative;
+        if(value instanceof UInt256) {
+            bitLen = ((UInt256) value).bitLength();
+            negative = false;
+        } else {
+            final Int256 int256 = (Int256) value;
+            bitLen = int256.bitLength();
+            negative = int256.signum() == -1;
+        }
+        final int limit = bitLimit();
+        if(bitLen > limit) {
+            throw new IllegalArgumentException("exceeds bit limit: " + bitLen + " > " + limit);
+        }
+        if(unsigned && negative) {
+            throw new IllegalArgumentException("signed value given for unsigned type");
+        }
+    }
+
+    /**
+     * Interprets a 32-byte word as a {@link BigInteger}. Words of 256-bit unsigned types are never negative.
+     */
+    final BigInteger toBigInteger(byte[] unitBuffer) {
+        return unsigned && bitLength == UNIT_LENGTH_BITS
+                ? new BigInteger(1, unitBuffer)
+                : new BigInteger(unitBuffer);
+    }
+
+    // --------------------------------
+
+    /**
+     * Validates the 32-byte word at the given index against this type's bit limit and signedness without allocating.
+     *
+     * @param word  the buffer containing the big-endian word
+     * @param i the index of the word
+     * @return  the low 64 bits of the word
+     */
+    final long decodeWord(byte[] word, int i) {
+        final int bitLen = wordBitLength(word, i, unsigned);
+        final int limit = bitLimit();
+        if(bitLen > limit) {
+            if(unsigned && word[i] < 0) {
+                throw new IllegalArgumentException("signed value given for unsigned type");
+            }
+            throw new IllegalArgumentException("exceeds bit limit: " + bitLen + " > " + limit);
+        }
+        return getLong(word, i + UNIT_LENGTH_BYTES - Long.BYTES);
+    }
+
+    /**
+     * @return  the bit length of the word as {@link BigInteger#bitLength()} would report it, excluding any sign bit
+     */
+    static int wordBitLength(byte[] word, int i, boolean unsigned) {
+        final int fill = unsigned ? 0 : word[i] >> 7; // 0 or -1
+        for (int j = 0; j < UNIT_LENGTH_BYTES; j++) {
+            final int diff = (word[i + j] ^ fill) & 0xFF;
+            if(diff != 0) {
+                return ((UNIT_LENGTH_BYTES - 1 - j) << 3) + (Integer.SIZE - Integer.numberOfLeadingZeros(diff));
+            }
+        }
+        return 0;
+    }
+
+    static long getLong(byte[] buffer, int i) {
+        return ((long) buffer[i] << 56)
+                | ((buffer[i+1] & 0xFFL) << 48)
+                | ((buffer[i+2] & 0xFFL) << 40)
+                | ((buffer[i+3] & 0xFFL) << 32)
+                | ((buffer[i+4] & 0xFFL) << 24)
+                | ((buffer[i+5] & 0xFFL) << 16)
+                | ((buffer[i+6] & 0xFFL) << 8)
+                | (buffer[i+7] & 0xFFL);
+    }
+
+    static void putLong(long val, byte[] buffer, int i) {
+        buffer[i] = (byte) (val >>> 56);
+        buffer[i+1] = (byte) (val >>> 48);
+        buffer[i+2] = (byte) (val >>> 40);
+        buffer[i+3] = (byte) (val >>> 32);
+        buffer[i+4] = (byte) (val >>> 24);
+        buffer[i+5] = (byte) (val >>> 16);
+        buffer[i+6] = (byte) (val >>> 8);
+        buffer[i+7] = (byte) val;
+    }
 }
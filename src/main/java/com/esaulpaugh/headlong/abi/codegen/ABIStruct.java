@@ -0,0 +1,34 @@
+package com.esaulpaugh.headlong.abi.codegen;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which {@link ABIStructProcessor} generates a {@link com.esaulpaugh.headlong.abi.StructCodec} named
+ * {@code <SimpleName>ABICodec} in the same package (for a member class, the enclosing class names are prepended, joined
+ * by underscores), with a static {@code INSTANCE}. The class's non-static, non-transient fields, in declaration order,
+ * are the elements of the tuple given by {@link #value()}. Fields must not be private, and the class must declare a
+ * non-private constructor whose parameter types are those of the fields, in the same order.
+ *
+ * <p>Each field's type must be the Java type to which headlong maps its element type: {@code boolean}, {@code int},
+ * {@code long}, {@link java.math.BigInteger}, {@link java.math.BigDecimal}, {@link String}, {@code byte[]} or an array
+ * thereof (e.g. {@code long[]} for {@code uint32[]}). Tuple elements map to other {@code @ABIStruct} classes of the same
+ * signature, and arrays of tuples to single-dimensional arrays of such classes.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface ABIStruct {
+
+    /**
+     * The tuple type, e.g. {@code "(uint64,address,string)"}. If empty, each element's type is inferred from its
+     * field's: {@code bool}, {@code int32}, {@code int64}, {@code int256}, {@code string}, {@code bytes}, a tuple, or
+     * a dynamic array of one of these.
+     *
+     * @return  the tuple type
+     */
+    String value() default "";
+}
@@ -0,0 +1,474 @@
+package com.esaulpaugh.headlong.abi.codegen;
+
+import com.esaulpaugh.headlong.abi.ABIType;
+import com.esaulpaugh.headlong.abi.TupleType;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@link com.esaulpaugh.headlong.abi.StructCodec} for each class annotated with {@link ABIStruct}. The
+ * tuple type is parsed and each field checked against its element at compile time, so that the generated methods are
+ * straight-line sequences of calls to the codec's primitives with no dispatch on type.
+ */
+public final class ABIStructProcessor extends AbstractProcessor {
+
+    private static final String CODEC_SUFFIX = "ABICodec";
+
+    /* each struct resolved so far, or null if the struct is invalid */
+    private final Map<TypeElement, Struct> structs = new HashMap<>();
+    private final Set<TypeElement> resolving = new HashSet<>();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ABIStruct.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element e : roundEnv.getElementsAnnotatedWith(ABIStruct.class)) {
+            if(e.getKind() != ElementKind.CLASS || e.getModifiers().contains(Modifier.ABSTRACT)) {
+                error(e, "@ABIStruct requires a concrete class");
+                continue;
+            }
+            final Struct struct = resolve((TypeElement) e);
+            if(struct != null) {
+                try {
+                    generate(struct);
+                } catch (IOException io) {
+                    error(e, "failed to write codec: " + io.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    private void error(Element e, String msg) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg, e);
+    }
+
+    private enum Kind {
+        BOOLEAN, INT, LONG, OBJECT, STRUCT, STRUCT_ARRAY
+    }
+
+    private static final class Field {
+        final String name;
+        final TypeMirror type;
+        Kind kind;
+        boolean dynamic;
+        String codec; // for STRUCT and STRUCT_ARRAY
+
+        Field(String name, TypeMirror type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+
+    private static final class Struct {
+        final TypeElement type;
+        final String signature;
+        final List<Field> fields;
+
+        Struct(TypeElement type, String signature, List<Field> fields) {
+            this.type = type;
+            this.signature = signature;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * @return  the struct, or null if it is invalid, in which case errors have been reported
+     */
+    private Struct resolve(TypeElement type) {
+        if(structs.containsKey(type)) {
+            return structs.get(type);
+        }
+        if(!resolving.add(type)) {
+            error(type, "@ABIStruct class contains itself");
+            return null;
+        }
+        final Struct struct = doResolve(type);
+        resolving.remove(type);
+        structs.put(type, struct);
+        return struct;
+    }
+
+    private Struct doResolve(TypeElement type) {
+        final List<Field> fields = fields(type);
+        if(fields == null) {
+            return null;
+        }
+        String signature = type.getAnnotation(ABIStruct.class).value();
+        if(signature.isEmpty()) {
+            final StringBuilder sb = new StringBuilder("(");
+            for (Field f : fields) {
+                final String inferred = infer(f.type);
+                if(inferred == null) {
+                    error(type, "cannot infer the ABI type of field " + f.name + "; specify the signature");
+                    return null;
+                }
+                sb.append(inferred).append(',');
+            }
+            signature = sb.length() == 1 ? "()" : sb.replace(sb.length() - 1, sb.length(), ")").toString();
+        }
+        final TupleType tupleType;
+        try {
+            tupleType = TupleType.parse(signature);
+        } catch (ParseException | IllegalArgumentException e) {
+            error(type, "invalid signature: " + signature + ": " + e.getMessage());
+            return null;
+        }
+        if(tupleType.elements().length != fields.size()) {
+            error(type, "signature has " + tupleType.elements().length + " elements but class has " + fields.size() + " fields");
+            return null;
+        }
+        boolean valid = true;
+        for (int i = 0; i < fields.size(); i++) {
+            valid &= bind(type, fields.get(i), tupleType.get(i));
+        }
+        return valid && hasConstructor(type, fields) ? new Struct(type, tupleType.getCanonicalType(), fields) : null;
+    }
+
+    private List<Field> fields(TypeElement type) {
+        final List<Field> fields = new ArrayList<>();
+        boolean valid = true;
+        for (VariableElement v : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            final Set<Modifier> modifiers = v.getModifiers();
+            if(modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            if(modifiers.contains(Modifier.PRIVATE)) {
+                error(v, "@ABIStruct field must not be private");
+                valid = false;
+                continue;
+            }
+            fields.add(new Field(v.getSimpleName().toString(), v.asType()));
+        }
+        return valid ? fields : null;
+    }
+
+    private TypeElement struct(TypeMirror t) {
+        if(t.getKind() == TypeKind.DECLARED) {
+            final TypeElement element = (TypeElement) ((DeclaredType) t).asElement();
+            if(element.getAnnotation(ABIStruct.class) != null) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private String infer(TypeMirror t) {
+        switch (t.getKind()) {
+        case BOOLEAN: return "bool";
+        case INT: return "int32";
+        case LONG: return "int64";
+        case ARRAY:
+            final TypeMirror component = ((ArrayType) t).getComponentType();
+            if(component.getKind() == TypeKind.BYTE) {
+                return "bytes";
+            }
+            final String element = infer(component);
+            return element != null ? element + "[]" : null;
+        case DECLARED:
+            final String name = processingEnv.getTypeUtils().erasure(t).toString();
+            if("java.lang.String".equals(name)) {
+                return "string";
+            }
+            if("java.math.BigInteger".equals(name)) {
+                return "int256";
+            }
+            final TypeElement nested = struct(t);
+            if(nested != null) {
+                final Struct struct = resolve(nested);
+                return struct != null ? struct.signature : null;
+            }
+            return null;
+        default: return null;
+        }
+    }
+
+    /**
+     * Checks the field against its element type and determines how it is to be encoded.
+     */
+    private boolean bind(TypeElement owner, Field f, ABIType<?> elementType) {
+        f.dynamic = elementType.isDynamic();
+        if(elementType instanceof TupleType) {
+            f.kind = Kind.STRUCT;
+            return bindStruct(owner, f, f.type, elementType);
+        }
+        if(elementType instanceof com.esaulpaugh.headlong.abi.ArrayType
+                && ((com.esaulpaugh.headlong.abi.ArrayType<?, ?>) elementType).getElementType() instanceof TupleType) {
+            f.kind = Kind.STRUCT_ARRAY;
+            if(f.type.getKind() != TypeKind.ARRAY) {
+                return mismatch(owner, f, elementType, "an array of @ABIStruct");
+            }
+            return bindStruct(owner, f, ((ArrayType) f.type).getComponentType(), ((com.esaulpaugh.headlong.abi.ArrayType<?, ?>) elementType).getElementType());
+        }
+        final Class<?> clazz = elementType.clazz();
+        final String expected;
+        if(clazz == Boolean.class) {
+            f.kind = Kind.BOOLEAN;
+            expected = "boolean";
+        } else if(clazz == Integer.class) {
+            f.kind = Kind.INT;
+            expected = "int";
+        } else if(clazz == Long.class) {
+            f.kind = Kind.LONG;
+            expected = "long";
+        } else {
+            f.kind = Kind.OBJECT;
+            expected = clazz.getCanonicalName();
+        }
+        return expected.equals(processingEnv.getTypeUtils().erasure(f.type).toString()) || mismatch(owner, f, elementType, expected);
+    }
+
+    private boolean bindStruct(TypeElement owner, Field f, TypeMirror fieldType, ABIType<?> tupleType) {
+        final TypeElement nested = struct(fieldType);
+        if(nested == null) {
+            return mismatch(owner, f, tupleType, "@ABIStruct");
+        }
+        final Struct struct = resolve(nested);
+        if(struct == null) {
+            return false;
+        }
+        if(!struct.signature.equals(tupleType.getCanonicalType())) {
+            return mismatch(owner, f, tupleType, "@ABIStruct with signature " + tupleType.getCanonicalType() + ", not " + struct.signature);
+        }
+        f.codec = qualifiedCodecName(nested);
+        return true;
+    }
+
+    private boolean mismatch(TypeElement owner, Field f, ABIType<?> elementType, String expected) {
+        error(owner, "field " + f.name + " of type " + f.type + " cannot hold " + elementType.getCanonicalType() + "; expected " + expected);
+        return false;
+    }
+
+    private boolean hasConstructor(TypeElement type, List<Field> fields) {
+        for (ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if(c.getModifiers().contains(Modifier.PRIVATE) || c.getParameters().size() != fields.size()) {
+                continue;
+            }
+            boolean match = true;
+            for (int i = 0; i < fields.size(); i++) {
+                if(!processingEnv.getTypeUtils().isSameType(c.getParameters().get(i).asType(), fields.get(i).type)) {
+                    match = false;
+                    break;
+                }
+            }
+            if(match) {
+                return true;
+            }
+        }
+        final StringBuilder sb = new StringBuilder("@ABIStruct class requires a non-private constructor (");
+        for (int i = 0; i < fields.size(); i++) {
+            sb.append(i > 0 ? ", " : "").append(fields.get(i).type);
+        }
+        error(type, sb.append(')').toString());
+        return false;
+    }
+
+    private String packageName(TypeElement type) {
+        final PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        return pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+    }
+
+    /**
+     * @return  the codec's simple name, e.g. {@code Outer_InnerABICodec} for {@code Outer.Inner}
+     */
+    private String codecName(TypeElement type) {
+        final String pkg = packageName(type);
+        final String qualified = type.getQualifiedName().toString();
+        return (pkg.isEmpty() ? qualified : qualified.substring(pkg.length() + 1)).replace('.', '_') + CODEC_SUFFIX;
+    }
+
+    private String qualifiedCodecName(TypeElement type) {
+        final String pkg = packageName(type);
+        return (pkg.isEmpty() ? "" : pkg + '.') + codecName(type);
+    }
+
+    private void generate(Struct struct) throws IOException {
+        final TypeElement type = struct.type;
+        final List<Field> fields = struct.fields;
+        final String pkg = packageName(type);
+        final String codec = codecName(type);
+        final String t = type.getQualifiedName().toString();
+
+        final StringBuilder sb = new StringBuilder();
+        if(!pkg.isEmpty()) {
+            sb.append("package ").append(pkg).append(";\n\n");
+        }
+        sb.append("import com.esaulpaugh.headlong.abi.StructCodec;\n\n")
+                .append("import java.nio.ByteBuffer;\n\n")
+                .append("/**\n * Generated by {@link ").append(ABIStructProcessor.class.getName()).append("} from {@link ").append(t).append("}. Do not edit.\n */\n")
+                .append("public final class ").append(codec).append(" extends StructCodec<").append(t).append("> {\n\n")
+                .append("    public static final ").append(codec).append(" INSTANCE = new ").append(codec).append("();\n\n")
+                .append("    private ").append(codec).append("() {\n")
+                .append("        super(\"").append(struct.signature).append("\");\n    }\n\n");
+
+        // validate
+        sb.append("    @Override\n    public int validate(").append(t).append(" t) {\n")
+                .append("        int i = 0;\n")
+                .append("        try {\n")
+                .append("            int len = headLength;\n");
+        for (int i = 0; i < fields.size(); i++) {
+            final Field f = fields.get(i);
+            final String expr = validateExpr(f, i);
+            if(expr != null) {
+                if(i > 0) {
+                    sb.append("            i = ").append(i).append(";\n");
+                }
+                sb.append("            ").append(f.dynamic ? "len += " : "").append(expr).append(";\n");
+            }
+        }
+        sb.append("            return len;\n")
+                .append("        } catch (IllegalArgumentException | NullPointerException e) {\n")
+                .append("            throw new IllegalArgumentException(\"illegal arg @ \" + i + \": \" + e.getMessage());\n")
+                .append("        }\n    }\n\n");
+
+        // byteLength
+        sb.append("    @Override\n    public int byteLength(").append(t).append(" t) {\n")
+                .append("        return headLength");
+        for (int i = 0; i < fields.size(); i++) {
+            final Field f = fields.get(i);
+            if(f.dynamic) {
+                sb.append("\n                + ").append(byteLengthExpr(f, i));
+            }
+        }
+        sb.append(";\n    }\n\n");
+
+        // write
+        int lastDynamic = -1;
+        for (int i = 0; i < fields.size(); i++) {
+            if(fields.get(i).dynamic) {
+                lastDynamic = i;
+            }
+        }
+        sb.append("    @Override\n    public void write(").append(t).append(" t, ByteBuffer dest) {\n");
+        if(lastDynamic >= 0) {
+            sb.append("        int offset = headLength;\n");
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            final Field f = fields.get(i);
+            if(f.dynamic) {
+                sb.append("        insertInt(offset, dest);\n");
+                if(i != lastDynamic) {
+                    sb.append("        offset += ").append(byteLengthExpr(f, i)).append(";\n");
+                }
+            } else {
+                sb.append("        ").append(writeExpr(f, i)).append(";\n");
+            }
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            final Field f = fields.get(i);
+            if(f.dynamic) {
+                sb.append("        ").append(writeExpr(f, i)).append(";\n");
+            }
+        }
+        sb.append("    }\n\n");
+
+        // read
+        sb.append("    @Override\n    public ").append(t).append(" read(ByteBuffer bb, byte[] unitBuffer) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            final Field f = fields.get(i);
+            if(f.dynamic) {
+                sb.append("        decodeOffset(bb, unitBuffer);\n");
+            } else {
+                sb.append("        final ").append(f.type).append(" f").append(i).append(" = ").append(readExpr(f, i)).append(";\n");
+            }
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            final Field f = fields.get(i);
+            if(f.dynamic) {
+                sb.append("        final ").append(f.type).append(" f").append(i).append(" = ").append(readExpr(f, i)).append(";\n");
+            }
+        }
+        sb.append("        return new ").append(t).append('(');
+        for (int i = 0; i < fields.size(); i++) {
+            sb.append(i > 0 ? ", " : "").append('f').append(i);
+        }
+        sb.append(");\n    }\n}\n");
+
+        final String name = pkg.isEmpty() ? codec : pkg + '.' + codec;
+        try (Writer w = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+            w.write(sb.toString());
+        }
+    }
+
+    private static String validateExpr(Field f, int i) {
+        final String v = "t." + f.name;
+        switch (f.kind) {
+        case BOOLEAN: return null;
+        case INT:
+        case LONG: return "validateLong(" + i + ", " + v + ")";
+        case OBJECT: return "validateObject(" + i + ", " + v + ")";
+        case STRUCT: return f.codec + ".INSTANCE.validate(" + v + ")";
+        case STRUCT_ARRAY: return "validateArray(" + i + ", " + v + ", " + f.codec + ".INSTANCE)";
+        default: throw new AssertionError();
+        }
+    }
+
+    private static String byteLengthExpr(Field f, int i) {
+        final String v = "t." + f.name;
+        switch (f.kind) {
+        case OBJECT: return "byteLength(" + i + ", " + v + ")";
+        case STRUCT: return f.codec + ".INSTANCE.byteLength(" + v + ")";
+        case STRUCT_ARRAY: return "byteLengthArray(" + i + ", " + v + ", " + f.codec + ".INSTANCE)";
+        default: throw new AssertionError(); // scalars are never dynamic
+        }
+    }
+
+    private static String writeExpr(Field f, int i) {
+        final String v = "t." + f.name;
+        switch (f.kind) {
+        case BOOLEAN: return "insertBool(" + v + ", dest)";
+        case INT:
+        case LONG: return "insertInt(" + v + ", dest)";
+        case OBJECT: return "insertObject(" + i + ", " + v + ", dest)";
+        case STRUCT: return f.codec + ".INSTANCE.write(" + v + ", dest)";
+        case STRUCT_ARRAY: return "insertArray(" + i + ", " + v + ", " + f.codec + ".INSTANCE, dest)";
+        default: throw new AssertionError();
+        }
+    }
+
+    private static String readExpr(Field f, int i) {
+        switch (f.kind) {
+        case BOOLEAN: return "decodeBool(" + i + ", bb, unitBuffer)";
+        case INT: return "(int) decodeLong(" + i + ", bb, unitBuffer)";
+        case LONG: return "decodeLong(" + i + ", bb, unitBuffer)";
+        case OBJECT: return "decodeObject(" + i + ", bb, unitBuffer)";
+        case STRUCT: return f.codec + ".INSTANCE.read(bb, unitBuffer)";
+        case STRUCT_ARRAY: return "decodeArray(" + i + ", bb, unitBuffer, " + f.codec + ".INSTANCE, "
+                + ((ArrayType) f.type).getComponentType() + "[]::new)";
+        default: throw new AssertionError();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+import com.esaulpaugh.headlong.rlp.exception.UnrecoverableDecodeException;
+import com.esaulpaugh.headlong.rlp.util.Integers;
+import com.esaulpaugh.headlong.util.Strings;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable view of a single RLP item inside a (typically memory-mapped) {@link ByteBuffer}, located by absolute
+ * {@code long} offsets so that it can address files larger than 2 GiB. Like {@link RLPItem}, but nothing is copied
+ * until data is requested.
+ *
+ * @see MappedRLPReader
+ */
+public final class MappedRLPItem {
+
+    /* window holds the bytes at absolute offsets [windowStart, windowStart + window.limit()) */
+    private final ByteBuffer window;
+    private final long windowStart;
+    private final boolean lenient;
+
+    public final long index;
+    public final long dataIndex;
+    public final int dataLength;
+    public final long endIndex;
+
+    private MappedRLPItem(ByteBuffer window, long windowStart, boolean lenient, long index, long dataIndex, int dataLength, long endIndex) {
+        this.window = window;
+        this.windowStart = windowStart;
+        this.lenient = lenient;
+        this.index = index;
+        this.dataIndex = dataIndex;
+        this.dataLength = dataLength;
+        this.endIndex = endIndex;
+    }
+
+    /**
+     * Validates the prefix of the item at {@code index} and returns a view of it, applying the same rules as
+     * {@link RLPItem}.
+     *
+     * @param containerEnd  the absolute end of the enclosing list or file
+     * @param recoverable   whether exceeding {@code containerEnd} may be remedied by more data, i.e. if it is the end
+     *                      of the file rather than of an enclosing list
+     */
+    static MappedRLPItem wrap(ByteBuffer window, long windowStart, long index, long containerEnd, boolean recoverable, boolean lenient) throws DecodeException {
+        containerEnd = Math.min(containerEnd, windowStart + window.limit());
+        final long prefix = RLPItem.parsePrefix(window, (int) (index - windowStart), (int) (containerEnd - windowStart), recoverable, lenient, windowStart);
+        final long dataIndex = windowStart + RLPItem.dataIndex(prefix);
+        final int dataLength = RLPItem.dataLength(prefix);
+        return new MappedRLPItem(window, windowStart, lenient, index, dataIndex, dataLength, dataIndex + dataLength);
+    }
+
+    public DataType type() {
+        return DataType.type(window.get((int) (index - windowStart)));
+    }
+
+    public boolean isList() {
+        final DataType type = type();
+        return type == DataType.LIST_SHORT || type == DataType.LIST_LONG;
+    }
+
+    public int encodingLength() {
+        return (int) (endIndex - index);
+    }
+
+    /**
+     * @return  a read-only view of this item's data, without copying
+     */
+    public ByteBuffer dataBuffer() {
+        final ByteBuffer bb = window.duplicate();
+        final int pos = (int) (dataIndex - windowStart);
+        bb.limit(pos + dataLength).position(pos);
+        return bb.slice().asReadOnlyBuffer();
+    }
+
+    public byte[] data() {
+        return copy(dataIndex, dataLength);
+    }
+
+    public byte[] encoding() {
+        return copy(index, encodingLength());
+    }
+
+    private byte[] copy(long from, int len) {
+        final byte[] copy = new byte[len];
+        final ByteBuffer bb = window.duplicate();
+        bb.position((int) (from - windowStart));
+        bb.get(copy);
+        return copy;
+    }
+
+    public boolean asBoolean() {
+        return dataLength != 0;
+    }
+
+    public String asString(int encoding) {
+        return Strings.encode(data(), encoding);
+    }
+
+    public int asInt() throws DecodeException {
+        if (dataLength > Integer.BYTES) {
+            throw new UnrecoverableDecodeException(new IllegalArgumentException("len is out of range: " + dataLength));
+        }
+        return (int) asLong();
+    }
+
+    public long asLong() throws DecodeException {
+        return Integers.getLong(window, (int) (dataIndex - windowStart), dataLength);
+    }
+
+    public BigInteger asBigInt() {
+        return new BigInteger(data());
+    }
+
+    /**
+     * Copies this item onto the heap.
+     *
+     * @return  an equivalent {@link RLPItem}
+     * @throws DecodeException  if this item fails to decode as an {@link RLPItem}
+     */
+    public RLPItem toRLPItem() throws DecodeException {
+        return (lenient ? RLPDecoder.RLP_LENIENT : RLPDecoder.RLP_STRICT).wrap(encoding());
+    }
+
+    /**
+     * @return  an iterator over this list's elements, which are views into the same buffer
+     * @throws IllegalStateException    if this item is not a list
+     */
+    public Iterator iterator() {
+        if (!isList()) {
+            throw new IllegalStateException("item is not a list");
+        }
+        return new Iterator(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MappedRLPItem)) return false;
+        MappedRLPItem other = (MappedRLPItem) o;
+        final int len = encodingLength();
+        if (len != other.encodingLength()) {
+            return false;
+        }
+        final int a = (int) (index - windowStart);
+        final int b = (int) (other.index - other.windowStart);
+        for (int i = 0; i < len; i++) {
+            if (window.get(a + i) != other.window.get(b + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        final int end = (int) (endIndex - windowStart);
+        for (int i = (int) (index - windowStart); i < end; i++) {
+            result = 31 * result + window.get(i);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "MappedRLPItem@" + index + "[" + encodingLength() + "]";
+    }
+
+    /**
+     * For iterating over the elements of a {@link MappedRLPItem} list.
+     */
+    public static final class Iterator {
+
+        private final MappedRLPItem list;
+        private long nextElementIndex;
+
+        Iterator(MappedRLPItem list) {
+            this.list = list;
+            this.nextElementIndex = list.dataIndex;
+        }
+
+        public boolean hasNext() {
+            return nextElementIndex < list.endIndex;
+        }
+
+        public MappedRLPItem next() throws DecodeException {
+            if (hasNext()) {
+                MappedRLPItem element = wrap(list.window, list.windowStart, nextElementIndex, list.endIndex, false, list.lenient);
+                nextElementIndex = element.endIndex;
+                return element;
+            }
+            throw new NoSuchElementException();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+import com.esaulpaugh.headlong.rlp.exception.UnrecoverableDecodeException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads RLP items directly out of a memory-mapped file. Because a single mapping is limited to 2 GiB, the file is mapped
+ * in windows of up to {@code windowSize} bytes; a new window is mapped, starting at the requested item, whenever an item
+ * does not lie entirely within the current one. Items are returned as {@link MappedRLPItem} views holding absolute
+ * offsets, which keep their window reachable and so remain valid after the reader moves on. Nothing is copied onto the
+ * heap unless requested.
+ *
+ * <p>Not thread-safe; each thread should use its own reader.
+ */
+public final class MappedRLPReader implements Closeable {
+
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 28; // 256 MiB
+
+    private static final int MAX_PREFIX_LEN = 1 + Long.BYTES;
+
+    private final RLPDecoder decoder;
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final long size;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    MappedRLPReader(RLPDecoder decoder, FileChannel channel, boolean ownsChannel, int windowSize) throws IOException {
+        if(windowSize < MAX_PREFIX_LEN) {
+            throw new IllegalArgumentException("window size must be at least " + MAX_PREFIX_LEN + ": " + windowSize);
+        }
+        this.decoder = decoder;
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Opens the file at the given path for reading.
+     *
+     * @param path  the file containing a sequence of RLP items
+     * @param decoder   the decoder whose rules to apply
+     * @return  a reader which closes the file when closed
+     * @throws IOException  if the file cannot be opened
+     */
+    public static MappedRLPReader open(Path path, RLPDecoder decoder) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedRLPReader(decoder, channel, true, DEFAULT_WINDOW_SIZE);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return  the length of the file in bytes at the time this reader was created
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Decodes the item at the given absolute offset.
+     *
+     * @param offset    the offset of the item's first byte
+     * @return  a view of the item
+     * @throws IOException  if the file cannot be mapped
+     * @throws DecodeException  if the item is malformed or, recoverably, truncated by the end of the file
+     */
+    public MappedRLPItem itemAt(long offset) throws IOException, DecodeException {
+        if(offset < 0 || offset >= size) {
+            throw new IndexOutOfBoundsException("offset out of range: " + offset + ", size: " + size);
+        }
+        map(offset, MAX_PREFIX_LEN);
+        final long end = encodingEnd(offset);
+        if(end - offset > Integer.MAX_VALUE) {
+            throw new UnrecoverableDecodeException("element too large: " + (end - offset));
+        }
+        map(offset, end - offset);
+        return MappedRLPItem.wrap(window, windowStart, offset, size, true, decoder.lenient);
+    }
+
+    /**
+     * @return  an iterator over the sequence of items which makes up the file
+     */
+    public SequenceIterator sequenceIterator() {
+        return sequenceIterator(0L);
+    }
+
+    /**
+     * @param offset    the absolute offset of the first item
+     * @return  an iterator over the sequence of items starting at {@code offset}
+     */
+    public SequenceIterator sequenceIterator(long offset) {
+        return new SequenceIterator(offset);
+    }
+
+    /**
+     * Ensures that the current window covers as much of {@code [offset, offset + len)} as the file contains.
+     */
+    private void map(long offset, long len) throws IOException {
+        final long end = Math.min(offset + len, size);
+        if(window != null && offset >= windowStart && end <= windowStart + window.limit()) {
+            return;
+        }
+        final long mapLen = Math.min(Math.max(end - offset, windowSize), size - offset);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, mapLen);
+        windowStart = offset;
+    }
+
+    /**
+     * @return  the absolute end of the item at {@code offset}, according to its prefix, which is validated only as far as
+     * necessary to find it; or the end of the file if the prefix is truncated
+     */
+    private long encodingEnd(long offset) throws DecodeException {
+        final int i = (int) (offset - windowStart);
+        final byte lead = window.get(i);
+        final DataType type = DataType.type(lead);
+        final int diff = lead - type.offset;
+        switch (type) {
+        case SINGLE_BYTE: return offset + 1;
+        case STRING_SHORT:
+        case LIST_SHORT: return offset + 1 + diff;
+        case STRING_LONG:
+        case LIST_LONG:
+            if(i + 1 + diff > window.limit()) {
+                return size;
+            }
+            long dataLength = 0L;
+            for (int j = 1; j <= diff; j++) {
+                dataLength = (dataLength << Byte.SIZE) | (window.get(i + j) & 0xFFL);
+            }
+            if(dataLength < 0 || dataLength > size) { // validated in full by MappedRLPItem.wrap
+                return size;
+            }
+            return offset + 1 + diff + dataLength;
+        default: throw new AssertionError();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        if(ownsChannel) {
+            channel.close();
+        }
+    }
+
+    /**
+     * For iterating over the top-level items of a {@link MappedRLPReader}'s file.
+     */
+    public final class SequenceIterator {
+
+        private long offset;
+
+        SequenceIterator(long offset) {
+            this.offset = offset;
+        }
+
+        public boolean hasNext() {
+            return offset < size;
+        }
+
+        public MappedRLPItem next() throws IOException, DecodeException {
+            if(hasNext()) {
+                MappedRLPItem item = itemAt(offset);
+                offset = item.endIndex;
+                return item;
+            }
+            throw new NoSuchElementException();
+        }
+    }
+}
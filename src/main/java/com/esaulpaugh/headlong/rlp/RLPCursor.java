@@ -0,0 +1,270 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+import com.esaulpaugh.headlong.rlp.util.Integers;
+import com.esaulpaugh.headlong.util.Strings;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A mutable, repositionable view of one RLP item at a time, for walking an encoding without allocating an
+ * {@link RLPItem} per element. {@link #next()} moves to the next item in the current container (the whole buffer at
+ * the top level), {@link #enterList()} descends into the current item and {@link #exitList()} returns to the list
+ * which was entered, making it current again. Each item's prefix is validated as it is reached, applying the same rules
+ * as {@link RLPItem}. The cursor allocates only to deepen its stack of enclosing lists, which it retains across
+ * {@link #reset(byte[], int, int)}. Not thread-safe.
+ */
+public final class RLPCursor {
+
+    private final boolean lenient;
+
+    private byte[] buffer;
+    private int containerEnd;
+    private int nextIndex;
+
+    /* for each entered list, the enclosing container's end and the list's own index */
+    private int[] stack = new int[16];
+    private int depth;
+
+    private DataType type;
+    private int index = -1;
+    private int dataIndex;
+    private int dataLength;
+    private int endIndex;
+
+    public RLPCursor(RLPDecoder decoder) {
+        this.lenient = decoder.lenient;
+    }
+
+    public RLPCursor reset(byte[] buffer) {
+        return reset(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Positions this cursor before the sequence of items in {@code buffer} between {@code index} and {@code end}.
+     *
+     * @param buffer    the array containing the items
+     * @param index the index of the first item
+     * @param end   the end of the last item
+     * @return  this cursor
+     */
+    public RLPCursor reset(byte[] buffer, int index, int end) {
+        if(index < 0 || end > buffer.length || index > end) {
+            throw new IndexOutOfBoundsException("[" + index + ", " + end + ") not within [0, " + buffer.length + ")");
+        }
+        this.buffer = buffer;
+        this.containerEnd = end;
+        this.nextIndex = index;
+        this.depth = 0;
+        this.type = null;
+        this.index = -1;
+        return this;
+    }
+
+    /**
+     * @return  true if another item follows the current one in the current container
+     */
+    public boolean hasNext() {
+        return nextIndex < containerEnd;
+    }
+
+    /**
+     * Moves to the next item in the current container and validates its prefix.
+     *
+     * @return  this cursor
+     * @throws DecodeException  if the item is malformed
+     * @throws NoSuchElementException   if the current container has no more items
+     */
+    public RLPCursor next() throws DecodeException {
+        if(!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        load(nextIndex);
+        nextIndex = endIndex;
+        return this;
+    }
+
+    /**
+     * Moves past the next {@code n} items in the current container, making the last of them current.
+     *
+     * @param n the number of items to skip
+     * @return  this cursor
+     * @throws DecodeException  if a skipped item's prefix is malformed
+     * @throws NoSuchElementException   if fewer than {@code n} items remain
+     */
+    public RLPCursor skip(int n) throws DecodeException {
+        for (int i = 0; i < n; i++) {
+            next();
+        }
+        return this;
+    }
+
+    public RLPCursor skip() throws DecodeException {
+        return next();
+    }
+
+    /**
+     * Descends into the current item, which must be a list, and positions this cursor before its first element.
+     *
+     * @return  this cursor
+     * @throws IllegalStateException    if the current item is not a list
+     */
+    public RLPCursor enterList() {
+        if(!isList()) {
+            throw new IllegalStateException("current item is not a list");
+        }
+        if(depth + 2 > stack.length) {
+            stack = Arrays.copyOf(stack, stack.length << 1);
+        }
+        stack[depth++] = containerEnd;
+        stack[depth++] = index;
+        containerEnd = endIndex;
+        nextIndex = dataIndex;
+        type = null;
+        index = -1;
+        return this;
+    }
+
+    /**
+     * Returns to the list most recently entered, skipping any of its elements not yet visited, and makes it current.
+     *
+     * @return  this cursor
+     * @throws DecodeException  never in practice, as the list was already validated when it was reached
+     * @throws IllegalStateException    if no list has been entered
+     */
+    public RLPCursor exitList() throws DecodeException {
+        if(depth == 0) {
+            throw new IllegalStateException("not within a list");
+        }
+        final int listIndex = stack[--depth];
+        nextIndex = containerEnd;
+        containerEnd = stack[--depth];
+        load(listIndex);
+        return this;
+    }
+
+    /**
+     * @return  the number of lists entered and not yet exited
+     */
+    public int depth() {
+        return depth >>> 1;
+    }
+
+    private void load(int index) throws DecodeException {
+        final byte[] buffer = this.buffer;
+        final int containerEnd = this.containerEnd;
+        final long prefix = RLPItem.parsePrefix(buffer, index, containerEnd, containerEnd == buffer.length, lenient, 0L);
+        final int dataIndex = RLPItem.dataIndex(prefix);
+        final int dataLength = RLPItem.dataLength(prefix);
+        this.type = DataType.type(buffer[index]);
+        this.index = index;
+        this.dataIndex = dataIndex;
+        this.dataLength = dataLength;
+        this.endIndex = dataIndex + dataLength;
+    }
+
+    private void checkCurrent() {
+        if(type == null) {
+            throw new IllegalStateException("no current item");
+        }
+    }
+
+    public DataType type() {
+        checkCurrent();
+        return type;
+    }
+
+    public boolean isList() {
+        return type() == DataType.LIST_SHORT || type == DataType.LIST_LONG;
+    }
+
+    public int index() {
+        checkCurrent();
+        return index;
+    }
+
+    public int dataIndex() {
+        checkCurrent();
+        return dataIndex;
+    }
+
+    public int dataLength() {
+        checkCurrent();
+        return dataLength;
+    }
+
+    public int endIndex() {
+        checkCurrent();
+        return endIndex;
+    }
+
+    public boolean asBoolean() {
+        return dataLength() != 0;
+    }
+
+    public byte asByte() throws DecodeException {
+        return Integers.getByte(buffer, dataIndex(), dataLength);
+    }
+
+    public short asShort() throws DecodeException {
+        return Integers.getShort(buffer, dataIndex(), dataLength);
+    }
+
+    public int asInt() throws DecodeException {
+        return Integers.getInt(buffer, dataIndex(), dataLength);
+    }
+
+    public long asLong() throws DecodeException {
+        return Integers.getLong(buffer, dataIndex(), dataLength);
+    }
+
+    public BigInteger asBigInt() {
+        return Integers.getBigInt(buffer, dataIndex(), dataLength);
+    }
+
+    /**
+     * @return  the current item's data as a minimal unsigned integer, the empty string being zero
+     * @throws DecodeException  if the data has leading zeroes
+     */
+    public BigInteger asUnsignedBigInt() throws DecodeException {
+        return Integers.getUnsignedBigInt(buffer, dataIndex(), dataLength);
+    }
+
+    public String asString(int encoding) {
+        return Strings.encode(buffer, dataIndex(), dataLength, encoding);
+    }
+
+    /**
+     * @return  a read-only view of the current item's data, without copying
+     */
+    public ByteBuffer dataSlice() {
+        return ByteBuffer.wrap(buffer, dataIndex(), dataLength).slice().asReadOnlyBuffer();
+    }
+
+    public byte[] data() {
+        return Arrays.copyOfRange(buffer, dataIndex(), dataIndex + dataLength);
+    }
+
+    /**
+     * Copies the current item's data into the given array.
+     *
+     * @param dest  the destination array
+     * @param destIndex the index into the destination
+     * @return  the index into the destination following the data
+     */
+    public int exportData(byte[] dest, int destIndex) {
+        System.arraycopy(buffer, dataIndex(), dest, destIndex, dataLength);
+        return destIndex + dataLength;
+    }
+
+    /**
+     * @return  an {@link RLPItem} for the current item, sharing this cursor's buffer
+     * @throws DecodeException  never in practice, as the item was already validated
+     */
+    public RLPItem item() throws DecodeException {
+        return (lenient ? RLPDecoder.RLP_LENIENT : RLPDecoder.RLP_STRICT).wrap(buffer, index(), containerEnd);
+    }
+}
@@ -2,11 +2,16 @@ package com.esaulpaugh.headlong.rlp;
 
 import com.esaulpaugh.headlong.rlp.exception.DecodeException;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Decodes RLP-formatted data.
@@ -23,12 +28,45 @@ public final class RLPDecoder {
     }
 
     /**
-     * Returns an iterator over a stream of RLP items.
+     * Returns a polling iterator over a stream of RLP items, which reads only the bytes reported by
+     * {@link InputStream#available()}.
      * @param rlpStream the stream of RLP items
      * @return  an iterator over the items in the stream
      */
     public RLPStreamIterator sequenceStreamIterator(InputStream rlpStream) {
-        return new RLPStreamIterator(RLPDecoder.this, rlpStream);
+        return sequenceStreamIterator(rlpStream, false);
+    }
+
+    /**
+     * Returns an iterator over a stream of RLP items.
+     * @param rlpStream the stream of RLP items
+     * @param blocking  whether {@link RLPStreamIterator#hasNext()} should block until an item is complete or the stream
+     *                  ends, rather than poll {@link InputStream#available()}
+     * @return  an iterator over the items in the stream
+     */
+    public RLPStreamIterator sequenceStreamIterator(InputStream rlpStream, boolean blocking) {
+        return new RLPStreamIterator(RLPDecoder.this, rlpStream, blocking);
+    }
+
+    /**
+     * Returns a reader over the RLP items in a file, which maps the file into memory rather than copying it.
+     * @param channel   a readable channel to the file, which the reader does not close
+     * @return  a reader of the items in the file
+     * @throws IOException  if the channel's size cannot be read
+     */
+    public MappedRLPReader mappedReader(FileChannel channel) throws IOException {
+        return mappedReader(channel, MappedRLPReader.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param channel   a readable channel to the file, which the reader does not close
+     * @param windowSize    the maximum length of each mapping, except where a single item is larger
+     * @return  a reader of the items in the file
+     * @throws IOException  if the channel's size cannot be read
+     * @see #mappedReader(FileChannel)
+     */
+    public MappedRLPReader mappedReader(FileChannel channel, int windowSize) throws IOException {
+        return new MappedRLPReader(RLPDecoder.this, channel, false, windowSize);
     }
 
     public RLPIterator sequenceIterator(byte[] buffer) {
@@ -46,6 +84,34 @@ public final class RLPDecoder {
         return new RLPIterator(RLPDecoder.this, buffer, index, buffer.length);
     }
 
+    /**
+     * Returns a {@link Spliterator} over the sequence of RLP items starting at {@code index}. The prefixes of all the
+     * items are scanned up front to find their boundaries, which lets the spliterator split evenly for parallel
+     * traversal.
+     *
+     * @param buffer    the array containing the sequence
+     * @param index the index of the sequence
+     * @return  a spliterator over the items in the sequence
+     * @throws DecodeException  if any item's prefix is invalid or if the last item is truncated
+     */
+    public Spliterator<RLPItem> sequenceSpliterator(byte[] buffer, int index) throws DecodeException {
+        return RLPSequenceSpliterator.create(RLPDecoder.this, buffer, index);
+    }
+
+    /**
+     * Returns a stream of the sequence of RLP items in the given array, which when parallel decodes and processes items
+     * on multiple threads.
+     *
+     * @param buffer    the array containing the sequence
+     * @param parallel  whether the stream should be parallel
+     * @return  a stream of the items in the sequence
+     * @throws DecodeException  if any item's prefix is invalid or if the last item is truncated
+     * @see #sequenceSpliterator(byte[], int)
+     */
+    public Stream<RLPItem> sequenceStream(byte[] buffer, boolean parallel) throws DecodeException {
+        return StreamSupport.stream(sequenceSpliterator(buffer, 0), parallel);
+    }
+
     public RLPListIterator listIterator(byte[] buffer) throws DecodeException {
         return listIterator(buffer, 0);
     }
@@ -2,7 +2,9 @@ package com.esaulpaugh.headlong.rlp;
 
 import com.esaulpaugh.headlong.rlp.eip778.KeyValuePair;
 import com.esaulpaugh.headlong.rlp.util.Integers;
+import com.esaulpaugh.headlong.util.Strings;
 
+import java.math.BigInteger;
 import java.util.Arrays;
 
 import static com.esaulpaugh.headlong.rlp.DataType.*;
@@ -64,7 +66,7 @@ public class RLPEncoder {
         throw new IllegalArgumentException("unsupported object type: " + obj.getClass().getName());
     }
 
-    private static int stringEncodedLen(byte[] byteString) {
+    static int stringEncodedLen(byte[] byteString) {
         final int dataLen = byteString.length;
         if (isLong(dataLen)) {
             return 1 + Integers.len(dataLen) + dataLen;
@@ -159,6 +161,102 @@ public class RLPEncoder {
         return encodeSequentially(elements, dest, destIndex);
     }
 
+    /**
+     * @param byteString    the byte string to be encoded
+     * @return  the length of the byte string's encoding
+     */
+    public static int encodedLen(byte[] byteString) {
+        return stringEncodedLen(byteString);
+    }
+
+    /**
+     * Inserts the encoding of an integer's minimal big-endian two's complement representation into the destination
+     * array.
+     *
+     * @param val   the integer to be encoded
+     * @param dest  the destination for the encoding
+     * @param destIndex the index into the destination for the encoding
+     * @return  the index into the destination following the encoding
+     * @see #encodedLen(long)
+     */
+    public static int insertLong(long val, byte[] dest, int destIndex) {
+        return encodeString(val, dest, destIndex);
+    }
+
+    /**
+     * Inserts the encoding of the given byte string into the destination array.
+     *
+     * @param byteString    the byte string to be encoded
+     * @param dest  the destination for the encoding
+     * @param destIndex the index into the destination for the encoding
+     * @return  the index into the destination following the encoding
+     * @see #encodedLen(byte[])
+     */
+    public static int insertString(byte[] byteString, byte[] dest, int destIndex) {
+        return encodeString(byteString, dest, destIndex);
+    }
+
+    /**
+     * @param val   the non-negative integer to be encoded
+     * @return  the length of the encoding of the integer's minimal big-endian unsigned representation
+     * @throws IllegalArgumentException if the integer is negative
+     * @see #insertBigInt(BigInteger, byte[], int)
+     */
+    public static int encodedLen(BigInteger val) {
+        final int bitLen = unsignedBitLen(val);
+        if(bitLen < Long.SIZE) {
+            return (int) encodedLen(val.longValue());
+        }
+        final int dataLen = (bitLen + (Byte.SIZE - 1)) / Byte.SIZE;
+        return prefixLength(dataLen) + dataLen;
+    }
+
+    /**
+     * @param s the string whose UTF-8 encoding is to be encoded
+     * @return  the length of the encoding, computed without encoding the string
+     */
+    public static int encodedLenUtf8(String s) {
+        final int dataLen = Strings.utf8Length(s);
+        return dataLen == 1 ? 1 : prefixLength(dataLen) + dataLen;
+    }
+
+    /**
+     * Inserts the encoding of a non-negative integer's minimal big-endian unsigned representation (without leading
+     * zeroes, so that zero is the empty string) into the destination array. Integers narrower than 64 bits are written
+     * without allocating.
+     *
+     * @param val   the non-negative integer to be encoded
+     * @param dest  the destination for the encoding
+     * @param destIndex the index into the destination for the encoding
+     * @return  the index into the destination following the encoding
+     * @throws IllegalArgumentException if the integer is negative
+     * @see #encodedLen(BigInteger)
+     */
+    public static int insertBigInt(BigInteger val, byte[] dest, int destIndex) {
+        if(unsignedBitLen(val) < Long.SIZE) {
+            return encodeString(val.longValue(), dest, destIndex);
+        }
+        final byte[] bytes = val.toByteArray();
+        final int from = bytes[0] == 0 ? 1 : 0; // drop the sign byte
+        final int dataLen = bytes.length - from; // at least 8
+        if (isLong(dataLen)) {
+            final int n = Integers.putLong(dataLen, dest, destIndex + 1);
+            dest[destIndex] = (byte) (STRING_LONG_OFFSET + n);
+            destIndex += 1 + n;
+        } else {
+            dest[destIndex++] = (byte) (STRING_SHORT_OFFSET + dataLen);
+        }
+        System.arraycopy(bytes, from, dest, destIndex, dataLen);
+        return destIndex + dataLen;
+    }
+
+    private static int unsignedBitLen(BigInteger val) {
+        if(val.signum() < 0) {
+            throw new IllegalArgumentException("negative integer: " + val);
+        }
+        return val.bitLength();
+    }
+
     public static int insertListPrefix(long dataLen, byte[] dest, int destIndex) {
         return isLong(dataLen)
                 ? encodeLongListPrefix(dataLen, dest, destIndex)
@@ -9,6 +9,7 @@ import com.esaulpaugh.headlong.rlp.util.Notation;
 import com.esaulpaugh.headlong.util.Strings;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import static com.esaulpaugh.headlong.rlp.DataType.MIN_LONG_DATA_LEN;
@@ -34,49 +35,89 @@ public abstract class RLPItem {
 
     RLPItem(byte lead, DataType type, byte[] buffer, int index, int containerEnd, boolean lenient) throws DecodeException {
         containerEnd = Math.min(buffer.length, containerEnd);
+        final long prefix = parsePrefix(buffer, index, containerEnd, containerEnd == buffer.length, lenient, 0L);
+        final int _dataIndex = dataIndex(prefix);
+        final int _dataLength = dataLength(prefix);
+        this.buffer = buffer;
+        this.index = index;
+        this.dataIndex = _dataIndex;
+        this.dataLength = _dataLength;
+        this.endIndex = _dataIndex + _dataLength;
+    }
 
-        final int _dataIndex;
-        final long _dataLength;
-        
+    /**
+     * Parses and validates the prefix of the item at {@code index}. Every decoding path goes through here, so all apply
+     * the same rules: the prefix and the data must lie within {@code containerEnd}, long lengths must be minimal and at
+     * least {@link DataType#MIN_LONG_DATA_LEN}, and, unless lenient, a single byte below 0x80 must not be wrapped in a
+     * string prefix.
+     *
+     * @param buffer    the array holding the item's prefix and, if the item is a one-byte string, its data byte
+     * @param index the index of the item's lead byte
+     * @param containerEnd  the end of the enclosing list or of the input
+     * @param recoverable   whether exceeding {@code containerEnd} may be remedied by more input
+     * @param lenient   whether to accept single bytes wrapped in a string prefix
+     * @param base  the offset of {@code buffer} within the whole input, added to the indices in error messages
+     * @return  the item's data index in the upper 32 bits and its data length in the lower 32 bits
+     * @see #dataIndex(long)
+     * @see #dataLength(long)
+     */
+    static long parsePrefix(byte[] buffer, int index, int containerEnd, boolean recoverable, boolean lenient, long base) throws DecodeException {
+        return parsePrefix(ByteBuffer.wrap(buffer), index, containerEnd, recoverable, lenient, base);
+    }
+
+    /**
+     * Like {@link #parsePrefix(byte[], int, int, boolean, boolean, long)}, but reads the buffer with absolute gets so
+     * that a prefix inside a direct or mapped buffer is parsed without copying it.
+     *
+     * @param buffer    the buffer holding the item's prefix and, if the item is a one-byte string, its data byte
+     * @param index the buffer index of the item's lead byte
+     * @param containerEnd  the buffer index at which the enclosing list or the input ends
+     * @param recoverable   whether exceeding {@code containerEnd} may be remedied by more input
+     * @param lenient   whether to accept single bytes wrapped in a string prefix
+     * @param base  the offset of {@code buffer} within the whole input, added to the indices in error messages
+     * @return  the item's data index in the upper 32 bits and its data length in the lower 32 bits
+     */
+    static long parsePrefix(ByteBuffer buffer, int index, int containerEnd, boolean recoverable, boolean lenient, long base) throws DecodeException {
+        final byte lead = buffer.get(index);
+        final DataType type = DataType.type(lead);
         final int diff = lead - type.offset;
+        final int dataIndex;
+        final long dataLength;
         switch (type) {
-        case SINGLE_BYTE: _dataIndex = index; _dataLength = 1; break;
+        case SINGLE_BYTE: dataIndex = index; dataLength = 1; break;
         case STRING_SHORT:
-        case LIST_SHORT:
-            _dataIndex = index + 1; _dataLength = diff;
-            break;
+        case LIST_SHORT: dataIndex = index + 1; dataLength = diff; break;
         case STRING_LONG:
         case LIST_LONG:
-            int lengthIndex = index + 1;
-            _dataIndex = lengthIndex + diff; // DataType dictates that lengthOfLength guaranteed to be in [1,8]
-            if (_dataIndex > containerEnd) {
-                throw exceedsContainer(index, _dataIndex, containerEnd, containerEnd == buffer.length);
+            dataIndex = index + 1 + diff; // DataType dictates that lengthOfLength guaranteed to be in [1,8]
+            if (dataIndex > containerEnd) {
+                throw exceedsContainer(base + index, base + dataIndex, base + containerEnd, recoverable);
             }
-            _dataLength = Integers.getLong(buffer, lengthIndex, diff);
-            if(_dataLength < MIN_LONG_DATA_LEN) {
-                throw new UnrecoverableDecodeException("long element data length must be " + MIN_LONG_DATA_LEN + " or greater; found: " + _dataLength + " for element @ " + index);
+            dataLength = Integers.getLong(buffer, index + 1, diff);
+            if(dataLength < MIN_LONG_DATA_LEN) {
+                throw new UnrecoverableDecodeException("long element data length must be " + MIN_LONG_DATA_LEN + " or greater; found: " + dataLength + " for element @ " + (base + index));
             }
             break;
         default: throw new AssertionError();
         }
-
-        final long _endIndex = _dataIndex + _dataLength;
-
-        if(_endIndex > containerEnd) {
-            throw exceedsContainer(index, _dataIndex, containerEnd, containerEnd == buffer.length);
+        if(dataIndex + dataLength > containerEnd) {
+            throw exceedsContainer(base + index, base + dataIndex, base + containerEnd, recoverable);
         }
-        if(!lenient && _dataLength == 1 && type == STRING_SHORT && buffer[_dataIndex] >= 0x00) { // same as (data[from] & 0xFF) < 0x80
-            throw new UnrecoverableDecodeException("invalid rlp for single byte @ " + index);
+        if(!lenient && dataLength == 1 && type == STRING_SHORT && buffer.get(dataIndex) >= 0x00) { // same as (data[from] & 0xFF) < 0x80
+            throw new UnrecoverableDecodeException("invalid rlp for single byte @ " + (base + index));
         }
+        return (long) dataIndex << 32 | dataLength;
+    }
 
-        this.buffer = buffer;
-        this.index = index;
-        this.dataIndex = _dataIndex;
-        this.dataLength = (int) _dataLength;
-        this.endIndex = (int) _endIndex;
+    static int dataIndex(long prefix) {
+        return (int) (prefix >>> 32);
+    }
+
+    static int dataLength(long prefix) {
+        return (int) prefix;
     }
 
-    private static DecodeException exceedsContainer(int index, int end, int containerEnd, boolean recoverable) {
+    private static DecodeException exceedsContainer(long index, long end, long containerEnd, boolean recoverable) {
         String msg = "element @ index " + index + " exceeds its container: " + end + " > " + containerEnd;
         return recoverable ? new RecoverableDecodeException(msg) : new UnrecoverableDecodeException(msg);
     }
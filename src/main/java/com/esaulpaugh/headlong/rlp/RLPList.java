@@ -4,6 +4,7 @@ import com.esaulpaugh.headlong.rlp.exception.DecodeException;
 import com.esaulpaugh.headlong.rlp.util.Integers;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -14,6 +15,9 @@ import static com.esaulpaugh.headlong.rlp.DataType.LIST_LONG_OFFSET;
  */
 public class RLPList extends RLPItem {
 
+    /* the index of each element, built by elementAt on first use */
+    private volatile int[] elementIndices;
+
     RLPList(byte lead, DataType type, byte[] buffer, int index, int containerEnd, boolean lenient) throws DecodeException {
         super(lead, type, buffer, index, containerEnd, lenient);
     }
@@ -89,6 +93,50 @@ public class RLPList extends RLPItem {
         }
     }
 
+    /**
+     * Returns the element at the given position. The first call scans the prefixes of all the elements and caches
+     * their indices in this list, so that subsequent calls take constant time regardless of position.
+     *
+     * @param decoder   the decoder with which to decode the element
+     * @param i the position of the element
+     * @return  the element
+     * @throws DecodeException  if the element, or the prefix of any element, is malformed
+     * @throws IndexOutOfBoundsException    if {@code i} is negative or not less than the number of elements
+     */
+    public RLPItem elementAt(RLPDecoder decoder, int i) throws DecodeException {
+        final int[] indices = elementIndices();
+        if(i < 0 || i >= indices.length) {
+            throw new IndexOutOfBoundsException("index: " + i + ", size: " + indices.length);
+        }
+        return decoder.wrap(buffer, indices[i], endIndex);
+    }
+
+    /**
+     * @return  the number of elements in this list
+     * @throws DecodeException  if the prefix of any element is malformed
+     * @see #elementAt(RLPDecoder, int)
+     */
+    public int elementCount() throws DecodeException {
+        return elementIndices().length;
+    }
+
+    private int[] elementIndices() throws DecodeException {
+        int[] indices = elementIndices;
+        if(indices == null) {
+            indices = new int[16];
+            int n = 0;
+            final RLPCursor cursor = new RLPCursor(RLPDecoder.RLP_LENIENT).reset(buffer, dataIndex, endIndex);
+            while (cursor.hasNext()) {
+                if(n == indices.length) {
+                    indices = Arrays.copyOf(indices, n << 1);
+                }
+                indices[n++] = cursor.next().index();
+            }
+            elementIndices = indices = Arrays.copyOf(indices, n);
+        }
+        return indices;
+    }
+
     public RLPListIterator iterator(RLPDecoder decoder) {
         return new RLPListIterator(this, decoder);
     }
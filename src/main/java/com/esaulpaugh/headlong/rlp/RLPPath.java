@@ -0,0 +1,113 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+
+import java.util.Arrays;
+
+/**
+ * A sequence of element positions identifying an item nested within an RLP list, e.g. {@code RLPPath.of(1, 3, 5)} for
+ * the sixth element of the fourth element of the second element. Resolving a path skips over preceding siblings using
+ * only their prefixes, without constructing them.
+ */
+public final class RLPPath {
+
+    private final int[] indices;
+
+    private RLPPath(int[] indices) {
+        this.indices = indices;
+    }
+
+    public static RLPPath of(int... indices) {
+        for (int i : indices) {
+            if(i < 0) {
+                throw new IllegalArgumentException("negative index: " + i);
+            }
+        }
+        return new RLPPath(indices.clone());
+    }
+
+    public int depth() {
+        return indices.length;
+    }
+
+    /**
+     * Resolves this path against the item at {@code index}.
+     *
+     * @param decoder   the decoder whose rules to apply
+     * @param buffer    the array containing the root item
+     * @param index the index of the root item
+     * @return  the item at this path
+     * @throws DecodeException  if the root item or any item reached along the way is malformed
+     * @throws IllegalStateException    if an item along the path is not a list
+     * @throws IndexOutOfBoundsException    if a list along the path has too few elements
+     */
+    public RLPItem get(RLPDecoder decoder, byte[] buffer, int index) throws DecodeException {
+        final RLPCursor cursor = new RLPCursor(decoder).reset(buffer, index, buffer.length).next();
+        return seek(cursor).item();
+    }
+
+    public RLPItem get(RLPDecoder decoder, byte[] buffer) throws DecodeException {
+        return get(decoder, buffer, 0);
+    }
+
+    /**
+     * Resolves this path starting from the cursor's current item, leaving the cursor at the item found. Allocates
+     * nothing.
+     *
+     * @param cursor    a cursor whose current item is the root
+     * @return  the cursor
+     * @throws DecodeException  if any item reached along the way is malformed
+     * @throws IllegalStateException    if an item along the path is not a list
+     * @throws IndexOutOfBoundsException    if a list along the path has too few elements
+     */
+    public RLPCursor seek(RLPCursor cursor) throws DecodeException {
+        for (int d = 0; d < indices.length; d++) {
+            cursor.enterList();
+            final int target = indices[d];
+            for (int i = 0; i <= target; i++) {
+                if(!cursor.hasNext()) {
+                    throw new IndexOutOfBoundsException("index " + target + " out of bounds for length " + i + " at depth " + d);
+                }
+                cursor.next();
+            }
+        }
+        return cursor;
+    }
+
+    /**
+     * Resolves this path against a root list via {@link RLPList#elementAt(RLPDecoder, int)}, which indexes and caches
+     * the positions of each list's elements. Suited to repeated queries against the same large list.
+     *
+     * @param decoder   the decoder whose rules to apply
+     * @param root  the root item
+     * @return  the item at this path
+     * @throws DecodeException  if any item reached along the way is malformed
+     * @throws IllegalStateException    if an item along the path is not a list
+     * @throws IndexOutOfBoundsException    if a list along the path has too few elements
+     */
+    public RLPItem get(RLPDecoder decoder, RLPItem root) throws DecodeException {
+        RLPItem item = root;
+        for (int d = 0; d < indices.length; d++) {
+            if(!item.isList()) {
+                throw new IllegalStateException("item at depth " + d + " is not a list");
+            }
+            item = ((RLPList) item).elementAt(decoder, indices[d]);
+        }
+        return item;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(indices);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RLPPath && Arrays.equals(((RLPPath) o).indices, indices);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(indices);
+    }
+}
@@ -0,0 +1,98 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over a sequence of RLP items whose boundaries have been found in advance by a scan of the items'
+ * prefixes, so that it splits in constant time into balanced halves, e.g. for decoding across cores via
+ * {@link RLPDecoder#sequenceStream(byte[], boolean)}. The scan validates each top-level item's prefix with
+ * {@link RLPItem#parsePrefix}, as constructing the item does, so traversal itself never fails.
+ */
+final class RLPSequenceSpliterator implements Spliterator<RLPItem> {
+
+    private static final int CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+
+    private final RLPDecoder decoder;
+    private final byte[] buffer;
+    /* boundaries[i] is the index of item i; boundaries[count] is the end of the last item */
+    private final int[] boundaries;
+    private int origin;
+    private final int fence;
+
+    private RLPSequenceSpliterator(RLPDecoder decoder, byte[] buffer, int[] boundaries, int origin, int fence) {
+        this.decoder = decoder;
+        this.buffer = buffer;
+        this.boundaries = boundaries;
+        this.origin = origin;
+        this.fence = fence;
+    }
+
+    static RLPSequenceSpliterator create(RLPDecoder decoder, byte[] buffer, int index) throws DecodeException {
+        int[] boundaries = new int[16 + ((buffer.length - index) >>> 6)];
+        int count = 0;
+        while (true) {
+            if(count == boundaries.length) {
+                boundaries = Arrays.copyOf(boundaries, count + (count >> 1));
+            }
+            boundaries[count] = index;
+            if(index >= buffer.length) {
+                break;
+            }
+            final long prefix = RLPItem.parsePrefix(buffer, index, buffer.length, true, decoder.lenient, 0L);
+            index = RLPItem.dataIndex(prefix) + RLPItem.dataLength(prefix);
+            count++;
+        }
+        return new RLPSequenceSpliterator(decoder, buffer, boundaries, 0, count);
+    }
+
+    private RLPItem item(int i) {
+        try {
+            return decoder.wrap(buffer, boundaries[i], boundaries[i + 1]);
+        } catch (DecodeException de) {
+            throw new AssertionError(de);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super RLPItem> action) {
+        if(origin < fence) {
+            action.accept(item(origin++));
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super RLPItem> action) {
+        final int fence = this.fence;
+        for (int i = origin; i < fence; i++) {
+            action.accept(item(i));
+        }
+        origin = fence;
+    }
+
+    @Override
+    public Spliterator<RLPItem> trySplit() {
+        final int lo = origin;
+        final int mid = (lo + fence) >>> 1;
+        if(mid <= lo) {
+            return null;
+        }
+        origin = mid;
+        return new RLPSequenceSpliterator(decoder, buffer, boundaries, lo, mid);
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - origin;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+}
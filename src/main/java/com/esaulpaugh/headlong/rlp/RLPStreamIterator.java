@@ -2,64 +2,160 @@ package com.esaulpaugh.headlong.rlp;
 
 import com.esaulpaugh.headlong.rlp.exception.DecodeException;
 import com.esaulpaugh.headlong.rlp.exception.UnrecoverableDecodeException;
+import com.esaulpaugh.headlong.rlp.util.Integers;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 
+import static com.esaulpaugh.headlong.rlp.DataType.MIN_LONG_DATA_LEN;
+
+/**
+ * Iterates over the RLP items in an {@link InputStream}. Bytes are read in chunks into a reusable buffer which is
+ * compacted as items are consumed and which grows only when a single item exceeds its capacity, so memory use is
+ * bounded by the largest item rather than by the length of the stream. Each returned item is backed by its own copy of
+ * its encoding and so remains valid indefinitely. Indices in exception messages are relative to the start of the item.
+ *
+ * <p>A polling iterator reads only what {@link InputStream#available()} reports and never blocks; {@link #hasNext()}
+ * returns false until a complete item has arrived. A blocking iterator reads until an item is complete or the stream
+ * ends, which suits files, sockets and decompressing streams whose {@code available()} may be zero.
+ */
 public class RLPStreamIterator {
 
+    static final int CHUNK_SIZE = 8192;
+
     private final RLPDecoder decoder;
     private final InputStream rlpStream;
+    private final boolean blocking;
 
-    private transient byte[] buffer;
-    private transient int index;
+    private byte[] buffer;
+    private int index;
+    private int limit;
+    private boolean eof;
 
-    private transient RLPItem rlpItem;
+    private RLPItem rlpItem;
 
-    RLPStreamIterator(RLPDecoder decoder, InputStream rlpStream) {
+    RLPStreamIterator(RLPDecoder decoder, InputStream rlpStream, boolean blocking) {
         this.decoder = decoder;
         this.rlpStream = rlpStream;
-        this.buffer = new byte[this.index = 0]; // make sure index == buffer.length
+        this.blocking = blocking;
+        this.buffer = new byte[CHUNK_SIZE];
     }
 
     public boolean hasNext() throws IOException, UnrecoverableDecodeException {
         if (rlpItem != null) {
             return true;
         }
-        final int available = rlpStream.available();
-        if (available > 0) {
-            int keptBytes = buffer.length - index;
-            byte[] newBuffer = new byte[keptBytes + available];
-            System.arraycopy(buffer, index, newBuffer, 0, keptBytes);
-            buffer = newBuffer;
-            index = 0;
-            int read = rlpStream.read(buffer, keptBytes, available);
-            if (read != available) {
-                throw new IOException("read failed: " + read + " != " + available);
+        while (true) {
+            final int buffered = limit - index;
+            int required = 1;
+            if (buffered > 0) {
+                required = encodingLength(buffered);
+                if (required <= buffered) {
+                    final byte[] encoding = Arrays.copyOfRange(buffer, index, index + required);
+                    try {
+                        rlpItem = decoder.wrap(encoding, 0);
+                    } catch (DecodeException e) { // can't be recoverable given the whole encoding
+                        throw (UnrecoverableDecodeException) e;
+                    }
+                    index += required;
+                    return true;
+                }
             }
-        }
-        if (index == buffer.length) {
-            return false;
-        }
-        try {
-            rlpItem = decoder.wrap(buffer, index);
-            return true;
-        } catch (DecodeException e) {
-            if (e.isRecoverable()) {
+            if (!fill(required)) {
+                if (eof && limit > index && blocking) {
+                    throw new UnrecoverableDecodeException("stream ended within item: " + (limit - index) + " of " + required + " bytes read");
+                }
                 return false;
             }
-            throw (UnrecoverableDecodeException) e;
         }
     }
 
     public RLPItem next() throws IOException, UnrecoverableDecodeException {
         if(hasNext()) {
-            index = rlpItem.endIndex;
             RLPItem item = rlpItem;
             rlpItem = null;
             return item;
         }
         throw new NoSuchElementException();
     }
+
+    /**
+     * @param buffered  the number of unconsumed bytes, at least one
+     * @return  the length of the next item's encoding, or if it is not yet known, a length greater than {@code buffered}
+     */
+    private int encodingLength(int buffered) throws UnrecoverableDecodeException {
+        final byte lead = buffer[index];
+        final DataType type = DataType.type(lead);
+        final int diff = lead - type.offset;
+        switch (type) {
+        case SINGLE_BYTE: return 1;
+        case STRING_SHORT:
+        case LIST_SHORT: return 1 + diff;
+        case STRING_LONG:
+        case LIST_LONG:
+            final int prefixLen = 1 + diff;
+            if(prefixLen > buffered) {
+                return prefixLen;
+            }
+            final long dataLength;
+            try {
+                dataLength = Integers.getLong(buffer, index + 1, diff);
+            } catch (DecodeException e) {
+                throw (UnrecoverableDecodeException) e;
+            }
+            if(dataLength < MIN_LONG_DATA_LEN) {
+                throw new UnrecoverableDecodeException("long element data length must be " + MIN_LONG_DATA_LEN + " or greater; found: " + dataLength + " for element @ 0");
+            }
+            if(dataLength > Integer.MAX_VALUE - 8 - prefixLen) {
+                throw new UnrecoverableDecodeException("element too large: " + dataLength);
+            }
+            return prefixLen + (int) dataLength;
+        default: throw new AssertionError();
+        }
+    }
+
+    /**
+     * Reads at least one byte unless none are available (when polling) or the stream has ended.
+     *
+     * @param required  the number of unconsumed bytes needed to make progress
+     * @return  true if any bytes were read
+     */
+    private boolean fill(int required) throws IOException {
+        if (eof) {
+            return false;
+        }
+        int toRead;
+        if (blocking) {
+            toRead = 0;
+        } else {
+            toRead = rlpStream.available();
+            if (toRead <= 0) {
+                return false;
+            }
+        }
+        makeRoom(required);
+        final int free = buffer.length - limit;
+        toRead = blocking ? free : Math.min(toRead, free);
+        final int read = rlpStream.read(buffer, limit, toRead);
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        return read > 0;
+    }
+
+    private void makeRoom(int required) {
+        final int buffered = limit - index;
+        if (index > 0 && (buffered == 0 || buffer.length - limit < CHUNK_SIZE || buffer.length - index < required)) {
+            System.arraycopy(buffer, index, buffer, 0, buffered);
+            index = 0;
+            limit = buffered;
+        }
+        if (buffer.length < required || limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length + (buffer.length >> 1)));
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+
+import java.util.Arrays;
+
+/**
+ * Validates an entire RLP item, including every nested element at every depth, in one forward pass without constructing
+ * any {@link RLPItem}s. The ends of the enclosing lists are kept on an explicit stack of ints, which is retained
+ * between calls, so a validator allocates nothing once it has seen its deepest input. Applies exactly the rules that
+ * decoding each element with the given {@link RLPDecoder} would, and throws the same exceptions. Not thread-safe.
+ */
+public final class RLPValidator {
+
+    private final boolean lenient;
+    private int[] containerEnds = new int[16];
+
+    public RLPValidator(RLPDecoder decoder) {
+        this.lenient = decoder.lenient;
+    }
+
+    /**
+     * Validates the item at {@code index} and all of its descendants.
+     *
+     * @param buffer    the array containing the item
+     * @param index the index of the item
+     * @return  the item's end index
+     * @throws DecodeException  if the item or any of its descendants is malformed
+     */
+    public int validate(byte[] buffer, int index) throws DecodeException {
+        int[] containerEnds = this.containerEnds;
+        int depth = 0;
+        int containerEnd = buffer.length;
+        do {
+            final long prefix = RLPItem.parsePrefix(buffer, index, containerEnd, containerEnd == buffer.length, lenient, 0L);
+            final int dataIndex = RLPItem.dataIndex(prefix);
+            final int dataLength = RLPItem.dataLength(prefix);
+            final DataType type = DataType.type(buffer[index]);
+            if(dataLength > 0 && (type == DataType.LIST_SHORT || type == DataType.LIST_LONG)) {
+                if(depth == containerEnds.length) {
+                    this.containerEnds = containerEnds = Arrays.copyOf(containerEnds, depth << 1);
+                }
+                containerEnds[depth++] = containerEnd;
+                containerEnd = dataIndex + dataLength;
+                index = dataIndex;
+                continue;
+            }
+            index = dataIndex + dataLength;
+            while (depth > 0 && index == containerEnd) {
+                containerEnd = containerEnds[--depth];
+            }
+        } while (depth > 0);
+        return index;
+    }
+}
@@ -0,0 +1,249 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.rlp.util.Integers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.esaulpaugh.headlong.rlp.DataType.LIST_LONG_OFFSET;
+import static com.esaulpaugh.headlong.rlp.DataType.LIST_SHORT_OFFSET;
+import static com.esaulpaugh.headlong.rlp.DataType.MIN_LONG_DATA_LEN;
+import static com.esaulpaugh.headlong.rlp.DataType.STRING_LONG_OFFSET;
+import static com.esaulpaugh.headlong.rlp.DataType.STRING_SHORT_OFFSET;
+
+/**
+ * Encodes the same objects as {@link RLPEncoder} ({@code byte[]}s, and {@code Object[]}s and {@link Iterable}s as
+ * lists) in two linear passes. The first pass measures the item and records the data length of every list, in the
+ * order the lists are encountered, on a stack of ints; the second writes the encoding front to back, popping each
+ * list's length as its prefix is written. Each list is therefore measured exactly once regardless of its depth. Output
+ * goes to a new array, to a heap or direct {@link ByteBuffer}, or through an 8 KiB chunk to an {@link OutputStream}.
+ *
+ * <p>Because every list is traversed twice, an {@link Iterable} must yield the same elements on each iteration, so
+ * single-use iterables and collections modified concurrently are not supported; copy them into an array first. A
+ * mismatch between the passes, whether in the number of lists or in the number of bytes written, is reported with an
+ * {@link IllegalStateException}, after part of the encoding may already have been written. Writes to a
+ * {@link ByteBuffer} never go past the measured length.
+ *
+ * <p>The length stack and chunk are retained between calls. Not thread-safe.
+ */
+public final class RLPWriter {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private int[] listDataLengths = new int[16];
+    private int numLists;
+    private int nextList;
+
+    private ByteBuffer chunk;
+    private long flushed;
+
+    /**
+     * @param item  the item to measure
+     * @return  the length of the item's encoding
+     */
+    public int encodedLength(Object item) {
+        numLists = 0;
+        final long len = measure(item);
+        if(len > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("encoding too long: " + len);
+        }
+        return (int) len;
+    }
+
+    public byte[] encode(Object item) {
+        final int len = encodedLength(item);
+        final byte[] dest = new byte[len];
+        write(item, ByteBuffer.wrap(dest), len);
+        return dest;
+    }
+
+    /**
+     * Writes the encoding of the given item at the buffer's position, which is advanced past it.
+     *
+     * @param item  the item to encode
+     * @param dest  the destination
+     * @return  the number of bytes written
+     * @throws BufferOverflowException  if the buffer's remaining capacity is insufficient, in which case nothing is
+     *                                  written
+     */
+    public int encode(Object item, ByteBuffer dest) {
+        final int len = encodedLength(item);
+        if(dest.remaining() < len) {
+            throw new BufferOverflowException();
+        }
+        write(item, dest, len);
+        return len;
+    }
+
+    /**
+     * Writes the encoding of the given item to the stream, in chunks.
+     *
+     * @param item  the item to encode
+     * @param out   the destination
+     * @return  the number of bytes written
+     * @throws IOException  if the stream throws
+     */
+    public int encode(Object item, OutputStream out) throws IOException {
+        final int len = encodedLength(item);
+        ByteBuffer chunk = this.chunk;
+        if(chunk == null) {
+            this.chunk = chunk = ByteBuffer.allocate(CHUNK_SIZE);
+        }
+        chunk.clear();
+        nextList = 0;
+        flushed = 0;
+        writeItem(item, chunk, out);
+        flush(chunk, out);
+        checkWritten(flushed, len);
+        return len;
+    }
+
+    private void write(Object item, ByteBuffer dest, int len) {
+        nextList = 0;
+        final int start = dest.position();
+        final int limit = dest.limit();
+        dest.limit(start + len);
+        try {
+            writeItem(item, dest, null);
+        } catch (BufferOverflowException boe) {
+            throw new IllegalStateException("bytes written > bytes measured: " + len + "; was an Iterable modified?", boe);
+        } catch (IOException io) {
+            throw new AssertionError(io);
+        } finally {
+            dest.limit(limit);
+        }
+        checkWritten(dest.position() - start, len);
+    }
+
+    private void checkWritten(long written, int len) {
+        if(nextList != numLists) {
+            throw new IllegalStateException("lists written != lists measured: " + nextList + " != " + numLists + "; was an Iterable modified?");
+        }
+        if(written != len) {
+            throw new IllegalStateException("bytes written != bytes measured: " + written + " != " + len + "; was an Iterable modified?");
+        }
+    }
+
+    // ----------------------------------------------- pass 1 ----------------------------------------------------------
+
+    private long measure(Object item) {
+        if (item instanceof byte[]) {
+            return RLPEncoder.stringEncodedLen((byte[]) item);
+        }
+        if (item instanceof Object[]) {
+            final int slot = pushList();
+            long dataLen = 0;
+            for (Object e : (Object[]) item) {
+                dataLen += measure(e);
+            }
+            return listEncodedLen(slot, dataLen);
+        }
+        if (item instanceof Iterable<?>) {
+            final int slot = pushList();
+            long dataLen = 0;
+            for (Object e : (Iterable<?>) item) {
+                dataLen += measure(e);
+            }
+            return listEncodedLen(slot, dataLen);
+        }
+        if(item == null) {
+            throw new NullPointerException();
+        }
+        throw new IllegalArgumentException("unsupported object type: " + item.getClass().getName());
+    }
+
+    private int pushList() {
+        if(numLists == listDataLengths.length) {
+            listDataLengths = Arrays.copyOf(listDataLengths, numLists << 1);
+        }
+        return numLists++;
+    }
+
+    private long listEncodedLen(int slot, long dataLen) {
+        if(dataLen > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("encoding too long: " + dataLen);
+        }
+        listDataLengths[slot] = (int) dataLen;
+        return RLPEncoder.prefixLength(dataLen) + dataLen;
+    }
+
+    // ----------------------------------------------- pass 2 ----------------------------------------------------------
+
+    /**
+     * @param out   null if {@code bb} is the final destination, else the stream to which to flush {@code bb}
+     */
+    private void writeItem(Object item, ByteBuffer bb, OutputStream out) throws IOException {
+        if (item instanceof byte[]) {
+            writeString((byte[]) item, bb, out);
+        } else if (item instanceof Object[]) {
+            writeListPrefix(nextListDataLength(), bb, out);
+            for (Object e : (Object[]) item) {
+                writeItem(e, bb, out);
+            }
+        } else if (item instanceof Iterable<?>) {
+            writeListPrefix(nextListDataLength(), bb, out);
+            for (Object e : (Iterable<?>) item) {
+                writeItem(e, bb, out);
+            }
+        } else {
+            throw new IllegalStateException("unexpected element; was an Iterable modified?");
+        }
+    }
+
+    private int nextListDataLength() {
+        if(nextList == numLists) {
+            throw new IllegalStateException("more lists written than measured; was an Iterable modified?");
+        }
+        return listDataLengths[nextList++];
+    }
+
+    private void writeString(byte[] data, ByteBuffer bb, OutputStream out) throws IOException {
+        final int dataLen = data.length;
+        if (dataLen == 1 && data[0] >= 0x00) { // same as (data[0] & 0xFF) < 0x80
+            reserve(1, bb, out);
+            bb.put(data[0]);
+            return;
+        }
+        reserve(1 + Long.BYTES, bb, out);
+        if (dataLen >= MIN_LONG_DATA_LEN) {
+            bb.put((byte) (STRING_LONG_OFFSET + Integers.len(dataLen)));
+            Integers.putLong(dataLen, bb);
+        } else {
+            bb.put((byte) (STRING_SHORT_OFFSET + dataLen));
+        }
+        if(out != null && dataLen > bb.remaining()) {
+            flush(bb, out);
+            if(dataLen > bb.remaining()) {
+                out.write(data);
+                flushed += dataLen;
+                return;
+            }
+        }
+        bb.put(data);
+    }
+
+    private void writeListPrefix(int dataLen, ByteBuffer bb, OutputStream out) throws IOException {
+        reserve(1 + Long.BYTES, bb, out);
+        if (dataLen >= MIN_LONG_DATA_LEN) {
+            bb.put((byte) (LIST_LONG_OFFSET + Integers.len(dataLen)));
+            Integers.putLong(dataLen, bb);
+        } else {
+            bb.put((byte) (LIST_SHORT_OFFSET + dataLen));
+        }
+    }
+
+    private void reserve(int n, ByteBuffer bb, OutputStream out) throws IOException {
+        if(out != null && bb.remaining() < n) {
+            flush(bb, out);
+        }
+    }
+
+    private void flush(ByteBuffer chunk, OutputStream out) throws IOException {
+        out.write(chunk.array(), chunk.arrayOffset(), chunk.position());
+        flushed += chunk.position();
+        chunk.clear();
+    }
+}
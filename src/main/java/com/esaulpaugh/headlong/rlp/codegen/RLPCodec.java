@@ -0,0 +1,24 @@
+package com.esaulpaugh.headlong.rlp.codegen;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class for which {@link RLPCodecProcessor} generates an {@link com.esaulpaugh.headlong.example.RLPAdapter}
+ * named {@code <SimpleName>RLPAdapter} in the same package (for a member class, the enclosing class names are
+ * prepended, joined by underscores). The class is encoded as an RLP list of its non-static,
+ * non-transient fields in declaration order. Fields must not be private and may be of type {@code long}, {@code int},
+ * {@code short}, {@code byte}, {@code char}, {@code boolean}, {@code byte[]}, {@link String} (UTF-8),
+ * {@link java.math.BigInteger} or another class annotated with {@code @RLPCodec}. {@code BigInteger}s are encoded as
+ * minimal unsigned integers, like {@code long}s, so zero is the empty string; encoding a negative {@code BigInteger}
+ * throws {@link IllegalArgumentException}. The class must declare a non-private constructor whose parameter types are
+ * those of the fields, in the same order.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface RLPCodec {
+}
@@ -0,0 +1,311 @@
+package com.esaulpaugh.headlong.rlp.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates straight-line RLP adapters for classes annotated with {@link RLPCodec}. Each generated adapter encodes
+ * directly into a {@code byte[]} via {@link com.esaulpaugh.headlong.rlp.RLPEncoder#insertLong(long, byte[], int)}
+ * and {@link com.esaulpaugh.headlong.rlp.RLPEncoder#insertString(byte[], byte[], int)}, and decodes with an
+ * {@link com.esaulpaugh.headlong.rlp.RLPCursor}, so that neither direction boxes primitives or builds an
+ * {@code Object[]}. The generated {@code encodedLength} measures {@code String} and {@code BigInteger} fields without
+ * encoding them, so that {@code encode} converts each such field to bytes only once, in {@code write}.
+ */
+public final class RLPCodecProcessor extends AbstractProcessor {
+
+    private static final String ADAPTER_SUFFIX = "RLPAdapter";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(RLPCodec.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element e : roundEnv.getElementsAnnotatedWith(RLPCodec.class)) {
+            if(e.getKind() != ElementKind.CLASS || e.getModifiers().contains(Modifier.ABSTRACT)) {
+                error(e, "@RLPCodec requires a concrete class");
+                continue;
+            }
+            final TypeElement type = (TypeElement) e;
+            final List<Field> fields = fields(type);
+            if(fields != null && hasConstructor(type, fields)) {
+                try {
+                    generate(type, fields);
+                } catch (IOException io) {
+                    error(type, "failed to write adapter: " + io.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    private void error(Element e, String msg) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg, e);
+    }
+
+    private enum Kind {
+        LONG, INT, SHORT, BYTE, CHAR, BOOLEAN, BYTES, STRING, BIG_INTEGER, CODEC
+    }
+
+    private static final class Field {
+        final String name;
+        final TypeMirror type;
+        final Kind kind;
+
+        Field(String name, TypeMirror type, Kind kind) {
+            this.name = name;
+            this.type = type;
+            this.kind = kind;
+        }
+    }
+
+    private List<Field> fields(TypeElement type) {
+        final List<Field> fields = new ArrayList<>();
+        boolean valid = true;
+        for (VariableElement v : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            final Set<Modifier> modifiers = v.getModifiers();
+            if(modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            if(modifiers.contains(Modifier.PRIVATE)) {
+                error(v, "@RLPCodec field must not be private");
+                valid = false;
+                continue;
+            }
+            final Kind kind = kind(v.asType());
+            if(kind == null) {
+                error(v, "unsupported @RLPCodec field type: " + v.asType());
+                valid = false;
+                continue;
+            }
+            fields.add(new Field(v.getSimpleName().toString(), v.asType(), kind));
+        }
+        return valid ? fields : null;
+    }
+
+    private static Kind kind(TypeMirror t) {
+        switch (t.getKind()) {
+        case LONG: return Kind.LONG;
+        case INT: return Kind.INT;
+        case SHORT: return Kind.SHORT;
+        case BYTE: return Kind.BYTE;
+        case CHAR: return Kind.CHAR;
+        case BOOLEAN: return Kind.BOOLEAN;
+        case ARRAY: return ((ArrayType) t).getComponentType().getKind() == TypeKind.BYTE ? Kind.BYTES : null;
+        case DECLARED:
+            final TypeElement element = (TypeElement) ((DeclaredType) t).asElement();
+            final String name = element.getQualifiedName().toString();
+            if("java.lang.String".equals(name)) {
+                return Kind.STRING;
+            }
+            if("java.math.BigInteger".equals(name)) {
+                return Kind.BIG_INTEGER;
+            }
+            return element.getAnnotation(RLPCodec.class) != null ? Kind.CODEC : null;
+        default: return null;
+        }
+    }
+
+    private boolean hasConstructor(TypeElement type, List<Field> fields) {
+        for (ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if(c.getModifiers().contains(Modifier.PRIVATE) || c.getParameters().size() != fields.size()) {
+                continue;
+            }
+            boolean match = true;
+            for (int i = 0; i < fields.size(); i++) {
+                if(!processingEnv.getTypeUtils().isSameType(c.getParameters().get(i).asType(), fields.get(i).type)) {
+                    match = false;
+                    break;
+                }
+            }
+            if(match) {
+                return true;
+            }
+        }
+        final StringBuilder sb = new StringBuilder("@RLPCodec class requires a non-private constructor (");
+        for (int i = 0; i < fields.size(); i++) {
+            sb.append(i > 0 ? ", " : "").append(fields.get(i).type);
+        }
+        error(type, sb.append(')').toString());
+        return false;
+    }
+
+    private String packageName(TypeElement type) {
+        final PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+        return pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+    }
+
+    /**
+     * @return  the adapter's simple name, e.g. {@code Outer_InnerRLPAdapter} for {@code Outer.Inner}
+     */
+    private String adapterName(TypeElement type) {
+        final String pkg = packageName(type);
+        final String qualified = type.getQualifiedName().toString();
+        return (pkg.isEmpty() ? qualified : qualified.substring(pkg.length() + 1)).replace('.', '_') + ADAPTER_SUFFIX;
+    }
+
+    private String adapterName(TypeMirror type) {
+        final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        final String pkg = packageName(element);
+        return (pkg.isEmpty() ? "" : pkg + '.') + adapterName(element);
+    }
+
+    private void generate(TypeElement type, List<Field> fields) throws IOException {
+        final String pkg = packageName(type);
+        final String adapter = adapterName(type);
+        final String t = type.getQualifiedName().toString();
+
+        final StringBuilder sb = new StringBuilder();
+        if(!pkg.isEmpty()) {
+            sb.append("package ").append(pkg).append(";\n\n");
+        }
+        sb.append("import com.esaulpaugh.headlong.example.RLPAdapter;\n")
+                .append("import com.esaulpaugh.headlong.rlp.RLPCursor;\n")
+                .append("import com.esaulpaugh.headlong.rlp.RLPEncoder;\n")
+                .append("import com.esaulpaugh.headlong.rlp.exception.DecodeException;\n")
+                .append("import com.esaulpaugh.headlong.rlp.exception.UnrecoverableDecodeException;\n")
+                .append("import com.esaulpaugh.headlong.util.Strings;\n\n")
+                .append("import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;\n\n")
+                .append("/**\n * Generated by {@link ").append(RLPCodecProcessor.class.getName()).append("} from {@link ").append(t).append("}. Do not edit.\n */\n")
+                .append("public final class ").append(adapter).append(" implements RLPAdapter<").append(t).append("> {\n\n");
+
+        // encodedLength, without encoding Strings or BigIntegers
+        sb.append("    public static int encodedLength(").append(t).append(" t) {\n")
+                .append("        final int dataLen = 0");
+        for (Field f : fields) {
+            sb.append("\n                + ").append(lengthExpr(f, "t." + f.name));
+        }
+        sb.append(";\n        return RLPEncoder.prefixLength(dataLen) + dataLen;\n    }\n\n");
+
+        // write, encoding each String once
+        sb.append("    public static int write(").append(t).append(" t, byte[] dest, int i) {\n");
+        for (int i = 0; i < fields.size(); i++) {
+            final Field f = fields.get(i);
+            if(f.kind == Kind.STRING) {
+                sb.append("        final byte[] f").append(i).append(" = Strings.decode(t.").append(f.name).append(", Strings.UTF_8);\n");
+            }
+        }
+        sb.append("        final int dataLen = 0");
+        for (int i = 0; i < fields.size(); i++) {
+            final Field f = fields.get(i);
+            sb.append("\n                + ").append(f.kind == Kind.STRING ? "RLPEncoder.encodedLen(f" + i + ")" : lengthExpr(f, "t." + f.name));
+        }
+        sb.append(";\n        i = RLPEncoder.insertListPrefix(dataLen, dest, i);\n");
+        for (int i = 0; i < fields.size(); i++) {
+            final Field f = fields.get(i);
+            sb.append("        i = ").append(writeExpr(f, f.kind == Kind.STRING ? "f" + i : "t." + f.name)).append(";\n");
+        }
+        sb.append("        return i;\n    }\n\n");
+
+        // read
+        sb.append("    /**\n     * Decodes the cursor's current item, leaving the cursor on it.\n     */\n")
+                .append("    public static ").append(t).append(" read(RLPCursor c) throws DecodeException {\n")
+                .append("        if(!c.isList()) {\n")
+                .append("            throw new UnrecoverableDecodeException(\"expected list for ").append(type.getSimpleName()).append(" @ \" + c.index());\n")
+                .append("        }\n")
+                .append("        c.enterList();\n")
+                .append("        final ").append(t).append(" t = new ").append(t).append('(');
+        for (int i = 0; i < fields.size(); i++) {
+            sb.append(i > 0 ? "," : "").append("\n                ").append(readExpr(fields.get(i)));
+        }
+        sb.append("\n        );\n")
+                .append("        if(c.hasNext()) {\n")
+                .append("            throw new UnrecoverableDecodeException(\"too many elements for ").append(type.getSimpleName()).append(" @ \" + c.next().index());\n")
+                .append("        }\n")
+                .append("        c.exitList();\n")
+                .append("        return t;\n    }\n\n");
+
+        sb.append("    private static RLPCursor next(RLPCursor c) throws DecodeException {\n")
+                .append("        if(!c.hasNext()) {\n")
+                .append("            throw new UnrecoverableDecodeException(\"too few elements for ").append(type.getSimpleName()).append("\");\n")
+                .append("        }\n")
+                .append("        return c.next();\n    }\n\n");
+
+        sb.append("    @Override\n    public ").append(t).append(" decode(byte[] rlp, int index) throws DecodeException {\n")
+                .append("        return read(new RLPCursor(RLP_STRICT).reset(rlp, index, rlp.length).next());\n    }\n\n")
+                .append("    @Override\n    public byte[] encode(").append(t).append(" t) {\n")
+                .append("        final byte[] dest = new byte[encodedLength(t)];\n")
+                .append("        write(t, dest, 0);\n")
+                .append("        return dest;\n    }\n}\n");
+
+        final String name = pkg.isEmpty() ? adapter : pkg + '.' + adapter;
+        try (Writer w = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+            w.write(sb.toString());
+        }
+    }
+
+    /**
+     * @return  an expression for the value as a long, such that it decodes from at most as many bytes as the type has
+     */
+    private static String longExpr(Field f, String v) {
+        switch (f.kind) {
+        case INT: return "(" + v + " & 0xFFFFFFFFL)";
+        case SHORT: return "(" + v + " & 0xFFFFL)";
+        case BYTE: return "(" + v + " & 0xFFL)";
+        case BOOLEAN: return "(" + v + " ? 1L : 0L)";
+        default: return v; // long, char
+        }
+    }
+
+    private String lengthExpr(Field f, String v) {
+        switch (f.kind) {
+        case BYTES:
+        case BIG_INTEGER: return "RLPEncoder.encodedLen(" + v + ")";
+        case STRING: return "RLPEncoder.encodedLenUtf8(" + v + ")";
+        case CODEC: return adapterName(f.type) + ".encodedLength(" + v + ")";
+        default: return "(int) RLPEncoder.encodedLen(" + longExpr(f, v) + ")";
+        }
+    }
+
+    private String writeExpr(Field f, String v) {
+        switch (f.kind) {
+        case BYTES:
+        case STRING: return "RLPEncoder.insertString(" + v + ", dest, i)";
+        case BIG_INTEGER: return "RLPEncoder.insertBigInt(" + v + ", dest, i)";
+        case CODEC: return adapterName(f.type) + ".write(" + v + ", dest, i)";
+        default: return "RLPEncoder.insertLong(" + longExpr(f, v) + ", dest, i)";
+        }
+    }
+
+    private String readExpr(Field f) {
+        switch (f.kind) {
+        case LONG: return "next(c).asLong()";
+        case INT: return "next(c).asInt()";
+        case SHORT: return "next(c).asShort()";
+        case BYTE: return "next(c).asByte()";
+        case CHAR: return "(char) next(c).asShort()";
+        case BOOLEAN: return "next(c).asBoolean()";
+        case BYTES: return "next(c).data()";
+        case STRING: return "next(c).asString(Strings.UTF_8)";
+        case BIG_INTEGER: return "next(c).asUnsignedBigInt()";
+        case CODEC: return adapterName(f.type) + ".read(next(c))";
+        default: throw new AssertionError();
+        }
+    }
+}
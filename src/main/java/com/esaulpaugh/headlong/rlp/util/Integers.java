@@ -6,6 +6,7 @@ import com.esaulpaugh.headlong.util.BizarroIntegers;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import static com.esaulpaugh.headlong.util.Utils.EMPTY_BYTE_ARRAY;
 
@@ -358,6 +359,29 @@ public class Integers {
         }
     }
 
+    /**
+     * Like {@link #getLong(byte[], int, int)}, but reads with absolute gets, leaving the buffer's position unchanged.
+     *
+     * @param buffer    the buffer containing the integer's representation
+     * @param i the buffer index locating the integer
+     * @param len  the length in bytes of the integer's representation, without leading zeroes
+     * @return  the integer
+     * @throws DecodeException  if the integer's representation is found to have leading zeroes
+     */
+    public static long getLong(final ByteBuffer buffer, final int i, final int len) throws DecodeException {
+        if(len < 0 || len > Long.BYTES) {
+            throw new UnrecoverableDecodeException(new IllegalArgumentException("len is out of range: " + len));
+        }
+        if(len > 0 && buffer.get(i) == 0) {
+            throw new UnrecoverableDecodeException("deserialised integers with leading zeroes are invalid; index: " + i + ", len: " + len);
+        }
+        long val = 0L;
+        for (int j = 0; j < len; j++) {
+            val = (val << Byte.SIZE) | (buffer.get(i + j) & 0xFFL);
+        }
+        return val;
+    }
+
     /**
      * Returns the byte length of an integer's minimal (without leading zeroes) two's complement representation. The
      * integer zero always has zero length.
@@ -519,6 +543,27 @@ public class Integers {
         return new BigInteger(dest);
     }
 
+    /**
+     * Retrieves a non-negative integer from its minimal big-endian unsigned representation, as written by
+     * {@link com.esaulpaugh.headlong.rlp.RLPEncoder#insertBigInt(BigInteger, byte[], int)}. The empty representation is
+     * zero. Representations shorter than eight bytes are read without copying.
+     *
+     * @param buffer    the array containing the integer's representation
+     * @param i the array index locating the integer
+     * @param len  the length in bytes of the integer's representation, without leading zeroes
+     * @return  the integer
+     * @throws DecodeException  if the integer's representation is found to have leading zeroes
+     */
+    public static BigInteger getUnsignedBigInt(byte[] buffer, int i, int len) throws DecodeException {
+        if(len < Long.BYTES) {
+            return BigInteger.valueOf(getLong(buffer, i, len));
+        }
+        if(buffer[i] == 0) {
+            throw new UnrecoverableDecodeException("deserialised integers with leading zeroes are invalid; index: " + i + ", len: " + len);
+        }
+        return new BigInteger(1, Arrays.copyOfRange(buffer, i, i + len));
+    }
+
     public static int putBigInt(BigInteger val, byte[] o, int i) {
         byte[] bytes = val.toByteArray();
         final int len = bytes.length;
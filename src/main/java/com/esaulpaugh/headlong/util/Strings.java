@@ -50,6 +50,32 @@ public class Strings {
         }
     }
 
+    /**
+     * Returns {@code s.getBytes(CHARSET_UTF_8).length} without encoding the string. Unpaired surrogates count as one
+     * byte each, as they are replaced with {@code '?'} when encoded.
+     *
+     * @param s the string
+     * @return  the length of the string's UTF-8 encoding
+     */
+    public static int utf8Length(String s) {
+        final int len = s.length();
+        int n = len;
+        for (int i = 0; i < len; i++) {
+            final char c = s.charAt(i);
+            if(c >= 0x80) {
+                if(c < 0x800) {
+                    n++;
+                } else if(!Character.isSurrogate(c)) {
+                    n += 2;
+                } else if(Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    n += 2; // four bytes for two chars
+                    i++;
+                }
+            }
+        }
+        return n;
+    }
+
     private static byte[] fromUtf8(String utf8) {
         if(utf8.isEmpty()) {
             return EMPTY_BYTE_ARRAY;
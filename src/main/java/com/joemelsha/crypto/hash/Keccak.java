@@ -3,6 +3,8 @@ package com.joemelsha.crypto.hash;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.security.MessageDigest;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * @author Joseph Robert Melsha (joe.melsha@live.com)
@@ -285,6 +287,240 @@ public class Keccak extends MessageDigest {
         }
     }
 
+    // ------------------------------------------------ midstate -------------------------------------------------------
+
+    /**
+     * The length of a snapshot: the sponge state plus one word recording how much of the current block is absorbed.
+     */
+    public static final int SNAPSHOT_LENGTH = MAX_STATE_SIZE_WORDS + 1;
+
+    public long[] snapshot() {
+        final long[] midstate = new long[SNAPSHOT_LENGTH];
+        snapshot(midstate);
+        return midstate;
+    }
+
+    /**
+     * Copies the state of this digest, e.g. after absorbing a shared prefix, so that it can later be resumed with
+     * {@link #restore(long[])} instead of absorbing the prefix again.
+     *
+     * @param dest  the caller-owned destination, of length at least {@link #SNAPSHOT_LENGTH}
+     */
+    public void snapshot(long[] dest) {
+        checkSnapshotLength(dest);
+        System.arraycopy(state, 0, dest, 0, MAX_STATE_SIZE_WORDS);
+        dest[MAX_STATE_SIZE_WORDS] = rateBits;
+    }
+
+    /**
+     * Replaces the state of this digest with a snapshot taken from a digest of the same algorithm. The snapshot is not
+     * modified and may be restored any number of times.
+     *
+     * @param midstate  the snapshot
+     */
+    public void restore(long[] midstate) {
+        checkSnapshotLength(midstate);
+        final long rateBits = midstate[MAX_STATE_SIZE_WORDS];
+        if (rateBits < 0 || rateBits > rateSizeBits) {
+            throw new IllegalArgumentException("invalid snapshot rateBits: " + rateBits);
+        }
+        System.arraycopy(midstate, 0, state, 0, MAX_STATE_SIZE_WORDS);
+        this.rateBits = (int) rateBits;
+        this.out = null;
+    }
+
+    private static void checkSnapshotLength(long[] arr) {
+        if (arr.length < SNAPSHOT_LENGTH) {
+            throw new IllegalArgumentException("snapshot array too short: " + arr.length + " < " + SNAPSHOT_LENGTH);
+        }
+    }
+
+    // ------------------------------------------------ batch ----------------------------------------------------------
+
+    /**
+     * Hashes each input independently, writing the digests consecutively to {@code out}. Messages are absorbed straight
+     * from their arrays and padded in place, and are hashed in pairs whose permutations run in lockstep. Does not use or
+     * affect the state of this digest, so a single instance may be shared among threads for this purpose.
+     *
+     * @param inputs    the messages
+     * @param out   the destination, of length at least {@code inputs.length * getDigestLength()}
+     */
+    public void hashAll(byte[][] inputs, byte[] out) {
+        hashAll(inputs, out, 0);
+    }
+
+    public void hashAll(byte[][] inputs, byte[] out, int outOffset) {
+        checkBatch(inputs, out, outOffset);
+        hashRange(inputs, 0, inputs.length, out, outOffset);
+    }
+
+    /**
+     * Like {@link #hashAll(byte[][], byte[])} but splits large batches among the threads of the common fork-join pool.
+     */
+    public void hashAllParallel(byte[][] inputs, byte[] out) {
+        hashAllParallel(inputs, out, 0, ForkJoinPool.commonPool());
+    }
+
+    public void hashAllParallel(byte[][] inputs, byte[] out, int outOffset, ForkJoinPool pool) {
+        checkBatch(inputs, out, outOffset);
+        if (inputs.length <= PARALLEL_THRESHOLD) {
+            hashRange(inputs, 0, inputs.length, out, outOffset);
+        } else {
+            pool.invoke(new BatchTask(inputs, 0, inputs.length, out, outOffset));
+        }
+    }
+
+    /* the number of messages below which a batch is not split further */
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final class BatchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = -5172963427353036148L;
+
+        private final byte[][] inputs;
+        private final int from, to;
+        private final byte[] out;
+        private final int outOffset;
+
+        BatchTask(byte[][] inputs, int from, int to, byte[] out, int outOffset) {
+            this.inputs = inputs;
+            this.from = from;
+            this.to = to;
+            this.out = out;
+            this.outOffset = outOffset;
+        }
+
+        @Override
+        protected void compute() {
+            final int n = to - from;
+            if (n <= PARALLEL_THRESHOLD) {
+                hashRange(inputs, from, to, out, outOffset);
+                return;
+            }
+            final int mid = from + (n >>> 1);
+            invokeAll(
+                    new BatchTask(inputs, from, mid, out, outOffset),
+                    new BatchTask(inputs, mid, to, out, outOffset + (mid - from) * digestSizeBytes)
+            );
+        }
+    }
+
+    private void checkBatch(byte[][] inputs, byte[] out, int outOffset) {
+        final long required = (long) inputs.length * digestSizeBytes;
+        if (outOffset < 0 || outOffset + required > out.length) {
+            throw new IllegalArgumentException("output too short: " + (out.length - outOffset) + " < " + required);
+        }
+    }
+
+    private void hashRange(byte[][] inputs, int from, int to, byte[] out, int outOffset) {
+        final long[] a = new long[MAX_STATE_SIZE_WORDS];
+        final long[] b = new long[MAX_STATE_SIZE_WORDS];
+        final int rateBytes = rateSizeWords << 3;
+        int i = from;
+        for ( ; i + 1 < to; i += 2) {
+            final byte[] x = inputs[i];
+            final byte[] y = inputs[i + 1];
+            final int xBlocks = x.length / rateBytes + 1; // the last block holds the padding
+            final int yBlocks = y.length / rateBytes + 1;
+            final int both = Math.min(xBlocks, yBlocks);
+            int k = 0;
+            for ( ; k < both; k++) {
+                absorbBlock(a, x, k * rateBytes);
+                absorbBlock(b, y, k * rateBytes);
+                keccak(a, b);
+            }
+            for ( ; k < xBlocks; k++) {
+                absorbBlock(a, x, k * rateBytes);
+                keccak(a);
+            }
+            for ( ; k < yBlocks; k++) {
+                absorbBlock(b, y, k * rateBytes);
+                keccak(b);
+            }
+            outOffset = squeeze(a, out, outOffset);
+            outOffset = squeeze(b, out, outOffset);
+        }
+        if (i < to) {
+            final byte[] x = inputs[i];
+            final int xBlocks = x.length / rateBytes + 1;
+            for (int k = 0; k < xBlocks; k++) {
+                absorbBlock(a, x, k * rateBytes);
+                keccak(a);
+            }
+            squeeze(a, out, outOffset);
+        }
+    }
+
+    /**
+     * XORs one block of the message into the state, applying Keccak padding if the block is the last.
+     */
+    private void absorbBlock(long[] state, byte[] in, int offset) {
+        final int rateSizeWords = this.rateSizeWords;
+        int len = in.length - offset;
+        if (len >= rateSizeWords << 3) {
+            for (int w = 0; w < rateSizeWords; w++, offset += 8) {
+                state[w] ^= getLongLE(in, offset);
+            }
+            return;
+        }
+        int w = 0;
+        for ( ; len >= 8; w++, offset += 8, len -= 8) {
+            state[w] ^= getLongLE(in, offset);
+        }
+        long last = 0x1L << (len << 3); // Keccak padding: 1
+        while (--len >= 0) {
+            last |= (in[offset + len] & 0xFFL) << (len << 3);
+        }
+        state[w] ^= last;
+        state[rateSizeWords - 1] ^= 0x8000000000000000L;
+    }
+
+    /**
+     * Writes the digest to {@code out} and clears the state for the next message.
+     *
+     * @return  the offset following the digest
+     */
+    private int squeeze(long[] state, byte[] out, int offset) {
+        final int digestWords = digestSizeBytes >>> 3;
+        int w = 0;
+        for ( ; w < digestWords; w++, offset += 8) {
+            putLongLE(state[w], out, offset);
+        }
+        final int remaining = digestSizeBytes & 0b111;
+        if (remaining > 0) {
+            final long x = state[w];
+            for (int j = 0; j < remaining; j++) {
+                out[offset++] = (byte) (x >>> (j << 3));
+            }
+        }
+        for (int i = 0; i < MAX_STATE_SIZE_WORDS; i++) {
+            state[i] = 0L;
+        }
+        return offset;
+    }
+
+    static long getLongLE(byte[] in, int i) {
+        return (in[i] & 0xFFL)
+                | (in[i + 1] & 0xFFL) << 8
+                | (in[i + 2] & 0xFFL) << 16
+                | (in[i + 3] & 0xFFL) << 24
+                | (in[i + 4] & 0xFFL) << 32
+                | (in[i + 5] & 0xFFL) << 40
+                | (in[i + 6] & 0xFFL) << 48
+                | (long) in[i + 7] << 56;
+    }
+
+    static void putLongLE(long x, byte[] out, int i) {
+        out[i] = (byte) x;
+        out[i + 1] = (byte) (x >>> 8);
+        out[i + 2] = (byte) (x >>> 16);
+        out[i + 3] = (byte) (x >>> 24);
+        out[i + 4] = (byte) (x >>> 32);
+        out[i + 5] = (byte) (x >>> 40);
+        out[i + 6] = (byte) (x >>> 48);
+        out[i + 7] = (byte) (x >>> 56);
+    }
+
     protected void pad() {
         updateBits(0x1L, 1); // Keccak padding: 1
 //        updateBits(0x6L, 3); // SHA-3 padding:011 (little-endian) = 0x6
@@ -329,7 +565,7 @@ public class Keccak extends MessageDigest {
         this.rateBits = rateBits + inBits;
     }
 
-    private static void keccak(long[] a) {
+    static void keccak(long[] a) {
         int c, i;
         long x, a_10_;
         long x0, x1, x2, x3, x4;
@@ -404,6 +640,131 @@ public class Keccak extends MessageDigest {
         } while (i < 24);
     }
 
+    /**
+     * Applies the permutation to two independent states in lockstep, interleaving the two dependency chains statement
+     * by statement so that the processor can overlap them.
+     */
+    private static void keccak(long[] a, long[] b) {
+        int c, i;
+        long x, a_10_, y, b_10_;
+        long x0, x1, x2, x3, x4;
+        long y0, y1, y2, y3, y4;
+        long t0, t1, t2, t3, t4;
+        long u0, u1, u2, u3, u4;
+        long c0, c1, c2, c3, c4;
+        long d0, d1, d2, d3, d4;
+        final long[] rc = RC;
+
+        i = 0;
+        do {
+            //theta (precalculation part)
+            c0 = a[0] ^ a[5 + 0] ^ a[10 + 0] ^ a[15 + 0] ^ a[20 + 0];
+            d0 = b[0] ^ b[5 + 0] ^ b[10 + 0] ^ b[15 + 0] ^ b[20 + 0];
+            c1 = a[1] ^ a[5 + 1] ^ a[10 + 1] ^ a[15 + 1] ^ a[20 + 1];
+            d1 = b[1] ^ b[5 + 1] ^ b[10 + 1] ^ b[15 + 1] ^ b[20 + 1];
+            c2 = a[2] ^ a[5 + 2] ^ a[10 + 2] ^ a[15 + 2] ^ a[20 + 2];
+            d2 = b[2] ^ b[5 + 2] ^ b[10 + 2] ^ b[15 + 2] ^ b[20 + 2];
+            c3 = a[3] ^ a[5 + 3] ^ a[10 + 3] ^ a[15 + 3] ^ a[20 + 3];
+            d3 = b[3] ^ b[5 + 3] ^ b[10 + 3] ^ b[15 + 3] ^ b[20 + 3];
+            c4 = a[4] ^ a[5 + 4] ^ a[10 + 4] ^ a[15 + 4] ^ a[20 + 4];
+            d4 = b[4] ^ b[5 + 4] ^ b[10 + 4] ^ b[15 + 4] ^ b[20 + 4];
+
+            t0 = (c0 << 1) ^ (c0 >>> (64 - 1)) ^ c3;
+            u0 = (d0 << 1) ^ (d0 >>> (64 - 1)) ^ d3;
+            t1 = (c1 << 1) ^ (c1 >>> (64 - 1)) ^ c4;
+            u1 = (d1 << 1) ^ (d1 >>> (64 - 1)) ^ d4;
+            t2 = (c2 << 1) ^ (c2 >>> (64 - 1)) ^ c0;
+            u2 = (d2 << 1) ^ (d2 >>> (64 - 1)) ^ d0;
+            t3 = (c3 << 1) ^ (c3 >>> (64 - 1)) ^ c1;
+            u3 = (d3 << 1) ^ (d3 >>> (64 - 1)) ^ d1;
+            t4 = (c4 << 1) ^ (c4 >>> (64 - 1)) ^ c2;
+            u4 = (d4 << 1) ^ (d4 >>> (64 - 1)) ^ d2;
+
+            //theta (xorring part) + rho + pi
+            a[ 0] ^= t1;
+            b[ 0] ^= u1;
+            x = a[ 1] ^ t2; a_10_ = (x <<  1) | (x >>> (64 -  1));
+            y = b[ 1] ^ u2; b_10_ = (y <<  1) | (y >>> (64 -  1));
+            x = a[ 6] ^ t2; a[ 1] = (x << 44) | (x >>> (64 - 44));
+            y = b[ 6] ^ u2; b[ 1] = (y << 44) | (y >>> (64 - 44));
+            x = a[ 9] ^ t0; a[ 6] = (x << 20) | (x >>> (64 - 20));
+            y = b[ 9] ^ u0; b[ 6] = (y << 20) | (y >>> (64 - 20));
+            x = a[22] ^ t3; a[ 9] = (x << 61) | (x >>> (64 - 61));
+            y = b[22] ^ u3; b[ 9] = (y << 61) | (y >>> (64 - 61));
+
+            x = a[14] ^ t0; a[22] = (x << 39) | (x >>> (64 - 39));
+            y = b[14] ^ u0; b[22] = (y << 39) | (y >>> (64 - 39));
+            x = a[20] ^ t1; a[14] = (x << 18) | (x >>> (64 - 18));
+            y = b[20] ^ u1; b[14] = (y << 18) | (y >>> (64 - 18));
+            x = a[ 2] ^ t3; a[20] = (x << 62) | (x >>> (64 - 62));
+            y = b[ 2] ^ u3; b[20] = (y << 62) | (y >>> (64 - 62));
+            x = a[12] ^ t3; a[ 2] = (x << 43) | (x >>> (64 - 43));
+            y = b[12] ^ u3; b[ 2] = (y << 43) | (y >>> (64 - 43));
+            x = a[13] ^ t4; a[12] = (x << 25) | (x >>> (64 - 25));
+            y = b[13] ^ u4; b[12] = (y << 25) | (y >>> (64 - 25));
+
+            x = a[19] ^ t0; a[13] = (x <<  8) | (x >>> (64 -  8));
+            y = b[19] ^ u0; b[13] = (y <<  8) | (y >>> (64 -  8));
+            x = a[23] ^ t4; a[19] = (x << 56) | (x >>> (64 - 56));
+            y = b[23] ^ u4; b[19] = (y << 56) | (y >>> (64 - 56));
+            x = a[15] ^ t1; a[23] = (x << 41) | (x >>> (64 - 41));
+            y = b[15] ^ u1; b[23] = (y << 41) | (y >>> (64 - 41));
+            x = a[ 4] ^ t0; a[15] = (x << 27) | (x >>> (64 - 27));
+            y = b[ 4] ^ u0; b[15] = (y << 27) | (y >>> (64 - 27));
+            x = a[24] ^ t0; a[ 4] = (x << 14) | (x >>> (64 - 14));
+            y = b[24] ^ u0; b[ 4] = (y << 14) | (y >>> (64 - 14));
+
+            x = a[21] ^ t2; a[24] = (x <<  2) | (x >>> (64 -  2));
+            y = b[21] ^ u2; b[24] = (y <<  2) | (y >>> (64 -  2));
+            x = a[ 8] ^ t4; a[21] = (x << 55) | (x >>> (64 - 55));
+            y = b[ 8] ^ u4; b[21] = (y << 55) | (y >>> (64 - 55));
+            x = a[16] ^ t2; a[ 8] = (x << 45) | (x >>> (64 - 45));
+            y = b[16] ^ u2; b[ 8] = (y << 45) | (y >>> (64 - 45));
+            x = a[ 5] ^ t1; a[16] = (x << 36) | (x >>> (64 - 36));
+            y = b[ 5] ^ u1; b[16] = (y << 36) | (y >>> (64 - 36));
+            x = a[ 3] ^ t4; a[ 5] = (x << 28) | (x >>> (64 - 28));
+            y = b[ 3] ^ u4; b[ 5] = (y << 28) | (y >>> (64 - 28));
+
+            x = a[18] ^ t4; a[ 3] = (x << 21) | (x >>> (64 - 21));
+            y = b[18] ^ u4; b[ 3] = (y << 21) | (y >>> (64 - 21));
+            x = a[17] ^ t3; a[18] = (x << 15) | (x >>> (64 - 15));
+            y = b[17] ^ u3; b[18] = (y << 15) | (y >>> (64 - 15));
+            x = a[11] ^ t2; a[17] = (x << 10) | (x >>> (64 - 10));
+            y = b[11] ^ u2; b[17] = (y << 10) | (y >>> (64 - 10));
+            x = a[ 7] ^ t3; a[11] = (x <<  6) | (x >>> (64 -  6));
+            y = b[ 7] ^ u3; b[11] = (y <<  6) | (y >>> (64 -  6));
+            x = a[10] ^ t1; a[ 7] = (x <<  3) | (x >>> (64 -  3));
+            y = b[10] ^ u1; b[ 7] = (y <<  3) | (y >>> (64 -  3));
+            a[10] = a_10_;
+            b[10] = b_10_;
+
+            //chi
+            c = 0;
+            do {
+                x0 = a[c + 0]; x1 = a[c + 1]; x2 = a[c + 2]; x3 = a[c + 3]; x4 = a[c + 4];
+                y0 = b[c + 0]; y1 = b[c + 1]; y2 = b[c + 2]; y3 = b[c + 3]; y4 = b[c + 4];
+                a[c + 0] = x0 ^ ((~x1) & x2);
+                b[c + 0] = y0 ^ ((~y1) & y2);
+                a[c + 1] = x1 ^ ((~x2) & x3);
+                b[c + 1] = y1 ^ ((~y2) & y3);
+                a[c + 2] = x2 ^ ((~x3) & x4);
+                b[c + 2] = y2 ^ ((~y3) & y4);
+                a[c + 3] = x3 ^ ((~x4) & x0);
+                b[c + 3] = y3 ^ ((~y4) & y0);
+                a[c + 4] = x4 ^ ((~x0) & x1);
+                b[c + 4] = y4 ^ ((~y0) & y1);
+
+                c += 5;
+            } while (c < 25);
+
+            //iota
+            a[0] ^= rc[i];
+            b[0] ^= rc[i];
+
+            i++;
+        } while (i < 24);
+    }
+
     private static final long[] RC = {
             0x0000000000000001L, 0x0000000000008082L, 0x800000000000808AL, 0x8000000080008000L, 0x000000000000808BL,
             0x0000000080000001L, 0x8000000080008081L, 0x8000000000008009L, 0x000000000000008AL, 0x0000000000000088L,
@@ -0,0 +1,76 @@
+package com.joemelsha.crypto.hash;
+
+import java.util.Arrays;
+
+/**
+ * A static, allocation-free Keccak-256 over byte arrays. Input is read as little-endian words straight from the array
+ * into a per-thread state, which is permuted by {@link Keccak}'s own permutation, and the final block is padded as it is
+ * read. Unlike the {@link java.security.MessageDigest} path, no {@link java.nio.ByteBuffer} is wrapped and no output
+ * array is allocated.
+ */
+public final class Keccak256 {
+
+    public static final int DIGEST_LENGTH = 32;
+
+    /* the rate in bytes: (1600 - 2 * 256) / 8 */
+    private static final int RATE = 136;
+    private static final int RATE_WORDS = RATE / Long.BYTES;
+
+    private static final ThreadLocal<long[]> STATE = ThreadLocal.withInitial(() -> new long[25]);
+
+    private Keccak256() {}
+
+    public static byte[] hash(byte[] in) {
+        final byte[] out = new byte[DIGEST_LENGTH];
+        hash(in, 0, in.length, out, 0);
+        return out;
+    }
+
+    /**
+     * Writes the Keccak-256 digest of {@code in[off, off + len)} to {@code out[outOff, outOff + 32)}.
+     */
+    public static void hash(byte[] in, int off, int len, byte[] out, int outOff) {
+        if (off < 0 || len < 0 || off + len > in.length || off + len < 0) {
+            throw new IllegalArgumentException("input out of bounds: off=" + off + " len=" + len + " length=" + in.length);
+        }
+        if (outOff < 0 || outOff > out.length - DIGEST_LENGTH) {
+            throw new IllegalArgumentException("output out of bounds: outOff=" + outOff + " length=" + out.length);
+        }
+        final long[] a = STATE.get();
+        final int end = off + len;
+        for ( ; end - off >= RATE; off += RATE) {
+            for (int w = 0; w < RATE_WORDS; w++) {
+                a[w] ^= Keccak.getLongLE(in, off + (w << 3));
+            }
+            Keccak.keccak(a);
+        }
+        for (int w = 0; w < RATE_WORDS; w++) { // the last block holds the padding
+            a[w] ^= lastWord(in, off, end, w);
+        }
+        Keccak.keccak(a);
+        for (int w = 0; w < DIGEST_LENGTH / Long.BYTES; w++) {
+            Keccak.putLongLE(a[w], out, outOff + (w << 3));
+        }
+        Arrays.fill(a, 0L);
+    }
+
+    /**
+     * Returns word {@code w} of the last, padded block, which begins at {@code off} and holds the bytes up to {@code end}.
+     */
+    private static long lastWord(byte[] in, int off, int end, int w) {
+        final int p = off + (w << 3);
+        final int n = end - p;
+        long x;
+        if (n >= 8) {
+            x = Keccak.getLongLE(in, p);
+        } else if (n >= 0) {
+            x = 0x1L << (n << 3); // Keccak padding: 1
+            for (int j = n - 1; j >= 0; j--) {
+                x |= (in[p + j] & 0xFFL) << (j << 3);
+            }
+        } else {
+            x = 0L;
+        }
+        return w == RATE_WORDS - 1 ? x ^ 0x8000000000000000L : x;
+    }
+}
@@ -1,5 +1,6 @@
 package com.esaulpaugh.headlong;
 
+import com.esaulpaugh.headlong.rlp.DataType;
 import com.esaulpaugh.headlong.rlp.util.Integers;
 import com.esaulpaugh.headlong.util.FastHex;
 import com.esaulpaugh.headlong.util.Strings;
@@ -14,6 +15,8 @@ import java.math.BigInteger;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
 
 public class TestUtils {
 
@@ -173,4 +176,29 @@ public class TestUtils {
         }
         throw new AssertionError("no " + clazz.getName() + " thrown");
     }
+
+    /**
+     * Builds a random RLP-encodable tree of byte strings and lists. Most strings are zero to two bytes long; about one in
+     * four is a long string, at least {@link DataType#MIN_LONG_DATA_LEN} bytes long.
+     *
+     * @param r the source of randomness
+     * @param depth the maximum depth of nested lists
+     * @param maxLongStringLen  the maximum length of a long string
+     * @param iterables whether lists may be given as {@link java.util.List}s instead of arrays
+     * @return  a {@code byte[]}, or a list of such trees
+     */
+    public static Object randomTree(Random r, int depth, int maxLongStringLen, boolean iterables) {
+        if(depth == 0 || r.nextInt(3) == 0) {
+            final byte[] data = new byte[r.nextInt(4) == 0
+                    ? DataType.MIN_LONG_DATA_LEN + r.nextInt(maxLongStringLen - DataType.MIN_LONG_DATA_LEN + 1)
+                    : r.nextInt(3)];
+            r.nextBytes(data);
+            return data;
+        }
+        final Object[] list = new Object[r.nextInt(5)];
+        for (int i = 0; i < list.length; i++) {
+            list[i] = randomTree(r, depth - 1, maxLongStringLen, iterables);
+        }
+        return iterables && r.nextBoolean() ? Arrays.asList(list) : list;
+    }
 }
@@ -0,0 +1,134 @@
+package com.esaulpaugh.headlong.abi;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.esaulpaugh.headlong.TestUtils.assertThrown;
+
+public class ABIRegistryTest {
+
+    private static final String JSON = "[\n" +
+            "  {\n" +
+            "    \"type\": \"function\",\n" +
+            "    \"name\": \"transfer\",\n" +
+            "    \"inputs\": [ { \"name\": \"to\", \"type\": \"address\" }, { \"name\": \"value\", \"type\": \"uint256\" } ],\n" +
+            "    \"outputs\": [ { \"name\": \"\", \"type\": \"bool\" } ]\n" +
+            "  },\n" +
+            "  {\n" +
+            "    \"type\": \"constructor\",\n" +
+            "    \"inputs\": [ { \"name\": \"supply\", \"type\": \"uint256\" } ]\n" +
+            "  },\n" +
+            "  {\n" +
+            "    \"type\": \"event\",\n" +
+            "    \"name\": \"Transfer\",\n" +
+            "    \"inputs\": [\n" +
+            "      { \"name\": \"from\", \"type\": \"address\", \"indexed\": true },\n" +
+            "      { \"name\": \"to\", \"type\": \"address\", \"indexed\": true },\n" +
+            "      { \"name\": \"value\", \"type\": \"uint256\", \"indexed\": false }\n" +
+            "    ]\n" +
+            "  },\n" +
+            "  {\n" +
+            "    \"type\": \"event\",\n" +
+            "    \"name\": \"Memo\",\n" +
+            "    \"inputs\": [\n" +
+            "      { \"name\": \"tag\", \"type\": \"string\", \"indexed\": true },\n" +
+            "      { \"name\": \"text\", \"type\": \"string\", \"indexed\": false }\n" +
+            "    ]\n" +
+            "  },\n" +
+            "  {\n" +
+            "    \"type\": \"event\",\n" +
+            "    \"name\": \"Anon\",\n" +
+            "    \"inputs\": [],\n" +
+            "    \"anonymous\": true\n" +
+            "  }\n" +
+            "]";
+
+    @Test
+    public void testJson() throws Throwable {
+        final ABIRegistry registry = new ABIRegistry(ContractJSONParser.parseObjects(JSON));
+        Assert.assertEquals(1, registry.functionCount());
+        Assert.assertEquals(2, registry.eventCount());
+
+        final Function transfer = new Function("transfer(address,uint256)", "(bool)");
+        final BigInteger to = new BigInteger("ff00000000000000000000000000000000000001", 16);
+        final Tuple args = new Tuple(to, BigInteger.TEN);
+        final byte[] calldata = transfer.encodeCall(args).array();
+        Assert.assertEquals(transfer.getCanonicalSignature(), registry.getFunction(calldata).getCanonicalSignature());
+        Assert.assertEquals(args, registry.decodeCall(calldata));
+
+        final Event event = registry.getEvent(new Event("Transfer", "(address,address,uint256)", new boolean[] { true, true, false }).topics0());
+        Assert.assertEquals("Transfer", event.getName());
+        final byte[][] topics = new byte[][] {
+                event.topics0(),
+                TupleType.parse("(address)").encode(new Tuple(BigInteger.ONE)).array(),
+                TupleType.parse("(address)").encode(new Tuple(to)).array()
+        };
+        final byte[] data = TupleType.parse("(uint256)").encode(new Tuple(BigInteger.valueOf(77L))).array();
+        Assert.assertEquals(new Tuple(BigInteger.ONE, to, BigInteger.valueOf(77L)), registry.decodeLog(topics, data));
+
+        final Event memo = new Event("Memo", "(string,string)", new boolean[] { true, false });
+        final byte[] tagHash = Function.newDefaultDigest().digest("tag".getBytes("UTF-8"));
+        final Tuple memoArgs = registry.decodeLog(
+                new byte[][] { memo.topics0(), tagHash },
+                TupleType.parse("(string)").encode(new Tuple("hello")).array()
+        );
+        Assert.assertArrayEquals(tagHash, (byte[]) memoArgs.get(0));
+        Assert.assertEquals("hello", memoArgs.get(1));
+
+        assertThrown(IllegalArgumentException.class, "calldata too short for selector: 3", () -> registry.getFunction(new byte[3]));
+        calldata[0]++;
+        Assert.assertNull(registry.getFunction(calldata));
+        assertThrown(IllegalArgumentException.class, "unknown selector", () -> registry.decodeCall(calldata));
+        topics[0][31]++;
+        assertThrown(IllegalArgumentException.class, "unknown topic0", () -> registry.decodeLog(topics, data));
+    }
+
+    @Test
+    public void testSharedTopic0() throws Throwable {
+        final Event erc20 = new Event("Transfer", "(address,address,uint256)", new boolean[] { true, true, false });
+        final Event erc721 = new Event("Transfer", "(address,address,uint256)", new boolean[] { true, true, true });
+        final ABIRegistry registry = new ABIRegistry();
+        Assert.assertTrue(registry.add(erc20));
+        Assert.assertTrue(registry.add(erc721));
+        Assert.assertFalse(registry.add(new Event("Transfer", "(address,address,uint256)", new boolean[] { true, true, true })));
+        Assert.assertEquals(2, registry.eventCount());
+        Assert.assertSame(erc20, registry.getEvent(erc20.topics0(), 0, 3));
+        Assert.assertSame(erc721, registry.getEvent(erc20.topics0(), 0, 4));
+        Assert.assertNull(registry.getEvent(erc20.topics0(), 0, 2));
+
+        final TupleType address = TupleType.parse("(address)");
+        final byte[] from = address.encode(new Tuple(BigInteger.ONE)).array();
+        final byte[] to = address.encode(new Tuple(BigInteger.TEN)).array();
+        final byte[] tokenId = TupleType.parse("(uint256)").encode(new Tuple(BigInteger.valueOf(77L))).array();
+        final Tuple expected = new Tuple(BigInteger.ONE, BigInteger.TEN, BigInteger.valueOf(77L));
+        Assert.assertEquals(expected, registry.decodeLog(new byte[][] { erc20.topics0(), from, to }, tokenId));
+        Assert.assertEquals(expected, registry.decodeLog(new byte[][] { erc721.topics0(), from, to, tokenId }, new byte[0]));
+        assertThrown(IllegalArgumentException.class, "no event for topic0 with 2 topics", () -> registry.decodeLog(new byte[][] { erc20.topics0(), from }, tokenId));
+    }
+
+    @Test
+    public void testMany() throws ParseException {
+        final int n = 20_000;
+        final List<ABIObject> objects = new ArrayList<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            objects.add(new Function("f" + i + "(uint32)"));
+            objects.add(new Event("E" + i, "(uint32)", new boolean[] { true }));
+        }
+        final ABIRegistry registry = new ABIRegistry();
+        Assert.assertEquals(2 * n, registry.addAll(objects));
+        Assert.assertEquals(0, registry.addAll(objects.subList(0, 100)));
+        Assert.assertEquals(n, registry.functionCount());
+        Assert.assertEquals(n, registry.eventCount());
+        for (int i = 0; i < n; i++) {
+            final Function f = (Function) objects.get(2 * i);
+            Assert.assertSame(f, registry.getFunction(f.selector));
+            final Event e = (Event) objects.get(2 * i + 1);
+            Assert.assertSame(e, registry.getEvent(e.topics0()));
+        }
+    }
+}
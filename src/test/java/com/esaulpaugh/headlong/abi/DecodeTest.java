@@ -8,6 +8,9 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.text.ParseException;
+import java.util.Arrays;
+
+import static com.esaulpaugh.headlong.TestUtils.assertThrown;
 
 public class DecodeTest {
 
@@ -55,4 +58,170 @@ public class DecodeTest {
         Assert.assertEquals(expected, decoded);
     }
 
+    @Test
+    public void testDecodeLazy() throws Throwable {
+        final byte[] abi = FastHex.decode(
+                "0000000000000000000000000000000000000000000000000000000000000045"
+                        + "0000000000000000000000000000000000000000000000000000000000000040"
+                        + "0000000000000000000000000000000000000000000000000000000000000004"
+                        + "7730307400000000000000000000000000000000000000000000000000000000"
+        );
+        Function getUfixedAndString = new Function("gogo((fixed[],int8)[1][][5])", "(ufixed,string)");
+
+        LazyTuple lazy = getUfixedAndString.decodeReturnLazy(abi);
+        Assert.assertEquals(2, lazy.size());
+        Assert.assertEquals("w00t", lazy.get(1));
+        Assert.assertSame(lazy.get(1), lazy.get(1));
+        Assert.assertFalse(lazy.equals(expected));
+        Assert.assertEquals(getUfixedAndString.decodeReturnLazy(abi), lazy);
+        Assert.assertEquals(expected, lazy.toTuple());
+
+        ByteBuffer bb = ByteBuffer.wrap(abi);
+        Assert.assertEquals(expected, getUfixedAndString.getOutputTypes().decodeLazy(bb).toTuple());
+        Assert.assertEquals(0, bb.position());
+
+        TupleType tt = TupleType.parse("(uint8,bytes32[2],(bool,int64[3]),string,(bytes,uint16),uint256[],string[])");
+        Tuple values = new Tuple(
+                7,
+                new byte[][] { new byte[32], new byte[32] },
+                new Tuple(true, new long[] { -1L, 0L, 1L }),
+                "abcdef",
+                new Tuple(new byte[] { 1, 2, 3 }, 9),
+                new BigInteger[] { BigInteger.ONE, BigInteger.TEN },
+                new String[] { "x", "", "yz" }
+        );
+        ByteBuffer encoded = tt.encode(values);
+        LazyTuple lazyValues = tt.decodeLazy(encoded.array());
+        Assert.assertArrayEquals(new String[] { "x", "", "yz" }, (String[]) lazyValues.get(6));
+        Assert.assertEquals(values.get(4), lazyValues.get(4));
+        Assert.assertEquals(values, lazyValues.toTuple());
+        Assert.assertEquals(tt.decode(encoded.array()), lazyValues.toTuple());
+    }
+
+    @Test
+    public void testDecodeLazyMalformed() throws Throwable {
+        final TupleType tt = TupleType.parse("(ufixed,string)");
+
+        assertThrown(IllegalArgumentException.class, "tuple head exceeds buffer", () -> tt.decodeLazy(new byte[63]));
+
+        final byte[] badFirstOffset = FastHex.decode(
+                "0000000000000000000000000000000000000000000000000000000000000045"
+                        + "0000000000000000000000000000000000000000000000000000000000000020"
+                        + "0000000000000000000000000000000000000000000000000000000000000004"
+                        + "7730307400000000000000000000000000000000000000000000000000000000"
+        );
+        assertThrown(IllegalArgumentException.class, "illegal offset @ 1", () -> tt.decodeLazy(badFirstOffset));
+
+        final byte[] truncatedTail = FastHex.decode(
+                "0000000000000000000000000000000000000000000000000000000000000045"
+                        + "0000000000000000000000000000000000000000000000000000000000000040"
+        );
+        assertThrown(IllegalArgumentException.class, "exceeds buffer", () -> tt.decodeLazy(truncatedTail));
+
+        final TupleType twoStrings = TupleType.parse("(string,string)");
+        final byte[] outOfOrder = FastHex.decode(
+                "0000000000000000000000000000000000000000000000000000000000000040"
+                        + "0000000000000000000000000000000000000000000000000000000000000040"
+                        + "0000000000000000000000000000000000000000000000000000000000000000"
+                        + "0000000000000000000000000000000000000000000000000000000000000000"
+        );
+        assertThrown(IllegalArgumentException.class, "illegal offset @ 1", () -> twoStrings.decodeLazy(outOfOrder));
+    }
+
+    @Test
+    public void testDecodePrimitive() throws Throwable {
+        final TupleType tt = TupleType.parse("(bool,int8,uint32,int64,uint256,address,bytes32,bytes4,fixed128x18,string,int64[2],(bool,uint16))");
+        final byte[] bytes32 = new byte[32];
+        Arrays.fill(bytes32, (byte) 0xAB);
+        final BigInteger address = new BigInteger("ff00000000000000000000000000000000000001", 16);
+        final Tuple values = new Tuple(
+                true,
+                -5,
+                4_000_000_000L,
+                Long.MIN_VALUE,
+                BigInteger.valueOf(1_000_000L),
+                address,
+                bytes32,
+                new byte[] { 1, 2, 3, 4 },
+                new BigDecimal(BigInteger.valueOf(-77L), 18),
+                "x",
+                new long[] { 1L, 2L },
+                new Tuple(false, 65535)
+        );
+        final byte[] encoded = tt.encode(values).array();
+
+        final PrimitiveTuple p = tt.decodePrimitive(encoded);
+        Assert.assertTrue(p.getBoolean(0));
+        Assert.assertEquals(-5, p.getInt(1));
+        Assert.assertEquals(4_000_000_000L, p.getLong(2));
+        Assert.assertEquals(Long.MIN_VALUE, p.getLong(3));
+        Assert.assertEquals(1_000_000L, p.getLong(4));
+        Assert.assertEquals(address, p.getBigInteger(5));
+        final byte[] word = new byte[33];
+        p.getBytes32(6, word, 1);
+        Assert.assertArrayEquals(bytes32, Arrays.copyOfRange(word, 1, 33));
+        Assert.assertArrayEquals(new byte[] { 1, 2, 3, 4 }, (byte[]) p.get(7));
+        Assert.assertEquals(values.get(8), p.get(8));
+
+        Assert.assertFalse(p.equals(values));
+        Assert.assertEquals(values, p.toTuple());
+        Assert.assertEquals(tt.decodePrimitive(encoded), p);
+        Assert.assertEquals(tt.decode(encoded), p.toTuple());
+
+        assertThrown(ArithmeticException.class, "does not fit in a long", () -> p.getLong(5));
+        assertThrown(ArithmeticException.class, "does not fit in an int", () -> p.getInt(2));
+        assertThrown(IllegalArgumentException.class, "unexpected type @ 1", () -> p.getBoolean(1));
+        assertThrown(IllegalArgumentException.class, "not an integer element @ 6", () -> p.getLong(6));
+        assertThrown(IllegalArgumentException.class, "not a 32-byte element @ 9", () -> p.getBytes32(9));
+    }
+
+    @Test
+    public void testDecodePrimitiveWordValidation() throws Throwable {
+        final byte[] max = new byte[32];
+        Arrays.fill(max, (byte) 0xFF);
+        final BigInteger maxUint256 = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+        Assert.assertEquals(maxUint256, TupleType.parse("(uint256)").decodePrimitive(max).getBigInteger(0));
+        Assert.assertEquals(-1L, TupleType.parse("(int256)").decodePrimitive(max).getLong(0));
+        Assert.assertEquals(-1, TupleType.parse("(int8)").decodePrimitive(max).getInt(0));
+
+        assertThrown(IllegalArgumentException.class, "signed value given for unsigned type", () -> TupleType.parse("(uint64)").decodePrimitive(max));
+        assertThrown(IllegalArgumentException.class, "signed value given for unsigned type", () -> TupleType.parse("(bool)").decodePrimitive(max));
+
+        final byte[] two = new byte[32];
+        two[31] = 2;
+        assertThrown(IllegalArgumentException.class, "exceeds bit limit: 2 > 1", () -> TupleType.parse("(bool)").decodePrimitive(two));
+        final byte[] wide = new byte[32];
+        wide[23] = 1;
+        assertThrown(IllegalArgumentException.class, "exceeds bit limit: 65 > 63", () -> TupleType.parse("(int64)").decodePrimitive(wide));
+    }
+
+    @Test
+    public void testDecodeContext() throws Throwable {
+        final DecoderContext ctx = new DecoderContext();
+        for (long seed = 0; seed < 300; seed++) {
+            final MonteCarloTestCase testCase = new MonteCarloTestCase(seed);
+            final byte[] encoded = testCase.function.encodeCall(testCase.argsTuple).array();
+            final Tuple decoded = testCase.function.decodeCall(encoded, ctx);
+            Assert.assertEquals(testCase.argsTuple, decoded);
+            Assert.assertEquals(testCase.function.decodeCall(encoded), decoded);
+        }
+
+        final TupleType tt = TupleType.parse("(string,(uint8,string[])[],int16)");
+        final Tuple values = new Tuple("a", new Tuple[] { new Tuple(1, new String[] { "b", "\u00e9\ud83d\ude00" }) }, -3);
+        final byte[] encoded = tt.encode(values).array();
+        Assert.assertEquals(values, tt.decode(encoded, ctx));
+
+        final byte[] truncated = Arrays.copyOf(encoded, encoded.length - 32);
+        assertThrown(java.nio.BufferUnderflowException.class, () -> tt.decode(truncated, ctx));
+        final byte[] noOffset = encoded.clone();
+        Arrays.fill(noOffset, 0, 32, (byte) 0);
+        assertThrown(IllegalArgumentException.class, "offset not found", () -> tt.decode(noOffset, ctx));
+        Assert.assertEquals(values, tt.decode(ByteBuffer.wrap(encoded), ctx));
+
+        final TupleType strings = TupleType.parse("(string[])");
+        final byte[] noElementOffset = strings.encode(new Tuple((Object) new String[] { "a", "b" })).array();
+        Arrays.fill(noElementOffset, 64, 96, (byte) 0); // the first element's offset
+        assertThrown(IllegalArgumentException.class, "offset not found", () -> strings.decode(noElementOffset, ctx));
+        assertThrown(IllegalArgumentException.class, "offset not found", () -> strings.decode(noElementOffset));
+    }
 }
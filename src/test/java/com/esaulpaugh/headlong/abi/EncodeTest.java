@@ -1,10 +1,15 @@
 package com.esaulpaugh.headlong.abi;
 
 import com.esaulpaugh.headlong.TestUtils;
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
 import java.text.ParseException;
 import java.util.Arrays;
 import java.util.Random;
@@ -93,4 +98,143 @@ public class EncodeTest {
 
         System.out.println("== " + Arrays.deepEquals(argsIn, argsOut));
     }
+
+    @Test
+    public void encodingPlanTest() throws ParseException {
+        TupleType tt = TupleType.parse("(uint8,bytes32[2],(bool,int64[3]),string,(bytes),uint256[])");
+        EncodingPlan plan = tt.encodingPlan();
+        Assert.assertSame(plan, tt.encodingPlan());
+        Assert.assertEquals(32 + 64 + (32 + 96) + 32 + 32 + 32, plan.headLength);
+
+        TupleType staticOnly = TupleType.parse("(uint8,bytes32[2],(bool,int64[3]))");
+        Tuple values = new Tuple(7, new byte[][] { new byte[32], new byte[32] }, new Tuple(true, new long[] { -1L, 0L, 1L }));
+        Assert.assertEquals(staticOnly.encodingPlan().headLength, staticOnly.encode(values).position());
+    }
+
+    @Test
+    public void staticElementArrayOffsetTest() throws ParseException {
+        TupleType tt = TupleType.parse("((int64)[],string)");
+        Tuple values = new Tuple(new Tuple[] { new Tuple(5L) }, "x");
+        ByteBuffer bb = tt.encode(values);
+        Assert.assertEquals(6 * 32, bb.capacity());
+        Assert.assertEquals(tt.encodedLen(values), tt.encodedLen(values, false));
+        // head (2 offsets) + array length + one element
+        Assert.assertEquals(0x80, bb.getInt(32 + 28));
+        Assert.assertEquals(values, tt.decode(bb.array()));
+    }
+
+    @Test
+    public void streamingEncoderTest() throws Throwable {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final StreamingEncoder small = new StreamingEncoder(baos, 32);
+        final StreamingEncoder channel = new StreamingEncoder(Channels.newChannel(baos));
+        for (long seed = 0; seed < 300; seed++) {
+            final MonteCarloTestCase testCase = new MonteCarloTestCase(seed);
+            final byte[] expected = testCase.function.encodeCall(testCase.argsTuple).array();
+            for (StreamingEncoder encoder : new StreamingEncoder[] { small, channel }) {
+                baos.reset();
+                Assert.assertEquals(expected.length, encoder.encodeCall(testCase.function, testCase.argsTuple));
+                Assert.assertArrayEquals(expected, baos.toByteArray());
+            }
+        }
+
+        final TupleType tt = TupleType.parse("(bytes[],string,uint8)");
+        final byte[] big = new byte[100_001];
+        new Random(1L).nextBytes(big);
+        final Tuple values = new Tuple(new byte[][] { new byte[3], big, new byte[40] }, "ok", 5);
+        baos.reset();
+        new StreamingEncoder(baos, 64).encode(tt, values);
+        Assert.assertArrayEquals(tt.encode(values).array(), baos.toByteArray());
+
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            sb.append("a\u00e9\u20ac\ud83d\ude00");
+        }
+        final String str = sb.append('\ud800').toString(); // trailing unpaired surrogate is encoded as '?'
+        final TupleType strings = TupleType.parse("(string,string[])");
+        final Tuple strValues = new Tuple(str, new String[] { "", str, "z" });
+        baos.reset();
+        new StreamingEncoder(baos, 33).encode(strings, strValues);
+        Assert.assertArrayEquals(strings.encode(strValues).array(), baos.toByteArray());
+
+        baos.reset();
+        TestUtils.assertThrown(IllegalArgumentException.class, "unsigned", () -> small.encode(tt, new Tuple(new byte[0][], "", -1)));
+        Assert.assertEquals(0, baos.size());
+        TestUtils.assertThrown(IllegalArgumentException.class, "scratch length must be at least 32: 31", () -> new StreamingEncoder(baos, 31));
+        TestUtils.assertThrown(ClosedChannelException.class, () -> {
+            final WritableByteChannel closed = Channels.newChannel(baos);
+            closed.close();
+            new StreamingEncoder(closed).encode(tt, values);
+        });
+    }
+
+    @Test
+    public void encoderContextTest() throws Throwable {
+        final EncoderContext ctx = new EncoderContext();
+        final Function f = new Function("post(string,string[],(string,bytes))");
+        final String repeated = "\u00e9t\u00e9 \ud83d\ude00 \ud800";
+        final Tuple args = new Tuple(repeated, new String[] { repeated, "", "x" }, new Tuple(repeated, new byte[33]));
+        final byte[] expected = f.encodeCall(args).array();
+        for (int i = 0; i < 3; i++) {
+            final ByteBuffer dest = ByteBuffer.allocate(f.callLength(args));
+            f.encodeCall(args, dest, ctx);
+            Assert.assertArrayEquals(expected, dest.array());
+        }
+        ctx.clear();
+        final ByteBuffer dest = ByteBuffer.allocate(expected.length - Function.SELECTOR_LEN);
+        f.getParamTypes().encode(args, dest, ctx);
+        Assert.assertArrayEquals(Arrays.copyOfRange(expected, Function.SELECTOR_LEN, expected.length), dest.array());
+
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds bit limit", () -> TupleType.parse("(int8)").encode(new Tuple(256), ByteBuffer.allocate(32), ctx));
+
+        final String small = "small";
+        Assert.assertSame(ctx.utf8(small), ctx.utf8(small));
+        final char[] chars = new char[EncoderContext.MAX_CACHED_LENGTH + 1];
+        Arrays.fill(chars, 'x');
+        final String large = new String(chars);
+        Assert.assertNotSame(ctx.utf8(large), ctx.utf8(large));
+    }
+
+    @Test
+    public void testInt256Bounds() throws Throwable {
+        final BigInteger twoTo255 = BigInteger.ONE.shiftLeft(255);
+        final TupleType int256 = TupleType.parse("(int256)");
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds bit limit: 256 > 255", () -> int256.encode(new Tuple(twoTo255)));
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds bit limit: 256 > 255", () -> int256.encodePacked(new Tuple(twoTo255)));
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds bit limit: 256 > 255", () -> TupleType.parse("(int256[])").encode(new Tuple((Object) new BigInteger[] { twoTo255 })));
+
+        final Tuple min = new Tuple(twoTo255.negate());
+        Assert.assertEquals(min, int256.decode(int256.encode(min).array()));
+        Assert.assertEquals(min, PackedDecoder.decode(int256, int256.encodePacked(min).array()));
+
+        final TupleType uint256 = TupleType.parse("(uint256,uint256[1])");
+        final BigInteger max = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+        final Tuple maxes = new Tuple(max, new BigInteger[] { max });
+        Assert.assertEquals(maxes, uint256.decode(uint256.encode(maxes).array()));
+        final byte[] ones = new byte[64];
+        Arrays.fill(ones, (byte) 0xFF);
+        Assert.assertArrayEquals(ones, uint256.encodePacked(maxes).array());
+    }
+
+    @Test
+    public void testSignedBounds() throws Throwable {
+        final TupleType tt = TupleType.parse("(int8,int40,int72,int16[])");
+        final BigInteger twoTo71 = BigInteger.ONE.shiftLeft(71);
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds bit limit: 8 > 7", () -> tt.encode(new Tuple(128, 0L, BigInteger.ZERO, new int[0])));
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds bit limit: 8 > 7", () -> tt.encode(new Tuple(-129, 0L, BigInteger.ZERO, new int[0])));
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds bit limit: 40 > 39", () -> tt.encode(new Tuple(0, 1L << 39, BigInteger.ZERO, new int[0])));
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds bit limit: 72 > 71", () -> tt.encode(new Tuple(0, 0L, twoTo71, new int[0])));
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds bit limit: 16 > 15", () -> tt.encode(new Tuple(0, 0L, BigInteger.ZERO, new int[] { 1 << 15 })));
+
+        final Tuple max = new Tuple(127, (1L << 39) - 1, twoTo71.subtract(BigInteger.ONE), new int[] { (1 << 15) - 1 });
+        final Tuple min = new Tuple(-128, -(1L << 39), twoTo71.negate(), new int[] { -(1 << 15) });
+        Assert.assertEquals(max, tt.decode(tt.encode(max).array()));
+        Assert.assertEquals(min, tt.decode(tt.encode(min).array()));
+
+        final byte[] word = new byte[32];
+        word[31] = (byte) 0x80;
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds bit limit: 8 > 7", () -> TupleType.parse("(int8)").decode(word));
+        TestUtils.assertThrown(IllegalArgumentException.class, "exceeds bit limit: 8 > 7", () -> TupleType.parse("(int8)").decodePrimitive(word));
+        Assert.assertEquals(new Tuple(128), TupleType.parse("(uint8)").decode(word));
+    }
 }
@@ -1,10 +1,17 @@
 package com.esaulpaugh.headlong.abi;
 
+import com.esaulpaugh.headlong.util.FastHex;
+import com.joemelsha.crypto.hash.Keccak;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.text.ParseException;
 
+import static com.esaulpaugh.headlong.TestUtils.assertThrown;
+
 public class EventTest {
 
     @Test
@@ -22,4 +29,67 @@ public class EventTest {
         Assert.assertEquals(TupleType.parse("((),ufixed256x10)"), event.getIndexedParams());
         Assert.assertEquals(TupleType.parse("(int256,uint256,bool[])"), event.getNonIndexedParams());
     }
+
+    @Test
+    public void testTopics0() throws ParseException {
+        final Event event = new Event("Transfer", "(address,address,uint256)", new boolean[] { true, true, false });
+        final byte[] topic0 = event.topics0();
+        Assert.assertEquals("ddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef", FastHex.encodeToString(topic0));
+        topic0[0] = 0;
+        Assert.assertArrayEquals(event.topics0(new Keccak(256)), event.topics0());
+
+        final MessageDigest md = new Keccak(256);
+        md.update((byte) 1);
+        Assert.assertArrayEquals(event.topics0(), event.topics0(md));
+
+        Assert.assertNull(new Event("Anon", "()", new boolean[0], true).topics0());
+    }
+
+    @Test
+    public void testDecodeArgs() throws Throwable {
+        final Event event = new Event("Mixed", "(string,uint64,bytes,bytes8,int16[],bool)", new boolean[] { false, true, true, false, false, true });
+        final byte[] bytesHash = Function.newDefaultDigest().digest(new byte[] { 1, 2, 3 });
+        final byte[][] topics = new byte[][] {
+                event.topics0(),
+                TupleType.parse("(uint64)").encode(new Tuple(BigInteger.valueOf(-2L).add(BigInteger.ONE.shiftLeft(64)))).array(),
+                bytesHash,
+                TupleType.parse("(bool)").encode(new Tuple(true)).array()
+        };
+        final byte[] bytes8 = new byte[] { 9, 8, 7, 6, 5, 4, 3, 2 };
+        final Tuple nonIndexed = new Tuple("abc", bytes8, new int[] { -1, 300 });
+        final byte[] data = event.getNonIndexedParams().encode(nonIndexed).array();
+
+        final Tuple args = event.decodeArgs(topics, data);
+        Assert.assertEquals(6, args.size());
+        Assert.assertEquals("abc", args.get(0));
+        Assert.assertEquals(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE.add(BigInteger.ONE)), args.get(1));
+        Assert.assertArrayEquals(bytesHash, (byte[]) args.get(2));
+        Assert.assertArrayEquals(bytes8, (byte[]) args.get(3));
+        Assert.assertArrayEquals(new int[] { -1, 300 }, (int[]) args.get(4));
+        Assert.assertEquals(true, args.get(5));
+
+        final ByteBuffer bb = ByteBuffer.allocate(data.length + 5);
+        bb.position(5);
+        bb.put(data);
+        bb.position(5);
+        Assert.assertEquals(args.get(0), event.decodeArgs(topics, bb).get(0));
+
+        final Tuple[] batch = event.decodeArgs(new byte[][][] { topics, topics }, new byte[][] { data, data });
+        Assert.assertEquals(2, batch.length);
+        Assert.assertArrayEquals((int[]) args.get(4), (int[]) batch[1].get(4));
+
+        assertThrown(IllegalArgumentException.class, "expected 4 topics, found 3", () -> event.decodeArgs(new byte[][] { topics[0], topics[1], topics[2] }, data));
+        assertThrown(IllegalArgumentException.class, "illegal topic length @ 2: 31", () -> event.decodeArgs(new byte[][] { topics[0], topics[1], new byte[31], topics[3] }, data));
+        assertThrown(IllegalArgumentException.class, "topics.length != data.length", () -> event.decodeArgs(new byte[][][] { topics }, new byte[0][]));
+    }
+
+    @Test
+    public void testDecodeArgsAnonymous() throws Throwable {
+        final Event event = new Event("Anon", "(address,uint256)", new boolean[] { true, false }, true);
+        final BigInteger address = new BigInteger("00ff00000000000000000000000000000000000a", 16);
+        final byte[][] topics = new byte[][] { TupleType.parse("(address)").encode(new Tuple(address)).array() };
+        final byte[] data = TupleType.parse("(uint256)").encode(new Tuple(BigInteger.TEN)).array();
+        Assert.assertEquals(new Tuple(address, BigInteger.TEN), event.decodeArgs(topics, data));
+        assertThrown(IllegalArgumentException.class, "expected 1 topics, found 2", () -> event.decodeArgs(new byte[][] { topics[0], topics[0] }, data));
+    }
 }
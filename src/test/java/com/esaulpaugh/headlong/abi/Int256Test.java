@@ -0,0 +1,90 @@
+package com.esaulpaugh.headlong.abi;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static com.esaulpaugh.headlong.TestUtils.assertThrown;
+
+public class Int256Test {
+
+    private static final BigInteger TWO_256 = BigInteger.ONE.shiftLeft(256);
+
+    @Test
+    public void testBigIntegerRoundTrip() {
+        final Random r = new Random(0x256L);
+        final byte[] buffer = new byte[33];
+        for (int i = 0; i < 2_000; i++) {
+            final BigInteger u = new BigInteger(1 + r.nextInt(256), r);
+            final UInt256 uint = UInt256.valueOf(u);
+            Assert.assertEquals(u, uint.toBigInteger());
+            Assert.assertEquals(u.bitLength(), uint.bitLength());
+            Assert.assertEquals(uint, UInt256.read(buffer, uint.write(buffer, 1) - 32));
+
+            final BigInteger s = r.nextBoolean() ? u.shiftRight(1) : u.shiftRight(1).negate();
+            final Int256 int256 = Int256.valueOf(s);
+            Assert.assertEquals(s, int256.toBigInteger());
+            Assert.assertEquals(s.bitLength(), int256.bitLength());
+            Assert.assertEquals(s.signum(), int256.signum());
+            ByteBuffer bb = ByteBuffer.allocate(32);
+            int256.write(bb);
+            bb.flip();
+            Assert.assertEquals(int256, Int256.read(bb));
+        }
+        Assert.assertEquals(TWO_256.subtract(BigInteger.ONE), UInt256.MAX_VALUE.toBigInteger());
+        Assert.assertEquals(BigInteger.ONE.shiftLeft(255).negate(), Int256.MIN_VALUE.toBigInteger());
+        Assert.assertEquals(Int256.valueOf(-1L), Int256.valueOf(BigInteger.valueOf(-1L)));
+        Assert.assertTrue(Int256.MIN_VALUE.compareTo(Int256.valueOf(-1L)) < 0);
+        Assert.assertTrue(Int256.valueOf(-1L).compareTo(Int256.ZERO) < 0);
+        Assert.assertTrue(UInt256.MAX_VALUE.compareTo(UInt256.valueOf(Long.MAX_VALUE)) > 0);
+    }
+
+    @Test
+    public void testRangeChecks() throws Throwable {
+        assertThrown(IllegalArgumentException.class, "exceeds bit limit: 257 > 256", () -> UInt256.valueOf(TWO_256));
+        assertThrown(IllegalArgumentException.class, "signed value given for unsigned type", () -> UInt256.valueOf(-1L));
+        assertThrown(IllegalArgumentException.class, "exceeds bit limit: 256 > 255", () -> Int256.valueOf(TWO_256.shiftRight(1)));
+        assertThrown(ArithmeticException.class, () -> UInt256.MAX_VALUE.longValueExact());
+        Assert.assertEquals(Long.MIN_VALUE, Int256.valueOf(Long.MIN_VALUE).longValueExact());
+    }
+
+    @Test
+    public void testEncode() throws Throwable {
+        final BigInteger big = TWO_256.subtract(BigInteger.valueOf(3L));
+        final BigInteger address = new BigInteger("ff00000000000000000000000000000000000001", 16);
+        final TupleType tt = TupleType.parse("(uint256,int256,address,fixed128x18,uint256[])");
+        final Tuple bigInts = new Tuple(big, BigInteger.valueOf(-9L), address, new BigDecimal(BigInteger.valueOf(-77L), 18), new BigInteger[] { big });
+        final Tuple words = new Tuple(UInt256.valueOf(big), Int256.valueOf(-9L), UInt256.valueOf(address), Int256.valueOf(-77L), new BigInteger[] { big });
+
+        final byte[] expected = tt.encode(bigInts).array();
+        Assert.assertArrayEquals(expected, tt.encode(words).array());
+        Assert.assertArrayEquals(tt.encodePacked(bigInts).array(), tt.encodePacked(words).array());
+
+        final PrimitiveTuple decoded = tt.decodePrimitive(expected);
+        Assert.assertEquals(UInt256.valueOf(big), decoded.getUInt256(0));
+        Assert.assertEquals(Int256.valueOf(-9L), decoded.getInt256(1));
+        Assert.assertEquals(UInt256.valueOf(address), decoded.getUInt256(2));
+        Assert.assertEquals(Int256.valueOf(-77L), decoded.getInt256(3));
+        assertThrown(ArithmeticException.class, "negative value @ 1", () -> decoded.getUInt256(1));
+        assertThrown(ArithmeticException.class, "exceeds Int256 range", () -> decoded.getInt256(0));
+
+        Assert.assertEquals(bigInts, tt.decode(expected));
+
+        assertThrown(IllegalArgumentException.class, "exceeds bit limit: 256 > 160",
+                () -> TupleType.parse("(address)").validate(new Tuple(UInt256.MAX_VALUE)));
+        assertThrown(IllegalArgumentException.class, "signed value given for unsigned type",
+                () -> TupleType.parse("(uint64)").validate(new Tuple(Int256.valueOf(-1L))));
+        assertThrown(IllegalArgumentException.class, "exceeds bit limit: 256 > 255",
+                () -> TupleType.parse("(int256)").validate(new Tuple(UInt256.MAX_VALUE)));
+        assertThrown(IllegalArgumentException.class, "exceeds bit limit: 72 > 71",
+                () -> TupleType.parse("(int72)").validate(new Tuple(UInt256.valueOf(BigInteger.ONE.shiftLeft(71)))));
+        assertThrown(IllegalArgumentException.class, "exceeds bit limit: 72 > 71",
+                () -> TupleType.parse("(int72)").validate(new Tuple(Int256.valueOf(BigInteger.ONE.shiftLeft(71)))));
+        TupleType.parse("(int72)").validate(new Tuple(Int256.valueOf(BigInteger.ONE.shiftLeft(71).negate())));
+        TupleType.parse("(int256)").validate(new Tuple(UInt256.valueOf(TWO_256.shiftRight(1).subtract(BigInteger.ONE))));
+    }
+}
@@ -0,0 +1,115 @@
+package com.esaulpaugh.headlong.abi;
+
+import com.joemelsha.crypto.hash.Keccak256;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.esaulpaugh.headlong.TestUtils.assertThrown;
+
+public class MerkleTreeTest {
+
+    /* a straightforward recursive reference: pairs in ascending order, an unpaired node carried up */
+    private static byte[] referenceRoot(byte[][] level) {
+        if(level.length == 1) {
+            return level[0];
+        }
+        final byte[][] next = new byte[(level.length + 1) / 2][];
+        for (int i = 0; i < level.length; i += 2) {
+            if(i + 1 == level.length) {
+                next[i / 2] = level[i];
+            } else {
+                final byte[] a = level[i], b = level[i + 1];
+                final boolean ordered = new BigInteger(1, a).compareTo(new BigInteger(1, b)) <= 0;
+                final byte[] concat = new byte[64];
+                System.arraycopy(ordered ? a : b, 0, concat, 0, 32);
+                System.arraycopy(ordered ? b : a, 0, concat, 32, 32);
+                next[i / 2] = Keccak256.hash(concat);
+            }
+        }
+        return referenceRoot(next);
+    }
+
+    private static byte[] randomLeaves(Random r, int n) {
+        final byte[] leaves = new byte[n * MerkleTree.NODE_LEN];
+        r.nextBytes(leaves);
+        return leaves;
+    }
+
+    @Test
+    public void testAgainstReference() {
+        final Random r = new Random(MonteCarloTest.getSeed(System.nanoTime()));
+        for (int n = 1; n <= 70; n++) {
+            final byte[] leaves = randomLeaves(r, n);
+            final MerkleTree tree = MerkleTree.of(leaves);
+            final byte[][] level = new byte[n][];
+            for (int i = 0; i < n; i++) {
+                level[i] = Arrays.copyOfRange(leaves, i * 32, (i + 1) * 32);
+            }
+            Assert.assertEquals(n, tree.leafCount());
+            Assert.assertArrayEquals(referenceRoot(level), tree.root());
+
+            final byte[] root = tree.root();
+            final byte[][] proofs = new byte[n][];
+            for (int i = 0; i < n; i++) {
+                proofs[i] = tree.proof(i);
+                Assert.assertTrue(proofs[i].length <= tree.depth() * 32);
+                Assert.assertTrue(MerkleTree.verify(root, tree.leaf(i), proofs[i]));
+            }
+            Assert.assertEquals(-1, MerkleTree.verifyAll(root, leaves, proofs));
+            if(n > 1) {
+                final int bad = r.nextInt(n);
+                proofs[bad][r.nextInt(proofs[bad].length)] ^= 1;
+                Assert.assertEquals(bad, MerkleTree.verifyAll(root, leaves, proofs));
+                Assert.assertFalse(MerkleTree.verify(root, tree.leaf(bad), proofs[bad]));
+            }
+        }
+    }
+
+    @Test
+    public void testParallel() {
+        final Random r = new Random(MonteCarloTest.getSeed(System.nanoTime()));
+        final byte[] leaves = randomLeaves(r, 10_001);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final MerkleTree parallel;
+        try {
+            parallel = MerkleTree.of(leaves, pool);
+        } finally {
+            pool.shutdown();
+        }
+        final MerkleTree sequential = MerkleTree.of(Arrays.copyOf(leaves, leaves.length));
+        Assert.assertArrayEquals(sequential.root(), parallel.root());
+        Assert.assertEquals(14, parallel.depth());
+        Assert.assertTrue(MerkleTree.verify(parallel.root(), parallel.leaf(10_000), parallel.proof(10_000)));
+    }
+
+    @Test
+    public void testOfPacked() throws ParseException {
+        final TupleType leafType = TupleType.parse("(uint256,uint160,uint256)");
+        final Tuple[] entries = new Tuple[5];
+        final byte[] leaves = new byte[entries.length * 32];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new Tuple(BigInteger.valueOf(i), BigInteger.valueOf(1000 + i), BigInteger.TEN.pow(18 + i));
+            System.arraycopy(Keccak256.hash(leafType.encodePacked(entries[i]).array()), 0, leaves, i * 32, 32);
+        }
+        Assert.assertArrayEquals(MerkleTree.of(leaves).root(), MerkleTree.ofPacked(leafType, entries).root());
+    }
+
+    @Test
+    public void testErrors() throws Throwable {
+        final MerkleTree single = MerkleTree.of(new byte[32]);
+        Assert.assertEquals(0, single.depth());
+        Assert.assertEquals(0, single.proof(0).length);
+        Assert.assertArrayEquals(new byte[32], single.root());
+        assertThrown(IllegalArgumentException.class, "no leaves", () -> MerkleTree.of(new byte[0]));
+        assertThrown(IllegalArgumentException.class, "leaves length not a multiple of 32: 33", () -> MerkleTree.of(new byte[33]));
+        assertThrown(IllegalArgumentException.class, "leaf index out of bounds: 1", () -> single.proof(1));
+        assertThrown(IllegalArgumentException.class, "proof length not a multiple of 32: 31", () -> MerkleTree.verify(new byte[32], new byte[32], new byte[31]));
+        assertThrown(IllegalArgumentException.class, "leaves length != 32 * proofs.length: 64 != 32", () -> MerkleTree.verifyAll(new byte[32], new byte[64], new byte[1][]));
+    }
+}
@@ -3,15 +3,69 @@ package com.esaulpaugh.headlong.abi;
 import com.esaulpaugh.headlong.abi.util.Integers;
 import com.esaulpaugh.headlong.util.BizarroIntegers;
 import com.esaulpaugh.headlong.util.FastHex;
+import com.joemelsha.crypto.hash.Keccak;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Random;
 
 public class PackedEncoderTest {
 
+    @Test
+    public void testHashPacked() throws ParseException {
+        final Random r = new Random(MonteCarloTest.getSeed(System.nanoTime()));
+        final TupleType tt = TupleType.parse("(bool[],int8[],uint40,uint256,int256[],(uint160,bytes32)[],string,bytes,fixed128x18,bool)");
+        for (int i = 0; i < 20; i++) {
+            final boolean[] bools = new boolean[r.nextInt(200)];
+            for (int j = 0; j < bools.length; j++) {
+                bools[j] = r.nextBoolean();
+            }
+            final int[] int8s = new int[r.nextInt(50)];
+            for (int j = 0; j < int8s.length; j++) {
+                int8s[j] = (byte) r.nextInt();
+            }
+            final BigInteger[] int256s = new BigInteger[r.nextInt(10)];
+            for (int j = 0; j < int256s.length; j++) {
+                int256s[j] = new BigInteger(255, r).subtract(BigInteger.ONE.shiftLeft(254));
+            }
+            final Tuple[] pairs = new Tuple[r.nextInt(6)];
+            for (int j = 0; j < pairs.length; j++) {
+                final byte[] bytes32 = new byte[32];
+                r.nextBytes(bytes32);
+                pairs[j] = new Tuple(new BigInteger(160, r), bytes32);
+            }
+            final byte[] bytes = new byte[r.nextInt(400)];
+            r.nextBytes(bytes);
+            final Tuple values = new Tuple(bools, int8s, r.nextLong() & 0xFF_FFFF_FFFFL, new BigInteger(256, r), int256s, pairs,
+                    "\u00e9t\u00e9 " + i, bytes, new BigDecimal(new BigInteger(127, r).negate(), 18), r.nextBoolean());
+            tt.validate(values);
+
+            final byte[] expected = new Keccak(256).digest(tt.encodePacked(values).array());
+            Assert.assertArrayEquals(expected, tt.hashPacked(values));
+            Assert.assertArrayEquals(expected, tt.hashPacked(values, new Keccak(256)));
+            final byte[] out = new byte[40];
+            tt.hashPacked(values, out, 8);
+            Assert.assertArrayEquals(expected, Arrays.copyOfRange(out, 8, 40));
+        }
+    }
+
+    @Test
+    public void testEncodePackedIntoDirtyBuffer() throws ParseException {
+        final TupleType tt = TupleType.parse("(uint8,bool[],int24)");
+        final Tuple values = new Tuple(1, new boolean[] { true, false, true }, 2);
+        final byte[] dirty = new byte[10];
+        Arrays.fill(dirty, (byte) 0x55);
+        final ByteBuffer dest = ByteBuffer.wrap(dirty);
+        dest.position(3);
+        tt.encodePacked(values, dest);
+        Assert.assertArrayEquals(FastHex.decode("555555" + "01" + "010001" + "000002"), dirty);
+    }
+
     @Test
     public void testPacked() throws ParseException {
 
@@ -0,0 +1,121 @@
+package com.esaulpaugh.headlong.abi;
+
+import com.esaulpaugh.headlong.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class TypeCacheTest {
+
+    /* other tests parse concurrently and may evict entries from the shared cache, so identity is not asserted */
+    @Test
+    public void testShared() throws ParseException {
+        final String signature = "(uint8,bytes32[2],(bool,int64[3])[],string,(bytes,uint16)[4][])";
+        final TypeCache cache = TypeCache.shared();
+        final TupleType a = TupleType.parse(signature);
+        final long hits = cache.hits();
+        final TupleType b = TupleType.parse(signature);
+        Assert.assertEquals(a, b);
+        Assert.assertTrue(cache.hits() > hits);
+
+        final Function f = new Function("foo" + signature);
+        Assert.assertEquals(a, f.getParamTypes());
+        Assert.assertEquals(f.selectorHex(), new Function("foo" + signature).selectorHex());
+        Assert.assertTrue(cache.size() <= cache.capacity());
+    }
+
+    @Test
+    public void testNamedNotShared() throws ParseException {
+        final ABIType<?> unnamed = TypeFactory.create("uint72[]", null);
+        final ABIType<?> named = TypeFactory.create("uint72[]", "amounts");
+        Assert.assertNotSame(unnamed, named);
+        Assert.assertNull(unnamed.getName());
+        Assert.assertEquals("amounts", named.getName());
+    }
+
+    @Test
+    public void testJsonNamesNotShared() throws ParseException {
+        final String json = "{\"type\":\"function\",\"name\":\"f\",\"inputs\":[{\"type\":\"tuple[]\",\"components\":["
+                + "{\"type\":\"uint8\",\"name\":\"secret\"},{\"type\":\"address\",\"name\":\"owner\"}]}]}";
+        final Function f = ContractJSONParser.parseFunction(json);
+        final TupleType tuple = (TupleType) ((ArrayType<?, ?>) f.getParamTypes().get(0)).elementType;
+        Assert.assertEquals("secret", tuple.get(0).getName());
+
+        Assert.assertNull(TupleType.parse("(uint8,address)").get(0).getName());
+        final TupleType parsed = TupleType.parse("((uint8,address)[])");
+        Assert.assertNull(((TupleType) ((ArrayType<?, ?>) parsed.get(0)).elementType).get(0).getName());
+    }
+
+    @Test
+    public void testAliasKey() throws ParseException {
+        final TypeCache cache = new TypeCache(16);
+        final ABIType<?> canonical = cache.share("uint256", TypeFactory.create("uint256", null));
+        Assert.assertEquals(1, cache.size());
+        Assert.assertSame(canonical, cache.share("uint", TypeFactory.create("uint", null)));
+        Assert.assertSame(canonical, cache.get("uint256"));
+        Assert.assertSame(canonical, cache.get("uint"));
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testAliasHit() throws ParseException {
+        final TypeCache cache = TypeCache.shared();
+        final TupleType a = TupleType.parse("(uint,fixed)");
+        final long hits = cache.hits();
+        final TupleType b = TupleType.parse("(uint,fixed)");
+        Assert.assertTrue(cache.hits() > hits);
+        Assert.assertEquals(a, b);
+        Assert.assertEquals("(uint256,fixed128x18)", b.canonicalType);
+        Assert.assertEquals(b, cache.get("(uint,fixed)"));
+    }
+
+    @Test
+    public void testNonTupleHitNotReturnedAsTuple() throws Throwable {
+        TupleType.parse("(int8)");
+        TypeCache.shared().share("int8", TypeFactory.create("int8", null));
+        TestUtils.assertThrown(ParseException.class, "params start not found", () -> TupleType.parse("int8"));
+    }
+
+    @Test
+    public void testBounded() throws ParseException {
+        final TypeCache cache = new TypeCache(16);
+        for (int i = 0; i < 100; i++) {
+            final String typeString = "int40[" + i + "]";
+            Assert.assertNull(cache.get(typeString));
+            cache.share(typeString, TypeFactory.create(typeString, null));
+            Assert.assertTrue(cache.size() <= cache.capacity());
+            Assert.assertNotNull(cache.get("int40[0]")); // referenced on every round, so never evicted
+        }
+        Assert.assertEquals(100, cache.misses());
+        Assert.assertEquals(100, cache.hits());
+        Assert.assertNotNull(cache.get("int40[99]"));
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<TupleType>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                final String signature = "(int" + (8 + 8 * (i % 4)) + ",string[],(bool)[2])";
+                final Callable<TupleType> task = () -> TupleType.parse(signature);
+                futures.add(pool.submit(task));
+            }
+            for (Future<TupleType> future : futures) {
+                final TupleType tt = future.get();
+                Assert.assertEquals(tt, TupleType.parse(tt.canonicalType));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.esaulpaugh.headlong.abi.codegen;
+
+import com.esaulpaugh.headlong.TestUtils;
+import com.esaulpaugh.headlong.abi.DecoderContext;
+import com.esaulpaugh.headlong.abi.Tuple;
+import com.esaulpaugh.headlong.abi.TupleType;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+public class ABIStructTest {
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private static Order.Leg randomLeg(Random r) {
+        return new Order.Leg(r.nextInt(1 << 16), "LEG" + r.nextInt(1000));
+    }
+
+    private static Order randomOrder(Random r) {
+        final byte[] payload = new byte[r.nextInt(100)];
+        r.nextBytes(payload);
+        final int[] flags = new int[r.nextInt(5)];
+        for (int i = 0; i < flags.length; i++) {
+            flags[i] = r.nextInt(1 << 16);
+        }
+        final byte[] selector = new byte[4];
+        r.nextBytes(selector);
+        final Order.Leg[] legs = new Order.Leg[r.nextInt(4)];
+        for (int i = 0; i < legs.length; i++) {
+            legs[i] = randomLeg(r);
+        }
+        return new Order(
+                new BigInteger(64, r),
+                new BigInteger(160, r),
+                r.nextBoolean(),
+                r.nextInt(),
+                r.nextLong() >>> 32,
+                "memoé" + r.nextInt(),
+                payload,
+                flags,
+                new BigDecimal(new BigInteger(127, r).subtract(BigInteger.ONE.shiftLeft(126)), 18),
+                selector,
+                randomLeg(r),
+                legs,
+                new BigInteger[] { new BigInteger(256, r), new BigInteger(256, r) }
+        );
+    }
+
+    private static Tuple toTuple(Order.Leg leg) {
+        return new Tuple(leg.venue, leg.symbol);
+    }
+
+    private static Tuple toTuple(Order o) {
+        final Tuple[] legs = new Tuple[o.legs.length];
+        for (int i = 0; i < legs.length; i++) {
+            legs[i] = toTuple(o.legs[i]);
+        }
+        return new Tuple(o.id, o.maker, o.buy, o.tick, o.expiry, o.memo, o.payload, o.flags, o.price, o.selector, toTuple(o.main), legs, o.bounds);
+    }
+
+    @Test
+    public void testMatchesTupleType() {
+        final OrderABICodec codec = OrderABICodec.INSTANCE;
+        final TupleType tt = codec.getTupleType();
+        Assert.assertTrue(codec.isDynamic());
+        final Random r = new Random(1900L);
+        final DecoderContext ctx = new DecoderContext();
+        for (int i = 0; i < 300; i++) {
+            final Order order = randomOrder(r);
+            final ByteBuffer expected = tt.encode(toTuple(order));
+            Assert.assertEquals(expected.capacity(), codec.validate(order));
+            Assert.assertEquals(expected.capacity(), codec.byteLength(order));
+            Assert.assertArrayEquals(expected.array(), codec.encode(order).array());
+            Assert.assertEquals(order, codec.decode(expected.array()));
+            Assert.assertEquals(order, codec.decode(ByteBuffer.wrap(expected.array()), ctx));
+        }
+    }
+
+    @Test
+    public void testInferred() throws Throwable {
+        Assert.assertEquals("(int64,int64,bool)", PointABICodec.INSTANCE.getTupleType().getCanonicalType());
+        Assert.assertFalse(PointABICodec.INSTANCE.isDynamic());
+        Assert.assertEquals("(string,(int64,int64,bool)[],int256[],int32)", PathABICodec.INSTANCE.getTupleType().getCanonicalType());
+
+        final Point[] points = { new Point(-1L, Long.MAX_VALUE, true), new Point(3L, 4L, false) };
+        final BigInteger[] weights = { BigInteger.TEN.negate(), BigInteger.ONE.shiftLeft(254) };
+        final Path path = new Path("p", points, weights, -7);
+        final ByteBuffer encoded = PathABICodec.INSTANCE.encode(path);
+        final Tuple tuple = new Tuple("p", new Tuple[] { new Tuple(-1L, Long.MAX_VALUE, true), new Tuple(3L, 4L, false) }, weights, -7);
+        Assert.assertArrayEquals(TupleType.parse("(string,(int64,int64,bool)[],int256[],int32)").encode(tuple).array(), encoded.array());
+
+        final Path decoded = PathABICodec.INSTANCE.decode(encoded.array());
+        Assert.assertEquals("p", decoded.name);
+        Assert.assertArrayEquals(points, decoded.points);
+        Assert.assertArrayEquals(weights, decoded.weights);
+        Assert.assertEquals(-7, decoded.version);
+    }
+
+    @Test
+    public void testValidation() throws Throwable {
+        final OrderABICodec codec = OrderABICodec.INSTANCE;
+        final Order o = randomOrder(new Random(1901L));
+        final Order negativeExpiry = new Order(o.id, o.maker, o.buy, o.tick, -1L, o.memo, o.payload, o.flags, o.price, o.selector, o.main, o.legs, o.bounds);
+        TestUtils.assertThrown(IllegalArgumentException.class, "illegal arg @ 4: signed value given for unsigned type", () -> codec.validate(negativeExpiry));
+        final Order nullMemo = new Order(o.id, o.maker, o.buy, o.tick, o.expiry, null, o.payload, o.flags, o.price, o.selector, o.main, o.legs, o.bounds);
+        TestUtils.assertThrown(IllegalArgumentException.class, "illegal arg @ 5: ", () -> codec.encode(nullMemo));
+        final Order wideLeg = new Order(o.id, o.maker, o.buy, o.tick, o.expiry, o.memo, o.payload, o.flags, o.price, o.selector, o.main, new Order.Leg[] { new Order.Leg(1 << 16, "") }, o.bounds);
+        TestUtils.assertThrown(IllegalArgumentException.class, "illegal arg @ 11: index 0: illegal arg @ 0: exceeds bit limit: 17 > 16", () -> codec.validate(wideLeg));
+        final Order threeBounds = new Order(o.id, o.maker, o.buy, o.tick, o.expiry, o.memo, o.payload, o.flags, o.price, o.selector, o.main, o.legs, new BigInteger[3]);
+        TestUtils.assertThrown(IllegalArgumentException.class, "illegal arg @ 12: BigInteger[3] not instanceof BigInteger[2], 3 != 2", () -> codec.validate(threeBounds));
+
+        final byte[] encoded = codec.encode(o).array();
+        Arrays.fill(encoded, 32 * 5, 32 * 6, (byte) 0); // memo's offset
+        TestUtils.assertThrown(IllegalArgumentException.class, "offset not found", () -> codec.decode(encoded));
+
+        final Order twoLegs = new Order(o.id, o.maker, o.buy, o.tick, o.expiry, o.memo, o.payload, o.flags, o.price, o.selector, o.main, new Order.Leg[] { new Order.Leg(1, "a"), new Order.Leg(2, "b") }, o.bounds);
+        final byte[] encodedLegs = codec.encode(twoLegs).array();
+        final int legsOffset = new BigInteger(Arrays.copyOfRange(encodedLegs, 32 * 11, 32 * 12)).intValueExact();
+        Arrays.fill(encodedLegs, legsOffset + 32 * 2, legsOffset + 32 * 3, (byte) 0); // second leg's offset
+        TestUtils.assertThrown(IllegalArgumentException.class, "offset not found", () -> codec.decode(encodedLegs));
+    }
+
+    private String compile(String className, String source) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + className + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+                Arrays.asList("-proc:only", "-s", tmp.newFolder().getPath(), "-classpath", System.getProperty("java.class.path")), null, Collections.singleton(file));
+        task.setProcessors(Collections.singleton(new ABIStructProcessor()));
+        task.call();
+        final StringBuilder sb = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+            if(d.getKind() == Diagnostic.Kind.ERROR) {
+                sb.append(d.getMessage(null)).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testProcessorErrors() throws IOException {
+        final String annotation = "@com.esaulpaugh.headlong.abi.codegen.ABIStruct";
+        Assert.assertEquals("field x of type int cannot hold uint64; expected java.math.BigInteger\n",
+                compile("A", annotation + "(\"(uint64)\") class A { int x; A(int x) { } }"));
+        Assert.assertEquals("signature has 2 elements but class has 1 fields\n",
+                compile("B", annotation + "(\"(bool,bool)\") class B { boolean x; B(boolean x) { } }"));
+        Assert.assertEquals("cannot infer the ABI type of field x; specify the signature\n",
+                compile("C", annotation + " class C { java.math.BigDecimal x; C(java.math.BigDecimal x) { } }"));
+        Assert.assertEquals("invalid signature: (uint7): @ index 0, unrecognized type: uint7 (00000000000000000000000000000075696e7437)\n",
+                compile("D", annotation + "(\"(uint7)\") class D { int x; D(int x) { } }"));
+        Assert.assertEquals("field n of type N cannot hold (bool); expected @ABIStruct with signature (bool), not (int32)\n",
+                compile("E", annotation + "(\"((bool))\") class E { N n; E(N n) { } }\n" + annotation + " class N { int x; N(int x) { } }"));
+        Assert.assertEquals("@ABIStruct class requires a non-private constructor (long)\n",
+                compile("F", annotation + " class F { long x; private F(long x) { } }"));
+        Assert.assertEquals("",
+                compile("G", annotation + "(\"(uint8,(bool)[3])\") class G { int x; N[] n; G(int x, N[] n) { } }\n" + annotation + " class N { boolean b; N(boolean b) { } }"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.esaulpaugh.headlong.abi.codegen;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Objects;
+
+@ABIStruct("(uint64,address,bool,int32,uint32,string,bytes,uint16[],fixed128x18,bytes4,(uint16,string),(uint16,string)[],uint256[2])")
+public class Order {
+
+    final BigInteger id;
+    final BigInteger maker;
+    final boolean buy;
+    final int tick;
+    final long expiry;
+    final String memo;
+    final byte[] payload;
+    final int[] flags;
+    final BigDecimal price;
+    final byte[] selector;
+    final Leg main;
+    final Leg[] legs;
+    final BigInteger[] bounds;
+
+    Order(BigInteger id, BigInteger maker, boolean buy, int tick, long expiry, String memo, byte[] payload, int[] flags, BigDecimal price, byte[] selector, Leg main, Leg[] legs, BigInteger[] bounds) {
+        this.id = id;
+        this.maker = maker;
+        this.buy = buy;
+        this.tick = tick;
+        this.expiry = expiry;
+        this.memo = memo;
+        this.payload = payload;
+        this.flags = flags;
+        this.price = price;
+        this.selector = selector;
+        this.main = main;
+        this.legs = legs;
+        this.bounds = bounds;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, maker, buy, tick, expiry, memo, Arrays.hashCode(payload), Arrays.hashCode(flags), price, Arrays.hashCode(selector), main, Arrays.hashCode(legs), Arrays.hashCode(bounds));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(!(o instanceof Order)) {
+            return false;
+        }
+        Order other = (Order) o;
+        return other.id.equals(id)
+                && other.maker.equals(maker)
+                && other.buy == buy
+                && other.tick == tick
+                && other.expiry == expiry
+                && other.memo.equals(memo)
+                && Arrays.equals(other.payload, payload)
+                && Arrays.equals(other.flags, flags)
+                && other.price.equals(price)
+                && Arrays.equals(other.selector, selector)
+                && other.main.equals(main)
+                && Arrays.equals(other.legs, legs)
+                && Arrays.equals(other.bounds, bounds);
+    }
+
+    @ABIStruct("(uint16,string)")
+    static class Leg {
+
+        final int venue;
+        final String symbol;
+
+        Leg(int venue, String symbol) {
+            this.venue = venue;
+            this.symbol = symbol;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * venue + symbol.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Leg && ((Leg) o).venue == venue && ((Leg) o).symbol.equals(symbol);
+        }
+    }
+}
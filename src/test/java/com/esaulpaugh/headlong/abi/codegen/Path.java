@@ -0,0 +1,22 @@
+package com.esaulpaugh.headlong.abi.codegen;
+
+import java.math.BigInteger;
+
+/**
+ * Inferred as {@code (string,(int64,int64,bool)[],int256[],int32)}.
+ */
+@ABIStruct
+public class Path {
+
+    final String name;
+    final Point[] points;
+    final BigInteger[] weights;
+    final int version;
+
+    public Path(String name, Point[] points, BigInteger[] weights, int version) {
+        this.name = name;
+        this.points = points;
+        this.weights = weights;
+        this.version = version;
+    }
+}
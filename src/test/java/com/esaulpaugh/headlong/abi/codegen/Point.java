@@ -0,0 +1,28 @@
+package com.esaulpaugh.headlong.abi.codegen;
+
+/**
+ * A static struct whose signature is inferred from its fields: {@code (int64,int64,bool)}.
+ */
+@ABIStruct
+public class Point {
+
+    final long x;
+    final long y;
+    final boolean visible;
+
+    public Point(long x, long y, boolean visible) {
+        this.x = x;
+        this.y = y;
+        this.visible = visible;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(x) * 31 + Long.hashCode(y) + (visible ? 1 : 0);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Point && ((Point) o).x == x && ((Point) o).y == y && ((Point) o).visible == visible;
+    }
+}
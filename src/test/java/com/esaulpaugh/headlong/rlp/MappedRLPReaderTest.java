@@ -0,0 +1,161 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.TestUtils;
+import com.esaulpaugh.headlong.rlp.exception.RecoverableDecodeException;
+import com.esaulpaugh.headlong.rlp.exception.UnrecoverableDecodeException;
+import com.esaulpaugh.headlong.rlp.util.Integers;
+import com.esaulpaugh.headlong.util.Strings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_LENIENT;
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+public class MappedRLPReaderTest {
+
+    private static Path write(byte[] bytes) throws IOException {
+        final Path path = Files.createTempFile("mapped-rlp", ".rlp");
+        path.toFile().deleteOnExit();
+        Files.write(path, bytes);
+        return path;
+    }
+
+    @Test
+    public void testSequence() throws Throwable {
+        final Random r = new Random(16L);
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        for (int i = 0; i < 200; i++) {
+            final byte[] data = new byte[r.nextInt(150)];
+            r.nextBytes(data);
+            baos.write(i % 3 == 0 ? RLPEncoder.encodeAsList(data, Integers.toBytes((long) i), new Object[] { data }) : RLPEncoder.encode(data));
+        }
+        final byte[] bytes = baos.toByteArray();
+        final Path path = write(bytes);
+
+        final List<RLPItem> expected = RLP_STRICT.collectAll(bytes);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             MappedRLPReader reader = RLP_STRICT.mappedReader(channel, 64)) { // small windows force frequent remapping
+            Assert.assertEquals(bytes.length, reader.size());
+            final MappedRLPReader.SequenceIterator iter = reader.sequenceIterator();
+            final List<MappedRLPItem> items = new ArrayList<>();
+            while (iter.hasNext()) {
+                items.add(iter.next());
+            }
+            TestUtils.assertThrown(NoSuchElementException.class, iter::next);
+            Assert.assertEquals(expected.size(), items.size());
+            for (int i = 0; i < items.size(); i++) {
+                final RLPItem e = expected.get(i);
+                final MappedRLPItem m = items.get(i);
+                Assert.assertEquals(e.index, m.index);
+                Assert.assertEquals(e.dataIndex, m.dataIndex);
+                Assert.assertEquals(e.dataLength, m.dataLength);
+                Assert.assertEquals(e.endIndex, m.endIndex);
+                Assert.assertEquals(e.type(), m.type());
+                Assert.assertArrayEquals(e.encoding(), m.encoding());
+                Assert.assertArrayEquals(e.data(), m.data());
+                Assert.assertEquals(e, m.toRLPItem());
+                final ByteBuffer data = m.dataBuffer();
+                Assert.assertTrue(data.isReadOnly());
+                Assert.assertEquals(ByteBuffer.wrap(e.data()), data);
+                // random access finds the same item
+                Assert.assertEquals(m, reader.itemAt(m.index));
+                Assert.assertEquals(m.hashCode(), reader.itemAt(m.index).hashCode());
+            }
+            final MappedRLPItem list = items.get(0);
+            Assert.assertTrue(list.isList());
+            final MappedRLPItem.Iterator elements = list.iterator();
+            final MappedRLPItem first = elements.next();
+            Assert.assertEquals(list.dataIndex, first.index);
+            Assert.assertEquals(0L, elements.next().asLong());
+            Assert.assertTrue(elements.next().isList());
+            Assert.assertFalse(elements.hasNext());
+            TestUtils.assertThrown(IllegalStateException.class, "item is not a list", first::iterator);
+
+            final MappedRLPReader.SequenceIterator from = reader.sequenceIterator(items.get(5).index);
+            Assert.assertEquals(items.get(5), from.next());
+            Assert.assertEquals(items.get(6), from.next());
+
+            TestUtils.assertThrown(IndexOutOfBoundsException.class, "offset out of range: " + bytes.length, () -> reader.itemAt(bytes.length));
+        }
+    }
+
+    @Test
+    public void testValues() throws Throwable {
+        final BigInteger big = new BigInteger("-9182736450918273645091827364509182736450");
+        final byte[] bytes = RLPEncoder.encodeSequentially(
+                Integers.toBytes(7_000_000_000L),
+                big.toByteArray(),
+                Strings.decode("abcé", Strings.UTF_8),
+                new byte[0]
+        );
+        try (MappedRLPReader reader = MappedRLPReader.open(write(bytes), RLP_STRICT)) {
+            final MappedRLPReader.SequenceIterator iter = reader.sequenceIterator();
+            Assert.assertEquals(7_000_000_000L, iter.next().asLong());
+            Assert.assertEquals(big, iter.next().asBigInt());
+            Assert.assertEquals("abcé", iter.next().asString(Strings.UTF_8));
+            final MappedRLPItem empty = iter.next();
+            Assert.assertFalse(empty.asBoolean());
+            Assert.assertEquals(0, empty.asInt());
+            Assert.assertFalse(iter.hasNext());
+        }
+    }
+
+    @Test
+    public void testLargeItem() throws Throwable {
+        final byte[] data = new byte[100_000];
+        new Random(1L).nextBytes(data);
+        final byte[] bytes = RLPEncoder.encodeSequentially(new byte[] { 1 }, data, new byte[] { 2 });
+        try (FileChannel channel = FileChannel.open(write(bytes), StandardOpenOption.READ);
+             MappedRLPReader reader = RLP_STRICT.mappedReader(channel, 4096)) {
+            final MappedRLPReader.SequenceIterator iter = reader.sequenceIterator();
+            Assert.assertEquals(1, iter.next().asInt());
+            Assert.assertArrayEquals(data, iter.next().data());
+            Assert.assertEquals(2, iter.next().asInt());
+        }
+    }
+
+    @Test
+    public void testMalformed() throws Throwable {
+        final byte[] truncated = new byte[] { (byte) 0x01, (byte) 0x83, 'a', 'b' };
+        try (MappedRLPReader reader = MappedRLPReader.open(write(truncated), RLP_STRICT)) {
+            final MappedRLPReader.SequenceIterator iter = reader.sequenceIterator();
+            iter.next();
+            TestUtils.assertThrown(RecoverableDecodeException.class, "element @ index 1 exceeds its container: 2 > 4", iter::next);
+        }
+        final byte[] truncatedPrefix = new byte[] { (byte) 0xb9, 0x01 };
+        try (MappedRLPReader reader = MappedRLPReader.open(write(truncatedPrefix), RLP_STRICT)) {
+            TestUtils.assertThrown(RecoverableDecodeException.class, "element @ index 0 exceeds its container: 3 > 2", () -> reader.itemAt(0));
+        }
+        final byte[] shortLong = new byte[] { (byte) 0xb8, 0x02, 0x00, 0x00 };
+        try (MappedRLPReader reader = MappedRLPReader.open(write(shortLong), RLP_STRICT)) {
+            TestUtils.assertThrown(UnrecoverableDecodeException.class, "long element data length must be 56 or greater; found: 2 for element @ 0", () -> reader.itemAt(0));
+        }
+        final byte[] wrappedSingle = new byte[] { (byte) 0xc2, (byte) 0x81, 0x05 };
+        try (MappedRLPReader reader = MappedRLPReader.open(write(wrappedSingle), RLP_STRICT)) {
+            final MappedRLPItem.Iterator elements = reader.itemAt(0).iterator();
+            TestUtils.assertThrown(UnrecoverableDecodeException.class, "invalid rlp for single byte @ 1", elements::next);
+        }
+        try (MappedRLPReader reader = MappedRLPReader.open(write(wrappedSingle), RLP_LENIENT)) {
+            Assert.assertEquals(5, reader.itemAt(0).iterator().next().asInt());
+        }
+        final byte[] overflowsList = new byte[] { (byte) 0xc1, (byte) 0x82, 0x05, 0x06 };
+        try (MappedRLPReader reader = MappedRLPReader.open(write(overflowsList), RLP_STRICT)) {
+            final MappedRLPItem.Iterator elements = reader.itemAt(0).iterator();
+            TestUtils.assertThrown(UnrecoverableDecodeException.class, "element @ index 1 exceeds its container: 2 > 2", elements::next);
+            Assert.assertEquals(0x0506, reader.itemAt(1).asInt()); // valid at the top level
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.TestUtils;
+import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+import com.esaulpaugh.headlong.rlp.exception.UnrecoverableDecodeException;
+import com.esaulpaugh.headlong.rlp.util.Integers;
+import com.esaulpaugh.headlong.util.Strings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_LENIENT;
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+public class RLPCursorTest {
+
+    @Test
+    public void testWalk() throws Throwable {
+        final BigInteger value = new BigInteger("1000000000000000000000");
+        final byte[] to = new byte[20];
+        new Random(15L).nextBytes(to);
+        final byte[] tx = RLPEncoder.encodeAsList(
+                Integers.toBytes(9L),
+                Integers.toBytes(20_000_000_000L),
+                to,
+                value.toByteArray(),
+                new Object[] { Strings.decode("abc", Strings.UTF_8), new Object[0], new byte[] { (byte) 0xff } }
+        );
+        final byte[] sequence = Arrays.copyOf(tx, tx.length * 2);
+        System.arraycopy(tx, 0, sequence, tx.length, tx.length);
+
+        final RLPCursor cursor = new RLPCursor(RLP_STRICT).reset(sequence);
+        for (int n = 0; n < 2; n++) {
+            Assert.assertTrue(cursor.hasNext());
+            cursor.next();
+            Assert.assertTrue(cursor.isList());
+            Assert.assertEquals(n * tx.length, cursor.index());
+            cursor.enterList();
+            Assert.assertEquals(1, cursor.depth());
+            Assert.assertEquals(9L, cursor.next().asLong());
+            Assert.assertEquals(20_000_000_000L, cursor.next().asLong());
+            Assert.assertEquals(ByteBuffer.wrap(to), cursor.next().dataSlice());
+            Assert.assertEquals(value, cursor.skip(1).asBigInt());
+            cursor.next().enterList();
+            Assert.assertEquals(2, cursor.depth());
+            Assert.assertEquals("abc", cursor.next().asString(Strings.UTF_8));
+            Assert.assertTrue(cursor.next().isList());
+            Assert.assertEquals(0, cursor.dataLength());
+            final byte[] dest = new byte[3];
+            Assert.assertEquals(2, cursor.next().exportData(dest, 1));
+            Assert.assertEquals((byte) 0xff, dest[1]);
+            Assert.assertFalse(cursor.hasNext());
+            TestUtils.assertThrown(NoSuchElementException.class, cursor::next);
+            cursor.exitList();
+            Assert.assertTrue(cursor.isList());
+            Assert.assertFalse(cursor.hasNext());
+            cursor.exitList(); // back at the transaction
+            Assert.assertEquals(0, cursor.depth());
+            Assert.assertEquals(n * tx.length + tx.length, cursor.endIndex());
+            Assert.assertEquals(RLP_STRICT.wrap(tx), cursor.item());
+        }
+        Assert.assertFalse(cursor.hasNext());
+        TestUtils.assertThrown(IllegalStateException.class, "not within a list", cursor::exitList);
+
+        // exiting early skips the rest of the list
+        cursor.reset(sequence).next().enterList();
+        Assert.assertEquals(9, cursor.next().asInt());
+        cursor.exitList();
+        Assert.assertEquals(tx.length, cursor.next().index());
+    }
+
+    @Test
+    public void testMatchesItems() throws Throwable {
+        final Random r = new Random(150L);
+        final Object[] elements = new Object[200];
+        for (int i = 0; i < elements.length; i++) {
+            final byte[] data = new byte[r.nextInt(80)];
+            r.nextBytes(data);
+            elements[i] = data;
+        }
+        final byte[] rlp = RLPEncoder.encodeAsList(elements);
+        final List<RLPItem> items = RLP_STRICT.wrapList(rlp).elements(RLP_STRICT);
+        final RLPCursor cursor = new RLPCursor(RLP_STRICT).reset(rlp).next().enterList();
+        for (RLPItem item : items) {
+            cursor.next();
+            Assert.assertEquals(item.type(), cursor.type());
+            Assert.assertEquals(item.index, cursor.index());
+            Assert.assertEquals(item.dataIndex, cursor.dataIndex());
+            Assert.assertEquals(item.dataLength, cursor.dataLength());
+            Assert.assertEquals(item.endIndex, cursor.endIndex());
+            Assert.assertArrayEquals(item.data(), cursor.data());
+            Assert.assertEquals(item, cursor.item());
+        }
+        Assert.assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void testErrors() throws Throwable {
+        final RLPCursor cursor = new RLPCursor(RLP_STRICT);
+        TestUtils.assertThrown(IllegalStateException.class, "no current item", cursor.reset(new byte[] { 0x01 })::type);
+        TestUtils.assertThrown(IllegalStateException.class, "current item is not a list", cursor.next()::enterList);
+        TestUtils.assertThrown(IndexOutOfBoundsException.class, "[0, 2) not within [0, 1)", () -> cursor.reset(new byte[1], 0, 2));
+
+        final byte[] wrappedSingle = new byte[] { (byte) 0xc2, (byte) 0x81, 0x05 };
+        cursor.reset(wrappedSingle).next().enterList();
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "invalid rlp for single byte @ 1", cursor::next);
+        Assert.assertEquals(5, new RLPCursor(RLP_LENIENT).reset(wrappedSingle).next().enterList().next().asInt());
+
+        final byte[] overflowsList = new byte[] { (byte) 0xc1, (byte) 0x82, 0x05, 0x06 };
+        cursor.reset(overflowsList).next().enterList();
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "element @ index 1 exceeds its container: 2 > 2", cursor::next);
+
+        final byte[] leadingZero = new byte[] { (byte) 0x82, 0x00, 0x01 };
+        TestUtils.assertThrown(DecodeException.class, "deserialised integers with leading zeroes are invalid", cursor.reset(leadingZero).next()::asLong);
+    }
+}
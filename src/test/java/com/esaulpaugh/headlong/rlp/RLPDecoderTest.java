@@ -2,6 +2,7 @@ package com.esaulpaugh.headlong.rlp;
 
 import com.esaulpaugh.headlong.TestUtils;
 import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+import com.esaulpaugh.headlong.rlp.exception.RecoverableDecodeException;
 import com.esaulpaugh.headlong.rlp.exception.UnrecoverableDecodeException;
 import com.esaulpaugh.headlong.rlp.util.Integers;
 import org.junit.Assert;
@@ -15,8 +16,12 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_LENIENT;
 import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
@@ -348,6 +353,45 @@ public class RLPDecoderTest {
         assertThrown(NoSuchElementException.class, seqIter::next);
     }
 
+    @Test
+    public void sequenceStream() throws Throwable {
+        final Random r = new Random(13L);
+        final Object[] objects = new Object[1000];
+        for (int i = 0; i < objects.length; i++) {
+            final byte[] data = new byte[r.nextInt(100)];
+            r.nextBytes(data);
+            objects[i] = i % 2 == 0 ? data : new Object[] { data, Integers.toBytes(i) };
+        }
+        final byte[] sequence = RLPEncoder.encodeSequentially(objects);
+        final List<RLPItem> expected = RLP_STRICT.collectAll(sequence);
+
+        Assert.assertEquals(expected, RLP_STRICT.sequenceStream(sequence, false).collect(Collectors.toList()));
+        Assert.assertEquals(expected, RLP_STRICT.sequenceStream(sequence, true).collect(Collectors.toList()));
+        final long sum = expected.stream().mapToLong(e -> e.dataLength).sum();
+        Assert.assertEquals(sum, RLP_STRICT.sequenceStream(sequence, true).mapToLong(e -> e.dataLength).sum());
+
+        final Spliterator<RLPItem> spliterator = RLP_STRICT.sequenceSpliterator(sequence, 0);
+        Assert.assertEquals(objects.length, spliterator.getExactSizeIfKnown());
+        final Spliterator<RLPItem> prefix = spliterator.trySplit();
+        Assert.assertEquals(objects.length / 2, prefix.estimateSize());
+        Assert.assertEquals(objects.length / 2, spliterator.estimateSize());
+        Assert.assertTrue(prefix.tryAdvance(item -> Assert.assertEquals(expected.get(0), item)));
+        Assert.assertTrue(spliterator.tryAdvance(item -> Assert.assertEquals(expected.get(objects.length / 2), item)));
+
+        final int start = expected.get(10).index;
+        Assert.assertEquals(expected.size() - 10, RLP_STRICT.sequenceStream(sequence, false).skip(10).count());
+        Assert.assertEquals(expected.get(10), StreamSupport.stream(RLP_STRICT.sequenceSpliterator(sequence, start), false).findFirst().get());
+        Assert.assertEquals(0L, RLP_STRICT.sequenceStream(new byte[0], true).count());
+
+        final byte[] truncated = Arrays.copyOf(sequence, sequence.length - 1);
+        assertThrown(RecoverableDecodeException.class, "exceeds its container", () -> RLP_STRICT.sequenceStream(truncated, true));
+        final byte[] invalidSingle = new byte[] { 0x01, (byte) 0x81, 0x02 };
+        assertThrown(UnrecoverableDecodeException.class, "invalid rlp for single byte @ 1", () -> RLP_STRICT.sequenceStream(invalidSingle, true));
+        Assert.assertEquals(2L, RLP_LENIENT.sequenceStream(invalidSingle, true).count());
+        final byte[] shortLong = new byte[] { (byte) 0xb8, 0x01, 0x00 };
+        assertThrown(UnrecoverableDecodeException.class, "long element data length must be 56 or greater; found: 1 for element @ 0", () -> RLP_STRICT.sequenceStream(shortLong, false));
+    }
+
     private static CustomRunnable wrapStrict(final byte[] rlp) {
         return () -> RLP_STRICT.wrap(rlp, 0);
     }
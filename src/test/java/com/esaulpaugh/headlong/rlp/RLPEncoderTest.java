@@ -2,10 +2,18 @@ package com.esaulpaugh.headlong.rlp;
 
 import com.esaulpaugh.headlong.rlp.exception.DecodeException;
 import com.esaulpaugh.headlong.util.Strings;
+import com.esaulpaugh.headlong.TestUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 import static com.esaulpaugh.headlong.util.Strings.HEX;
 
@@ -62,4 +70,63 @@ public class RLPEncoderTest {
         Assert.assertEquals(elements.get(1), item1);
         Assert.assertEquals(elements.get(2), item2);
     }
+
+    @Test
+    public void writer() throws Throwable {
+        final Random r = new Random(17L);
+        final RLPWriter writer = new RLPWriter();
+        for (int i = 0; i < 300; i++) {
+            final Object item = TestUtils.randomTree(r, 6, 20_000, true);
+            final byte[] expected = RLPEncoder.encodeSequentially(item);
+            Assert.assertEquals(expected.length, writer.encodedLength(item));
+            Assert.assertArrayEquals(expected, writer.encode(item));
+
+            final ByteBuffer heap = ByteBuffer.allocate(expected.length + 3);
+            heap.position(3);
+            Assert.assertEquals(expected.length, writer.encode(item, heap));
+            Assert.assertFalse(heap.hasRemaining());
+            Assert.assertArrayEquals(expected, Arrays.copyOfRange(heap.array(), 3, heap.capacity()));
+
+            final ByteBuffer direct = ByteBuffer.allocateDirect(expected.length);
+            writer.encode(item, direct);
+            direct.flip();
+            Assert.assertEquals(ByteBuffer.wrap(expected), direct);
+
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            Assert.assertEquals(expected.length, writer.encode(item, baos));
+            Assert.assertArrayEquals(expected, baos.toByteArray());
+        }
+
+        final ByteBuffer small = ByteBuffer.allocate(4);
+        TestUtils.assertThrown(BufferOverflowException.class, () -> writer.encode(new byte[4], small));
+        Assert.assertEquals(0, small.position());
+        TestUtils.assertThrown(IllegalArgumentException.class, "unsupported object type: java.lang.String", () -> writer.encode(new Object[] { "abc" }));
+        TestUtils.assertThrown(NullPointerException.class, () -> writer.encode(new Object[] { null }));
+
+        final Iterator<Object> once = Collections.<Object>singletonList(new Object[0]).iterator();
+        final Iterable<Object> singleUse = () -> once.hasNext() ? once : Collections.emptyIterator();
+        TestUtils.assertThrown(IllegalStateException.class, "lists written != lists measured: 1 != 2", () -> writer.encode(singleUse, new ByteArrayOutputStream()));
+
+        final int[] lens = { 2, 5 };
+        final Iterable<Object> growing = () -> Collections.<Object>singletonList(new byte[lens[0]++]).iterator();
+        TestUtils.assertThrown(IllegalStateException.class, "bytes written > bytes measured: 4; was an Iterable modified?", () -> writer.encode(growing));
+        final ByteBuffer bb = ByteBuffer.allocate(16);
+        TestUtils.assertThrown(IllegalStateException.class, "bytes written > bytes measured: 6; was an Iterable modified?", () -> writer.encode(growing, bb));
+        Assert.assertEquals(16, bb.limit());
+        TestUtils.assertThrown(IllegalStateException.class, "bytes written != bytes measured: 9 != 8", () -> writer.encode(growing, new ByteArrayOutputStream()));
+
+        final Iterable<Object> shrinking = () -> Collections.<Object>singletonList(new byte[lens[1]--]).iterator();
+        TestUtils.assertThrown(IllegalStateException.class, "bytes written != bytes measured: 6 != 7", () -> writer.encode(shrinking));
+        TestUtils.assertThrown(IllegalStateException.class, "bytes written != bytes measured: 4 != 5", () -> writer.encode(shrinking, ByteBuffer.allocate(16)));
+    }
+
+    @Test
+    public void writerDeep() {
+        Object nested = new byte[] { 1, 2, 3 };
+        for (int i = 0; i < 2000; i++) {
+            nested = new Object[] { new byte[] { (byte) i }, nested };
+        }
+        final byte[] encoding = new RLPWriter().encode(nested);
+        Assert.assertArrayEquals(RLPEncoder.encodeSequentially(nested), encoding);
+    }
 }
@@ -0,0 +1,84 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.TestUtils;
+import com.esaulpaugh.headlong.rlp.exception.UnrecoverableDecodeException;
+import com.esaulpaugh.headlong.rlp.util.Integers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_LENIENT;
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+public class RLPPathTest {
+
+    /* [ header, [ tx0, tx1, ... ] ] where each tx is [ nonce, [ 0, 1, 2, ... ] ] */
+    private static byte[] block(int numTxs, int width) {
+        final Object[] txs = new Object[numTxs];
+        for (int t = 0; t < numTxs; t++) {
+            final Object[] fields = new Object[width];
+            for (int f = 0; f < width; f++) {
+                fields[f] = Integers.toBytes(t * 1000L + f);
+            }
+            txs[t] = new Object[] { Integers.toBytes((long) t), fields };
+        }
+        return RLPEncoder.encodeAsList(new byte[] { 'h', 'd', 'r' }, txs);
+    }
+
+    @Test
+    public void testGet() throws Throwable {
+        final byte[] block = block(300, 10);
+        final RLPList root = RLP_STRICT.wrapList(block);
+        final List<RLPItem> txs = ((RLPList) root.elements(RLP_STRICT).get(1)).elements(RLP_STRICT);
+        final RLPCursor cursor = new RLPCursor(RLP_STRICT);
+        for (int t = 0; t < txs.size(); t += 7) {
+            for (int f = 0; f < 10; f += 3) {
+                final RLPPath path = RLPPath.of(1, t, 1, f);
+                final RLPItem expected = ((RLPList) ((RLPList) txs.get(t)).elements(RLP_STRICT).get(1)).elements(RLP_STRICT).get(f);
+                Assert.assertEquals(t * 1000L + f, expected.asLong());
+                Assert.assertEquals(expected, path.get(RLP_STRICT, block));
+                Assert.assertEquals(expected, path.get(RLP_STRICT, root));
+                Assert.assertEquals(expected.index, path.seek(cursor.reset(block).next()).index());
+                Assert.assertEquals(4, cursor.depth());
+            }
+        }
+        Assert.assertEquals(root, RLPPath.of().get(RLP_STRICT, block));
+        Assert.assertEquals(root, RLPPath.of().get(RLP_STRICT, root));
+        Assert.assertEquals("[1, 2, 3]", RLPPath.of(1, 2, 3).toString());
+        Assert.assertEquals(RLPPath.of(1, 2, 3), RLPPath.of(1, 2, 3));
+        Assert.assertEquals(3, RLPPath.of(1, 2, 3).depth());
+    }
+
+    @Test
+    public void testElementAt() throws Throwable {
+        final byte[] block = block(1000, 2);
+        final RLPList txs = (RLPList) RLPPath.of(1).get(RLP_STRICT, block);
+        Assert.assertEquals(1000, txs.elementCount());
+        final List<RLPItem> elements = txs.elements(RLP_STRICT);
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            Assert.assertEquals(elements.get(i), txs.elementAt(RLP_STRICT, i));
+        }
+        TestUtils.assertThrown(IndexOutOfBoundsException.class, "index: 1000, size: 1000", () -> txs.elementAt(RLP_STRICT, 1000));
+        TestUtils.assertThrown(IndexOutOfBoundsException.class, "index: -1, size: 1000", () -> txs.elementAt(RLP_STRICT, -1));
+    }
+
+    @Test
+    public void testErrors() throws Throwable {
+        TestUtils.assertThrown(IllegalArgumentException.class, "negative index: -2", () -> RLPPath.of(0, -2));
+        final byte[] block = block(3, 2);
+        TestUtils.assertThrown(IndexOutOfBoundsException.class, "index 3 out of bounds for length 3 at depth 1", () -> RLPPath.of(1, 3).get(RLP_STRICT, block));
+        TestUtils.assertThrown(IndexOutOfBoundsException.class, "index: 3, size: 3", () -> RLPPath.of(1, 3).get(RLP_STRICT, RLP_STRICT.wrap(block)));
+        TestUtils.assertThrown(IllegalStateException.class, "current item is not a list", () -> RLPPath.of(0, 0).get(RLP_STRICT, block));
+        TestUtils.assertThrown(IllegalStateException.class, "item at depth 1 is not a list", () -> RLPPath.of(0, 0).get(RLP_STRICT, RLP_STRICT.wrap(block)));
+
+        // siblings are validated as they are skipped
+        final byte[] wrappedSingle = new byte[] { (byte) 0xc3, (byte) 0x81, 0x05, 0x06 };
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "invalid rlp for single byte @ 1", () -> RLPPath.of(1).get(RLP_STRICT, wrappedSingle));
+        Assert.assertEquals(6, RLPPath.of(1).get(RLP_LENIENT, wrappedSingle).asInt());
+        // but an index built leniently still yields strictly decoded elements
+        final RLPList list = RLP_LENIENT.wrapList(wrappedSingle);
+        Assert.assertEquals(6, list.elementAt(RLP_STRICT, 1).asInt());
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "invalid rlp for single byte @ 1", () -> list.elementAt(RLP_STRICT, 0));
+    }
+}
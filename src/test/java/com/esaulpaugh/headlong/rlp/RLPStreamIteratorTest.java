@@ -9,7 +9,9 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
@@ -17,7 +19,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static com.esaulpaugh.headlong.util.Strings.HEX;
 import static com.esaulpaugh.headlong.util.Strings.UTF_8;
@@ -94,6 +99,56 @@ public class RLPStreamIteratorTest {
         Assert.assertTrue(Arrays.deepEquals(collected.toArray(RLPItem.EMPTY_ARRAY), streamed.toArray(RLPItem.EMPTY_ARRAY)));
     }
 
+    @Test
+    public void testStreamBlocking() throws Throwable {
+        final Random r = new Random(0xb10cL);
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        for (int i = 0; i < 500; i++) {
+            final int len = r.nextInt(10) == 0 ? RLPStreamIterator.CHUNK_SIZE + r.nextInt(3 * RLPStreamIterator.CHUNK_SIZE) : r.nextInt(100);
+            final byte[] data = new byte[len];
+            r.nextBytes(data);
+            baos.write(r.nextBoolean() ? RLPEncoder.encode(data) : RLPEncoder.encodeAsList(data, new byte[0]));
+        }
+        final byte[] rlp = baos.toByteArray();
+        final List<RLPItem> expected = RLP_STRICT.collectAll(rlp);
+
+        // never reports any bytes available and returns at most a few bytes per read
+        final InputStream trickle = new ByteArrayInputStream(rlp) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1 + r.nextInt(4096)));
+            }
+
+            @Override
+            public synchronized int available() {
+                return 0;
+            }
+        };
+        Assert.assertFalse(RLP_STRICT.sequenceStreamIterator(trickle).hasNext());
+        Assert.assertEquals(expected, collect(RLP_STRICT.sequenceStreamIterator(trickle, true)));
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(rlp);
+        }
+        Assert.assertEquals(expected, collect(RLP_STRICT.sequenceStreamIterator(new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray())), true)));
+
+        final RLPStreamIterator truncated = RLP_STRICT.sequenceStreamIterator(new ByteArrayInputStream(Arrays.copyOf(rlp, rlp.length - 1)), true);
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "stream ended within item", () -> {
+            while (truncated.hasNext()) {
+                truncated.next();
+            }
+        });
+    }
+
+    private static List<RLPItem> collect(RLPStreamIterator iter) throws IOException, UnrecoverableDecodeException {
+        final List<RLPItem> items = new ArrayList<>();
+        while (iter.hasNext()) {
+            items.add(iter.next());
+        }
+        return items;
+    }
+
     private static class ReceiveStreamThread extends Thread {
 
         private final Object receiver = new Object();
@@ -0,0 +1,106 @@
+package com.esaulpaugh.headlong.rlp;
+
+import com.esaulpaugh.headlong.TestUtils;
+import com.esaulpaugh.headlong.rlp.exception.DecodeException;
+import com.esaulpaugh.headlong.rlp.exception.RecoverableDecodeException;
+import com.esaulpaugh.headlong.rlp.exception.UnrecoverableDecodeException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_LENIENT;
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+public class RLPValidatorTest {
+
+    /**
+     * Decodes depth-first in the same order as the validator and returns the item's end index.
+     */
+    private static int decodeRecursive(RLPDecoder decoder, byte[] buffer) throws DecodeException {
+        final RLPItem item = decoder.wrap(buffer, 0);
+        if(item.isList()) {
+            decodeElements(decoder, (RLPList) item);
+        }
+        return item.endIndex;
+    }
+
+    private static void decodeElements(RLPDecoder decoder, RLPList list) throws DecodeException {
+        final RLPListIterator iter = list.iterator(decoder);
+        while (iter.hasNext()) {
+            final RLPItem element = iter.next();
+            if(element.isList()) {
+                decodeElements(decoder, (RLPList) element);
+            }
+        }
+    }
+
+    private static String outcome(TestUtils.CustomRunnable r) {
+        try {
+            r.run();
+            return "ok";
+        } catch (Throwable t) {
+            return t.getClass().getName() + ": " + t.getMessage();
+        }
+    }
+
+    @Test
+    public void testMatchesDecoding() throws Throwable {
+        final Random r = new Random(14L);
+        final RLPValidator strict = new RLPValidator(RLP_STRICT);
+        final RLPValidator lenient = new RLPValidator(RLP_LENIENT);
+        int invalid = 0;
+        for (int i = 0; i < 2000; i++) {
+            final byte[] rlp = RLPEncoder.encodeAsList(TestUtils.randomTree(r, 6, 355, false));
+            Assert.assertEquals(rlp.length, strict.validate(rlp, 0));
+            Assert.assertEquals(rlp.length, lenient.validate(rlp, 0));
+            // corrupt a byte and expect the validator to fail exactly as decoding does
+            final byte[] corrupt = rlp.clone();
+            corrupt[r.nextInt(corrupt.length)] = (byte) r.nextInt();
+            for (RLPDecoder decoder : new RLPDecoder[] { RLP_STRICT, RLP_LENIENT }) {
+                final RLPValidator validator = decoder.lenient ? lenient : strict;
+                final String expected = outcome(() -> decodeRecursive(decoder, corrupt));
+                Assert.assertEquals(expected, outcome(() -> validator.validate(corrupt, 0)));
+                if(!"ok".equals(expected)) {
+                    invalid++;
+                } else {
+                    Assert.assertEquals(decodeRecursive(decoder, corrupt), validator.validate(corrupt, 0));
+                }
+            }
+        }
+        Assert.assertTrue(invalid > 500);
+    }
+
+    @Test
+    public void testMalformed() throws Throwable {
+        final RLPValidator strict = new RLPValidator(RLP_STRICT);
+        final byte[] deepSingle = new byte[] { (byte) 0xc4, (byte) 0xc3, (byte) 0xc2, (byte) 0x81, 0x05 };
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "invalid rlp for single byte @ 3", () -> strict.validate(deepSingle, 0));
+        Assert.assertEquals(5, new RLPValidator(RLP_LENIENT).validate(deepSingle, 0));
+
+        final byte[] overrun = new byte[] { (byte) 0xc3, (byte) 0xc1, (byte) 0x82, 0x05, 0x06 };
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "element @ index 2 exceeds its container: 3 > 3", () -> strict.validate(overrun, 0));
+
+        final byte[] truncated = new byte[] { (byte) 0xc3, (byte) 0x82, 0x05 };
+        TestUtils.assertThrown(RecoverableDecodeException.class, "element @ index 0 exceeds its container: 1 > 3", () -> strict.validate(truncated, 0));
+
+        final byte[] nonMinimal = new byte[58];
+        nonMinimal[0] = (byte) 0xf8;
+        nonMinimal[1] = 56;
+        nonMinimal[2] = (byte) 0xb8;
+        nonMinimal[3] = 0x34;
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "long element data length must be 56 or greater; found: 52 for element @ 2", () -> strict.validate(nonMinimal, 0));
+
+        final byte[] leadingZero = new byte[] { (byte) 0xc4, (byte) 0xb9, 0x00, 0x38, 0x00 };
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "deserialised integers with leading zeroes are invalid", () -> strict.validate(leadingZero, 0));
+
+        // deeper than the initial stack
+        Object nested = new byte[] { 1, 2 };
+        for (int i = 0; i < 100; i++) {
+            nested = new Object[] { new byte[0], nested };
+        }
+        final byte[] deep = RLPEncoder.encodeAsList((Object[]) nested);
+        Assert.assertEquals(deep.length, strict.validate(deep, 0));
+        Assert.assertEquals(deep.length, decodeRecursive(RLP_STRICT, deep));
+    }
+}
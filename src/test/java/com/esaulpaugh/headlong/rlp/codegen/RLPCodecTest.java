@@ -0,0 +1,196 @@
+package com.esaulpaugh.headlong.rlp.codegen;
+
+import com.esaulpaugh.headlong.TestUtils;
+import com.esaulpaugh.headlong.rlp.RLPCursor;
+import com.esaulpaugh.headlong.rlp.RLPEncoder;
+import com.esaulpaugh.headlong.rlp.exception.UnrecoverableDecodeException;
+import com.esaulpaugh.headlong.rlp.util.Integers;
+import com.esaulpaugh.headlong.util.Strings;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static com.esaulpaugh.headlong.rlp.RLPDecoder.RLP_STRICT;
+
+public class RLPCodecTest {
+
+    @Rule
+    public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private static Transaction randomTransaction(Random r) {
+        final byte[] to = new byte[20];
+        r.nextBytes(to);
+        final byte[] bloom = new byte[r.nextInt(300)];
+        r.nextBytes(bloom);
+        return new Transaction(
+                r.nextLong() >>> r.nextInt(64),
+                new BigInteger(r.nextInt(100), r),
+                r.nextInt() >>> r.nextInt(32),
+                to,
+                new BigInteger(r.nextInt(100), r),
+                "memoé" + r.nextInt(),
+                (short) r.nextInt(Short.MAX_VALUE),
+                (byte) r.nextInt(Byte.MAX_VALUE),
+                (char) r.nextInt(Character.MAX_VALUE + 1),
+                new Receipt(r.nextBoolean(), r.nextLong() >>> 1, bloom)
+        );
+    }
+
+    private static byte[] unsigned(BigInteger val) {
+        final byte[] bytes = val.toByteArray();
+        return bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+    }
+
+    private static Object[] toObjectArray(Transaction t) {
+        return new Object[] {
+                Integers.toBytes(t.nonce),
+                unsigned(t.gasPrice),
+                Integers.toBytes(t.gasLimit),
+                t.to,
+                unsigned(t.value),
+                Strings.decode(t.memo, Strings.UTF_8),
+                Integers.toBytes(t.kind),
+                Integers.toBytes(t.v),
+                Integers.toBytes((long) t.marker),
+                new Object[] {
+                        Integers.toBytes(t.receipt.success ? 1L : 0L),
+                        Integers.toBytes(t.receipt.gasUsed),
+                        t.receipt.bloom
+                }
+        };
+    }
+
+    @Test
+    public void testRoundTrip() throws Throwable {
+        final Random r = new Random(1800L);
+        final TransactionRLPAdapter adapter = new TransactionRLPAdapter();
+        for (int i = 0; i < 500; i++) {
+            final Transaction t = randomTransaction(r);
+            final byte[] expected = RLPEncoder.encodeAsList(toObjectArray(t));
+            Assert.assertEquals(expected.length, TransactionRLPAdapter.encodedLength(t));
+            Assert.assertArrayEquals(expected, adapter.encode(t));
+            Assert.assertEquals(t, adapter.decode(expected, 0));
+        }
+
+        // signed values occupy at most their type's width
+        final Transaction negative = new Transaction(-1L, BigInteger.ZERO, -3, new byte[0], BigInteger.ZERO, "",
+                (short) -4, (byte) -5, '￿', new Receipt(true, Long.MIN_VALUE, new byte[0]));
+        final byte[] rlp = adapter.encode(negative);
+        Assert.assertEquals(negative, adapter.decode(rlp, 0));
+        final RLPCursor c = new RLPCursor(RLP_STRICT).reset(rlp).next().enterList();
+        Assert.assertEquals(8, c.next().dataLength());
+        c.skip(1);
+        Assert.assertEquals(4, c.next().dataLength());
+        c.skip(3);
+        Assert.assertEquals(2, c.next().dataLength());
+        Assert.assertEquals(1, c.next().dataLength());
+        Assert.assertEquals(2, c.next().dataLength());
+
+        final Transaction.Log log = new Transaction_LogRLPAdapter().decode(RLPEncoder.encodeAsList(new byte[] { 1, 2 }, new byte[] { 'x' }), 0);
+        Assert.assertArrayEquals(new byte[] { 1, 2 }, log.address);
+        Assert.assertEquals("x", log.topic);
+    }
+
+    private static Transaction withGasPrice(BigInteger gasPrice) {
+        return new Transaction(0L, gasPrice, 0, new byte[0], BigInteger.ZERO, "", (short) 0, (byte) 0, 'a',
+                new Receipt(false, 0L, new byte[0]));
+    }
+
+    @Test
+    public void testBigIntegers() throws Throwable {
+        final TransactionRLPAdapter adapter = new TransactionRLPAdapter();
+        final BigInteger[] values = { BigInteger.ZERO, BigInteger.valueOf(127L), BigInteger.valueOf(128L), BigInteger.ONE.shiftLeft(63), BigInteger.ONE.shiftLeft(255) };
+        final String[] encodings = { "80", "7f", "8180", "888000000000000000", "a08000000000000000000000000000000000000000000000000000000000000000" };
+        for (int i = 0; i < values.length; i++) {
+            final Transaction t = withGasPrice(values[i]);
+            final byte[] rlp = adapter.encode(t);
+            Assert.assertEquals(rlp.length, TransactionRLPAdapter.encodedLength(t));
+            final RLPCursor c = new RLPCursor(RLP_STRICT).reset(rlp).next().enterList().skip(1).next();
+            Assert.assertEquals(encodings[i], Strings.encode(rlp, c.index(), c.endIndex() - c.index(), Strings.HEX));
+            Assert.assertEquals(values[i], adapter.decode(rlp, 0).gasPrice);
+            Assert.assertEquals(values[i], adapter.decode(RLPEncoder.encodeAsList(toObjectArray(t)), 0).gasPrice);
+        }
+        TestUtils.assertThrown(IllegalArgumentException.class, "negative integer: -2", () -> adapter.encode(withGasPrice(BigInteger.valueOf(-2L))));
+
+        final Object[] fields = toObjectArray(withGasPrice(BigInteger.ZERO));
+        fields[1] = new byte[] { 0, (byte) 0x80 };
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "deserialised integers with leading zeroes are invalid", () -> adapter.decode(RLPEncoder.encodeAsList(fields), 0));
+        fields[1] = Arrays.copyOf(new byte[] { 0, 1 }, 9);
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "deserialised integers with leading zeroes are invalid", () -> adapter.decode(RLPEncoder.encodeAsList(fields), 0));
+    }
+
+    @Test
+    public void testWriteAtOffset() throws Throwable {
+        final Transaction t = randomTransaction(new Random(1801L));
+        final int len = TransactionRLPAdapter.encodedLength(t);
+        final byte[] dest = new byte[len * 2 + 3];
+        Assert.assertEquals(3 + len, TransactionRLPAdapter.write(t, dest, 3));
+        Assert.assertEquals(3 + len * 2, TransactionRLPAdapter.write(t, dest, 3 + len));
+        final RLPCursor c = new RLPCursor(RLP_STRICT).reset(dest, 3, dest.length);
+        Assert.assertEquals(t, TransactionRLPAdapter.read(c.next()));
+        Assert.assertEquals(t, TransactionRLPAdapter.read(c.next()));
+        Assert.assertFalse(c.hasNext());
+    }
+
+    @Test
+    public void testDecodeErrors() throws Throwable {
+        final ReceiptRLPAdapter adapter = new ReceiptRLPAdapter();
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "expected list for Receipt @ 0", () -> adapter.decode(new byte[] { 0x01 }, 0));
+        final byte[] tooFew = RLPEncoder.encodeAsList(new byte[] { 1 }, new byte[] { 2 });
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "too few elements for Receipt", () -> adapter.decode(tooFew, 0));
+        final byte[] tooMany = RLPEncoder.encodeAsList(new byte[] { 1 }, new byte[] { 2 }, new byte[0], new byte[0]);
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "too many elements for Receipt @ 4", () -> adapter.decode(tooMany, 0));
+        final byte[] leadingZero = RLPEncoder.encodeAsList(new byte[] { 1 }, new byte[] { 0, 2 }, new byte[0]);
+        TestUtils.assertThrown(UnrecoverableDecodeException.class, "deserialised integers with leading zeroes are invalid", () -> adapter.decode(leadingZero, 0));
+    }
+
+    private String compile(String className, String source) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///" + className + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics,
+                Arrays.asList("-proc:only", "-s", tmp.newFolder().getPath(), "-classpath", System.getProperty("java.class.path")), null, Collections.singleton(file));
+        task.setProcessors(Collections.singleton(new RLPCodecProcessor()));
+        task.call();
+        final StringBuilder sb = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> d : diagnostics.getDiagnostics()) {
+            if(d.getKind() == Diagnostic.Kind.ERROR) {
+                sb.append(d.getMessage(null)).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testProcessorErrors() throws IOException {
+        Assert.assertEquals("@RLPCodec field must not be private\n",
+                compile("A", "@com.esaulpaugh.headlong.rlp.codegen.RLPCodec class A { private long x; A(long x) { this.x = x; } }"));
+        Assert.assertEquals("unsupported @RLPCodec field type: java.lang.Object\n",
+                compile("B", "@com.esaulpaugh.headlong.rlp.codegen.RLPCodec class B { Object x; B(Object x) { } }"));
+        Assert.assertEquals("@RLPCodec class requires a non-private constructor (long, byte[])\n",
+                compile("C", "@com.esaulpaugh.headlong.rlp.codegen.RLPCodec class C { long x; byte[] y; C(byte[] y, long x) { } }"));
+        Assert.assertEquals("@RLPCodec requires a concrete class\n",
+                compile("D", "@com.esaulpaugh.headlong.rlp.codegen.RLPCodec interface D { }"));
+        Assert.assertEquals("",
+                compile("E", "@com.esaulpaugh.headlong.rlp.codegen.RLPCodec class E { int x; E(int x) { } }"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.esaulpaugh.headlong.rlp.codegen;
+
+import java.util.Arrays;
+
+@RLPCodec
+public class Receipt {
+
+    static final int VERSION = 1;
+
+    final boolean success;
+    final long gasUsed;
+    final byte[] bloom;
+    transient int hash;
+
+    Receipt(boolean success, long gasUsed, byte[] bloom) {
+        this.success = success;
+        this.gasUsed = gasUsed;
+        this.bloom = bloom;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(gasUsed) + Arrays.hashCode(bloom);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(!(o instanceof Receipt)) {
+            return false;
+        }
+        Receipt other = (Receipt) o;
+        return other.success == success && other.gasUsed == gasUsed && Arrays.equals(other.bloom, bloom);
+    }
+}
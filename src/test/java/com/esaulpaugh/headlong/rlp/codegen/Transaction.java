@@ -0,0 +1,68 @@
+package com.esaulpaugh.headlong.rlp.codegen;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Objects;
+
+@RLPCodec
+public class Transaction {
+
+    final long nonce;
+    final BigInteger gasPrice;
+    final int gasLimit;
+    final byte[] to;
+    final BigInteger value;
+    final String memo;
+    final short kind;
+    final byte v;
+    final char marker;
+    final Receipt receipt;
+
+    public Transaction(long nonce, BigInteger gasPrice, int gasLimit, byte[] to, BigInteger value, String memo, short kind, byte v, char marker, Receipt receipt) {
+        this.nonce = nonce;
+        this.gasPrice = gasPrice;
+        this.gasLimit = gasLimit;
+        this.to = to;
+        this.value = value;
+        this.memo = memo;
+        this.kind = kind;
+        this.v = v;
+        this.marker = marker;
+        this.receipt = receipt;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nonce, gasPrice, gasLimit, Arrays.hashCode(to), value, memo, kind, v, marker, receipt);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if(!(o instanceof Transaction)) {
+            return false;
+        }
+        Transaction other = (Transaction) o;
+        return other.nonce == nonce
+                && other.gasPrice.equals(gasPrice)
+                && other.gasLimit == gasLimit
+                && Arrays.equals(other.to, to)
+                && other.value.equals(value)
+                && other.memo.equals(memo)
+                && other.kind == kind
+                && other.v == v
+                && other.marker == marker
+                && other.receipt.equals(receipt);
+    }
+
+    @RLPCodec
+    static class Log {
+
+        final byte[] address;
+        final String topic;
+
+        Log(byte[] address, String topic) {
+            this.address = address;
+            this.topic = topic;
+        }
+    }
+}
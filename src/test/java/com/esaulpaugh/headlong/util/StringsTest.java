@@ -26,6 +26,20 @@ public class StringsTest {
         }
     }
 
+    @Test
+    public void utf8Length() {
+        Random rand = new Random(MonteCarloTest.getSeed(System.nanoTime()));
+        final char[] special = new char[] { 'a', '\u007f', '\u0080', '\u07ff', '\u0800', '\uffff', '\ud800', '\udbff', '\udc00', '\udfff' };
+        for (int j = 0; j < 20_000; j++) {
+            char[] chars = new char[rand.nextInt(40)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = rand.nextBoolean() ? special[rand.nextInt(special.length)] : (char) rand.nextInt(Character.MAX_VALUE + 1);
+            }
+            String s = new String(chars);
+            Assert.assertEquals(s.getBytes(CHARSET_UTF_8).length, Strings.utf8Length(s));
+        }
+    }
+
     @Test
     public void hex() {
         Random rand = new Random(MonteCarloTest.getSeed(System.nanoTime()));
@@ -0,0 +1,48 @@
+package com.joemelsha.crypto.hash;
+
+import com.esaulpaugh.headlong.TestUtils;
+import com.esaulpaugh.headlong.abi.MonteCarloTest;
+import com.esaulpaugh.headlong.util.FastHex;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongycastle.crypto.digests.KeccakDigest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class Keccak256Test {
+
+    @Test
+    public void testKnownAnswer() {
+        Assert.assertEquals("c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470", FastHex.encodeToString(Keccak256.hash(new byte[0])));
+        Assert.assertEquals("4e03657aea45a94fc7d47ba826c8d667c0d1e6e33a64a036ec44f58fa12d6c45", FastHex.encodeToString(Keccak256.hash("abc".getBytes())));
+    }
+
+    @Test
+    public void testAgainstSpongy() {
+        final Random r = new Random(MonteCarloTest.getSeed(System.nanoTime()));
+        final KeccakDigest k_ = new KeccakDigest(256);
+        final byte[] buffer = new byte[700];
+        r.nextBytes(buffer);
+        final byte[] expected = new byte[32];
+        final byte[] actual = new byte[40];
+        for (int len = 0; len <= 600; len++) {
+            final int off = r.nextInt(buffer.length - len + 1);
+            final int outOff = r.nextInt(9);
+            k_.update(buffer, off, len);
+            k_.doFinal(expected, 0);
+            Keccak256.hash(buffer, off, len, actual, outOff);
+            Assert.assertArrayEquals(expected, Arrays.copyOfRange(actual, outOff, outOff + 32));
+        }
+    }
+
+    @Test
+    public void testBounds() throws Throwable {
+        final byte[] in = new byte[10];
+        final byte[] out = new byte[32];
+        Keccak256.hash(in, 10, 0, out, 0);
+        TestUtils.assertThrown(IllegalArgumentException.class, "input out of bounds: off=5 len=6 length=10", () -> Keccak256.hash(in, 5, 6, out, 0));
+        TestUtils.assertThrown(IllegalArgumentException.class, "input out of bounds: off=-1", () -> Keccak256.hash(in, -1, 1, out, 0));
+        TestUtils.assertThrown(IllegalArgumentException.class, "output out of bounds: outOff=1 length=32", () -> Keccak256.hash(in, 0, 10, out, 1));
+    }
+}
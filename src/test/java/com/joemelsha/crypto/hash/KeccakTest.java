@@ -1,5 +1,6 @@
 package com.joemelsha.crypto.hash;
 
+import com.esaulpaugh.headlong.TestUtils;
 import com.esaulpaugh.headlong.abi.MonteCarloTest;
 import com.esaulpaugh.headlong.util.FastHex;
 import com.esaulpaugh.headlong.util.Utils;
@@ -94,4 +95,85 @@ public class KeccakTest {
 //            System.out.println(FastHex.encodeToString(k_Output));
         }
     }
+
+    @Test
+    public void testHashAll() throws Throwable {
+        final Random r = new Random(MonteCarloTest.getSeed(System.nanoTime()));
+        for (int digestSizeBits : new int[] { 128, 224, 256, 288, 384, 512 }) {
+            final Keccak k = new Keccak(digestSizeBits);
+            final int rate = k.rateSize();
+            final int n = 41;
+            final byte[][] inputs = new byte[n][];
+            for (int i = 0; i < n; i++) {
+                inputs[i] = new byte[i < 9 ? rate - 4 + i : r.nextInt(3 * rate)]; // straddle the block boundary first
+                r.nextBytes(inputs[i]);
+            }
+            final int size = k.getDigestLength();
+            final byte[] out = new byte[3 + n * size];
+            k.update(new byte[5]); // batch hashing must neither use nor disturb this
+            k.hashAll(inputs, out, 3);
+            final byte[] pending = k.digest();
+            for (int i = 0; i < n; i++) {
+                Assert.assertArrayEquals(k.digest(inputs[i]), Arrays.copyOfRange(out, 3 + i * size, 3 + (i + 1) * size));
+            }
+            Assert.assertArrayEquals(k.digest(new byte[5]), pending);
+        }
+        Keccak k = new Keccak(256);
+        k.hashAll(new byte[0][], new byte[0]);
+        TestUtils.assertThrown(IllegalArgumentException.class, "output too short: 63 < 64", () -> k.hashAll(new byte[2][0], new byte[63]));
+    }
+
+    @Test
+    public void testHashAllParallel() {
+        final Random r = new Random(MonteCarloTest.getSeed(System.nanoTime()));
+        final int n = 1_001;
+        final byte[][] inputs = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            inputs[i] = new byte[r.nextInt(300)];
+            r.nextBytes(inputs[i]);
+        }
+        final Keccak k = new Keccak(256);
+        final byte[] sequential = new byte[n * 32];
+        final byte[] parallel = new byte[n * 32];
+        k.hashAll(inputs, sequential);
+        k.hashAllParallel(inputs, parallel);
+        Assert.assertArrayEquals(sequential, parallel);
+        Assert.assertArrayEquals(spongy(inputs[n - 1]), Arrays.copyOfRange(parallel, (n - 1) * 32, n * 32));
+    }
+
+    @Test
+    public void testSnapshotRestore() throws Throwable {
+        final Random r = new Random(MonteCarloTest.getSeed(System.nanoTime()));
+        final Keccak k = new Keccak(256);
+        final long[] midstate = new long[Keccak.SNAPSHOT_LENGTH];
+        for (int prefixLen : new int[] { 0, 1, 21, 135, 136, 137, 300 }) {
+            final byte[] prefix = new byte[prefixLen];
+            r.nextBytes(prefix);
+            k.update(prefix);
+            k.snapshot(midstate);
+            for (int j = 0; j < 10; j++) {
+                final byte[] suffix = new byte[r.nextInt(200)];
+                r.nextBytes(suffix);
+                k.restore(midstate);
+                k.update(suffix);
+                final byte[] full = new byte[prefixLen + suffix.length];
+                System.arraycopy(prefix, 0, full, 0, prefixLen);
+                System.arraycopy(suffix, 0, full, prefixLen, suffix.length);
+                Assert.assertArrayEquals(spongy(full), k.digest());
+            }
+        }
+        k.update((byte) 0xff);
+        Assert.assertArrayEquals(k.snapshot(), new Keccak(k).snapshot());
+        TestUtils.assertThrown(IllegalArgumentException.class, "snapshot array too short: 25 < 26", () -> k.snapshot(new long[25]));
+        midstate[25] = 1089;
+        TestUtils.assertThrown(IllegalArgumentException.class, "invalid snapshot rateBits: 1089", () -> k.restore(midstate));
+    }
+
+    private static byte[] spongy(byte[] input) {
+        KeccakDigest k_ = new KeccakDigest(256);
+        k_.update(input, 0, input.length);
+        byte[] output = new byte[32];
+        k_.doFinal(output, 0);
+        return output;
+    }
 }